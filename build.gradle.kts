@@ -1,6 +1,7 @@
 plugins {
     id("java")
     application
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "io.github.e_psi_lon"
@@ -30,7 +31,28 @@ tasks.test {
     useJUnitPlatform()
 }
 
+jmh {
+    // Run with ./gradlew jmh, optionally -Pjmh.includes=WordSolverBenchmark
+    (project.findProperty("jmh.includes") as String?)?.let { includes.add(it) }
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+}
+
 application {
     mainClass.set("io.github.e_psi_lon.wordcrafter.WordCrafterApp")
 }
 
+tasks.register<JavaExec>("importDictionary") {
+    group = "application"
+    description = "Imports a CSV/TSV dictionary file, e.g. --args=\"dictionnaire.csv --resume\""
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("io.github.e_psi_lon.wordcrafter.DictionaryImportTool")
+}
+
+tasks.register<JavaExec>("dictionarySnapshot") {
+    group = "application"
+    description = "Exports or imports a binary dictionary snapshot, e.g. --args=\"export dictionnaire.wcds\""
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("io.github.e_psi_lon.wordcrafter.DictionarySnapshotTool")
+}
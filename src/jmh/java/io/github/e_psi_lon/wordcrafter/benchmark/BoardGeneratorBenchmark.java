@@ -0,0 +1,76 @@
+package io.github.e_psi_lon.wordcrafter.benchmark;
+
+import io.github.e_psi_lon.wordcrafter.model.Morpheme;
+import io.github.e_psi_lon.wordcrafter.model.Word;
+import io.github.e_psi_lon.wordcrafter.service.BoardGenerator;
+import io.github.e_psi_lon.wordcrafter.service.MorphemeWordIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates boards from a synthetic dictionary whose words draw their morphemes from a skewed distribution, a few
+ * morphemes being shared by many words like the common affixes of a real dictionary. The unreachable target runs
+ * the search for its whole time budget.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BoardGeneratorBenchmark {
+    @Param({"500000"})
+    public int dictionarySize;
+
+    @Param({"20000"})
+    public int morphemeCount;
+
+    @Param({"EASY", "MEDIUM", "HARD"})
+    public BoardGenerator.Difficulty difficulty;
+
+    private List<Morpheme> morphemes;
+    private List<Word> words;
+    private BoardGenerator generator;
+    private BoardGenerator.Config reachable;
+    private BoardGenerator.Config unreachable;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        morphemes = new ArrayList<>(morphemeCount);
+        for (int i = 0; i < morphemeCount; i++) {
+            morphemes.add(new Morpheme(i + 1, "m" + i, ""));
+        }
+        words = new ArrayList<>(dictionarySize);
+        Set<List<Integer>> sequences = new HashSet<>();
+        while (words.size() < dictionarySize) {
+            int length = 2 + random.nextInt(3);
+            List<Integer> ids = new ArrayList<>(length);
+            for (int j = 0; j < length; j++) {
+                double u = random.nextDouble();
+                ids.add(1 + (int) (morphemeCount * u * u * u));
+            }
+            if (sequences.add(ids)) {
+                words.add(new Word(words.size() + 1, "w" + words.size(), ids, length, ""));
+            }
+        }
+        generator = new BoardGenerator(morphemes, MorphemeWordIndex.build(morphemes, words).snapshot());
+        reachable = new BoardGenerator.Config(30, 20, 0, difficulty, 80);
+        unreachable = new BoardGenerator.Config(30, 1000, 0, difficulty, 80);
+    }
+
+    @Benchmark
+    public BoardGenerator.Board generate() {
+        return generator.generate(reachable);
+    }
+
+    @Benchmark
+    public BoardGenerator.Board generateUntilBudget() {
+        return generator.generate(unreachable);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public BoardGenerator build() {
+        return new BoardGenerator(morphemes, MorphemeWordIndex.build(morphemes, words).snapshot());
+    }
+}
@@ -0,0 +1,70 @@
+package io.github.e_psi_lon.wordcrafter.benchmark;
+
+import io.github.e_psi_lon.wordcrafter.model.Morpheme;
+import io.github.e_psi_lon.wordcrafter.service.MorphemeSegmenter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splits a batch of words built from random morphemes, as an import file without morpheme columns would be.
+ * One word in ten ends with a character no morpheme has and cannot be split.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MorphemeSegmenterBenchmark {
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyzéè";
+
+    @Param({"100000"})
+    public int morphemeCount;
+
+    @Param({"500000"})
+    public int wordCount;
+
+    private List<Morpheme> morphemes;
+    private MorphemeSegmenter segmenter;
+    private List<String> words;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        morphemes = new ArrayList<>(morphemeCount);
+        Set<String> texts = new HashSet<>();
+        while (morphemes.size() < morphemeCount) {
+            StringBuilder text = new StringBuilder();
+            int length = 2 + random.nextInt(5);
+            for (int i = 0; i < length; i++) {
+                text.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+            }
+            if (texts.add(text.toString())) {
+                morphemes.add(new Morpheme(morphemes.size() + 1, text.toString(), ""));
+            }
+        }
+        segmenter = MorphemeSegmenter.build(morphemes);
+
+        words = new ArrayList<>(wordCount);
+        for (int i = 0; i < wordCount; i++) {
+            StringBuilder word = new StringBuilder();
+            int parts = 2 + random.nextInt(3);
+            for (int j = 0; j < parts; j++) {
+                word.append(morphemes.get(random.nextInt(morphemeCount)).text());
+            }
+            if (i % 10 == 0) {
+                word.append('#');
+            }
+            words.add(word.toString());
+        }
+    }
+
+    @Benchmark
+    public List<MorphemeSegmenter.Segmentation> segmentBatch() {
+        return segmenter.bestOfEach(words);
+    }
+
+    @Benchmark
+    public MorphemeSegmenter build() {
+        return MorphemeSegmenter.build(morphemes);
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.e_psi_lon.wordcrafter.benchmark;
+
+import io.github.e_psi_lon.wordcrafter.model.Morpheme;
+import io.github.e_psi_lon.wordcrafter.model.Word;
+import io.github.e_psi_lon.wordcrafter.service.MorphemeWordIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queries the morpheme to words index of a synthetic dictionary whose words draw their morphemes from a skewed
+ * distribution, so that queries hit both long and short posting lists.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MorphemeWordIndexBenchmark {
+    private static final int QUERY_COUNT = 1024;
+
+    @Param({"500000"})
+    public int dictionarySize;
+
+    @Param({"20000"})
+    public int morphemeCount;
+
+    private List<Morpheme> morphemes;
+    private List<Word> words;
+    private MorphemeWordIndex index;
+    private int[] morphemeIds;
+    private int[][] sequences;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        morphemes = new ArrayList<>(morphemeCount);
+        for (int i = 0; i < morphemeCount; i++) {
+            morphemes.add(new Morpheme(i + 1, "m" + i, ""));
+        }
+        words = new ArrayList<>(dictionarySize);
+        for (int i = 0; i < dictionarySize; i++) {
+            int length = 2 + random.nextInt(3);
+            List<Integer> ids = new ArrayList<>(length);
+            for (int j = 0; j < length; j++) {
+                double u = random.nextDouble();
+                ids.add(1 + (int) (morphemeCount * u * u * u));
+            }
+            words.add(new Word(i + 1, "w" + i, ids, length, ""));
+        }
+        index = MorphemeWordIndex.build(morphemes, words);
+
+        morphemeIds = new int[QUERY_COUNT];
+        sequences = new int[QUERY_COUNT][];
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            morphemeIds[i] = 1 + random.nextInt(morphemeCount);
+            sequences[i] = words.get(random.nextInt(dictionarySize)).morphemeIds().stream()
+                    .mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    @Benchmark
+    public int countWordsUsing() {
+        return index.countWordsUsing(morphemeIds[next++ & (QUERY_COUNT - 1)]);
+    }
+
+    @Benchmark
+    public List<Word> wordsUsingAll() {
+        return index.wordsUsingAll(sequences[next++ & (QUERY_COUNT - 1)]);
+    }
+
+    @Benchmark
+    public MorphemeWordIndex.Impact impactOf() {
+        return index.impactOf(sequences[next++ & (QUERY_COUNT - 1)]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public MorphemeWordIndex build() {
+        return MorphemeWordIndex.build(morphemes, words);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public MorphemeWordIndex.Snapshot snapshot() {
+        return index.snapshot();
+    }
+}
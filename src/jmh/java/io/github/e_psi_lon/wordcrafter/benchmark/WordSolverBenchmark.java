@@ -0,0 +1,63 @@
+package io.github.e_psi_lon.wordcrafter.benchmark;
+
+import io.github.e_psi_lon.wordcrafter.model.Word;
+import io.github.e_psi_lon.wordcrafter.service.MorphemeTrie;
+import io.github.e_psi_lon.wordcrafter.service.WordSolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Solves boards against a synthetic dictionary of random morpheme sequences.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class WordSolverBenchmark {
+    @Param({"100000", "300000"})
+    public int dictionarySize;
+
+    @Param({"50", "300"})
+    public int boardSize;
+
+    @Param({"5000"})
+    public int morphemeCount;
+
+    private List<Word> words;
+    private WordSolver solver;
+    private int[] board;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        words = new ArrayList<>(dictionarySize);
+        Set<List<Integer>> sequences = new HashSet<>();
+        while (words.size() < dictionarySize) {
+            int length = 1 + random.nextInt(4);
+            List<Integer> ids = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                ids.add(1 + random.nextInt(morphemeCount));
+            }
+            if (sequences.add(ids)) {
+                words.add(new Word(words.size() + 1, "w" + words.size(), ids, length, ""));
+            }
+        }
+        solver = new WordSolver(MorphemeTrie.build(words));
+
+        board = new int[boardSize];
+        for (int i = 0; i < boardSize; i++) {
+            board[i] = 1 + random.nextInt(morphemeCount);
+        }
+    }
+
+    @Benchmark
+    public WordSolver.Solution solve() {
+        return solver.solve(board);
+    }
+
+    @Benchmark
+    public MorphemeTrie buildTrie() {
+        return MorphemeTrie.build(words);
+    }
+}
@@ -0,0 +1,86 @@
+package io.github.e_psi_lon.wordcrafter.benchmark;
+
+import io.github.e_psi_lon.wordcrafter.model.Word;
+import io.github.e_psi_lon.wordcrafter.service.WordSuggester;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Suggests words for misspelled texts and altered morpheme sequences, against a synthetic dictionary of random
+ * letters and random morpheme sequences.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WordSuggesterBenchmark {
+    // Weighted roughly like French text
+    private static final String LETTERS = "eeeeeeaaaaiiiiissssnnnnrrrrttttooooluuudcmpvgbfhqyxjkwz";
+    private static final int QUERY_COUNT = 1024;
+
+    @Param({"100000", "1000000"})
+    public int dictionarySize;
+
+    @Param({"5000"})
+    public int morphemeCount;
+
+    private List<Word> words;
+    private WordSuggester suggester;
+    private String[] texts;
+    private int[][] sequences;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        words = new ArrayList<>(dictionarySize);
+        for (int i = 0; i < dictionarySize; i++) {
+            StringBuilder text = new StringBuilder();
+            int length = 5 + random.nextInt(8);
+            for (int j = 0; j < length; j++) {
+                text.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+            }
+            int morphemes = 2 + random.nextInt(4);
+            List<Integer> ids = new ArrayList<>(morphemes);
+            for (int j = 0; j < morphemes; j++) {
+                ids.add(1 + random.nextInt(morphemeCount));
+            }
+            words.add(new Word(i + 1, text.toString(), ids, morphemes, ""));
+        }
+        suggester = WordSuggester.build(words);
+
+        // One substituted letter, sometimes one missing, and one substituted morpheme
+        texts = new String[QUERY_COUNT];
+        sequences = new int[QUERY_COUNT][];
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            Word word = words.get(random.nextInt(dictionarySize));
+            StringBuilder text = new StringBuilder(word.text());
+            text.setCharAt(random.nextInt(text.length()), (char) ('a' + random.nextInt(26)));
+            if (random.nextBoolean()) {
+                text.deleteCharAt(random.nextInt(text.length()));
+            }
+            texts[i] = text.toString();
+            int[] sequence = word.morphemeIds().stream().mapToInt(Integer::intValue).toArray();
+            sequence[random.nextInt(sequence.length)] = 1 + random.nextInt(morphemeCount);
+            sequences[i] = sequence;
+        }
+    }
+
+    @Benchmark
+    public List<WordSuggester.Suggestion> suggestWords() {
+        return suggester.suggestWords(texts[next++ & (QUERY_COUNT - 1)], 5);
+    }
+
+    @Benchmark
+    public List<WordSuggester.Suggestion> suggestSequences() {
+        return suggester.suggestSequences(sequences[next++ & (QUERY_COUNT - 1)], 5);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public WordSuggester build() {
+        return WordSuggester.build(words);
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.e_psi_lon.wordcrafter;
+
+import io.github.e_psi_lon.wordcrafter.controller.EditorController;
+import io.github.e_psi_lon.wordcrafter.service.DictionaryImporter;
+import io.github.e_psi_lon.wordcrafter.service.ServiceFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command-line entry point for bulk dictionary imports.
+ * Usage: {@code DictionaryImportTool <file.csv|file.tsv> [--chunk-size N] [--resume]}
+ */
+public class DictionaryImportTool {
+    public static void main(String[] args) {
+        Path file = null;
+        int chunkSize = DictionaryImporter.DEFAULT_CHUNK_SIZE;
+        boolean resume = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--resume" -> resume = true;
+                case "--chunk-size" -> chunkSize = Integer.parseInt(args[++i]);
+                default -> file = Path.of(args[i]);
+            }
+        }
+        if (file == null || !Files.isRegularFile(file)) {
+            System.err.println("Usage: DictionaryImportTool <file.csv|file.tsv> [--chunk-size N] [--resume]");
+            System.exit(2);
+        }
+
+        ServiceFactory serviceFactory = ServiceFactory.initialize();
+        int exitCode = 0;
+        try {
+            EditorController editorController = serviceFactory.createEditorController();
+            DictionaryImporter.Result result = editorController.handleImport(file, chunkSize, resume, progress ->
+                    System.out.printf("%,d rows (%,d morphemes, %,d words, %,d rejected) - %.0f%% - %,.0f rows/s%n",
+                            progress.rowsRead(), progress.morphemesImported(), progress.wordsImported(),
+                            progress.rowsRejected(), 100.0 * progress.bytesRead() / Math.max(1, progress.totalBytes()),
+                            progress.rowsPerSecond()));
+
+            result.errors().forEach(System.err::println);
+            System.out.printf("%s in %,d ms: %,d morphemes, %,d words, %,d rejected, %,d skipped%n",
+                    result.completed() ? "Import complete" : "Import stopped",
+                    result.elapsedMillis(), result.morphemesImported(), result.wordsImported(),
+                    result.rowsRejected(), result.rowsSkipped());
+            if (!result.completed()) {
+                System.out.println("Run again with --resume to continue after the last committed chunk.");
+                exitCode = 1;
+            }
+        } catch (IOException e) {
+            System.err.println("Import failed: " + e.getMessage());
+            e.printStackTrace();
+            exitCode = 1;
+        } finally {
+            serviceFactory.shutdown();
+        }
+        System.exit(exitCode);
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.e_psi_lon.wordcrafter;
+
+import io.github.e_psi_lon.wordcrafter.database.DictionarySnapshot;
+import io.github.e_psi_lon.wordcrafter.service.GameService;
+import io.github.e_psi_lon.wordcrafter.service.ServiceFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command-line entry point to export the dictionary to a binary snapshot or load one into the database.
+ * Usage: {@code DictionarySnapshotTool export|import <file>}
+ */
+public class DictionarySnapshotTool {
+    public static void main(String[] args) {
+        if (args.length != 2 || !(args[0].equals("export") || args[0].equals("import"))) {
+            System.err.println("Usage: DictionarySnapshotTool export|import <file>");
+            System.exit(2);
+        }
+        boolean export = args[0].equals("export");
+        Path file = Path.of(args[1]);
+        if (!export && !Files.isRegularFile(file)) {
+            System.err.println("Snapshot not found: " + file);
+            System.exit(2);
+        }
+
+        ServiceFactory serviceFactory = ServiceFactory.initialize();
+        int exitCode = 0;
+        try {
+            GameService gameService = serviceFactory.getGameService();
+            DictionarySnapshot.Summary summary = export ? gameService.exportSnapshot(file) : gameService.importSnapshot(file);
+            if (summary == null) {
+                System.err.println((export ? "Export" : "Import") + " failed, the database was not changed.");
+                exitCode = 1;
+            } else {
+                System.out.printf("%s %,d morphemes and %,d words (%,d bytes) in %,d ms%n",
+                        export ? "Exported" : "Imported", summary.morphemes(), summary.words(),
+                        summary.bytes(), summary.elapsedMillis());
+            }
+        } catch (IOException e) {
+            System.err.println("Snapshot " + args[0] + " failed: " + e.getMessage());
+            e.printStackTrace();
+            exitCode = 1;
+        } finally {
+            serviceFactory.shutdown();
+        }
+        System.exit(exitCode);
+    }
+}
@@ -11,6 +11,7 @@ import javax.swing.*;
 public class WordCrafterApp {
     public static void main(String[] args) {
         ServiceFactory serviceFactory = ServiceFactory.initialize();
+        Runtime.getRuntime().addShutdownHook(new Thread(serviceFactory::shutdown, "wordcrafter-shutdown"));
 
         try {
             UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
@@ -3,6 +3,8 @@ package io.github.e_psi_lon.wordcrafter.controller;
 import io.github.e_psi_lon.wordcrafter.model.User;
 import io.github.e_psi_lon.wordcrafter.service.AuthService;
 
+import java.util.concurrent.CompletableFuture;
+
 public class AuthController {
     private final AuthService authService;
 
@@ -22,5 +24,16 @@ public class AuthController {
     public boolean handleAdminCreation(String username, String password) {
         return authService.createAdmin(username, password);
     }
-}
 
+    public CompletableFuture<User> handleLoginAsync(String username, String password) {
+        return authService.authenticateAsync(username, password);
+    }
+
+    public CompletableFuture<Boolean> handlePlayerRegistrationAsync(String username, String password) {
+        return authService.registerPlayerAsync(username, password);
+    }
+
+    public CompletableFuture<Boolean> handleAdminCreationAsync(String username, String password) {
+        return authService.createAdminAsync(username, password);
+    }
+}
@@ -2,21 +2,32 @@ package io.github.e_psi_lon.wordcrafter.controller;
 
 import io.github.e_psi_lon.wordcrafter.model.Morpheme;
 import io.github.e_psi_lon.wordcrafter.model.Word;
+import io.github.e_psi_lon.wordcrafter.service.DictionaryImporter;
 import io.github.e_psi_lon.wordcrafter.service.GameService;
+import io.github.e_psi_lon.wordcrafter.service.MorphemeSegmenter;
+import io.github.e_psi_lon.wordcrafter.service.MorphemeWordIndex;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * Controller for editor/admin-related actions.
  * Orchestrates communication between Editor UI and Game Service.
  */
 public class EditorController {
+    private static final int SEGMENTATION_LIMIT = 10;
+
     private final GameService gameService;
     private final AuthController authController;
+    private final DictionaryImporter dictionaryImporter;
 
-    public EditorController(GameService gameService, AuthController authController) {
+    public EditorController(GameService gameService, AuthController authController, DictionaryImporter dictionaryImporter) {
         this.gameService = gameService;
         this.authController = authController;
+        this.dictionaryImporter = dictionaryImporter;
     }
 
     public void handleAddMorpheme(String text, String definition) {
@@ -27,6 +38,11 @@ public class EditorController {
         gameService.addWord(text, morphemeIds, points, definition);
     }
 
+    public DictionaryImporter.Result handleImport(Path file, int chunkSize, boolean resume,
+                                                 Consumer<DictionaryImporter.Progress> listener) throws IOException {
+        return dictionaryImporter.importFile(file, chunkSize, resume, listener);
+    }
+
     public boolean handleCreateAdmin(String username, String password) {
         return authController.handleAdminCreation(username, password);
     }
@@ -38,5 +54,45 @@ public class EditorController {
     public List<Word> getAllWords() {
         return gameService.getAllAvailableWords();
     }
-}
 
+    public CompletableFuture<Morpheme> handleAddMorphemeAsync(String text, String definition) {
+        return gameService.addMorphemeAsync(text, definition);
+    }
+
+    public CompletableFuture<Word> handleAddWordAsync(String text, List<Integer> morphemeIds, int points, String definition) {
+        return gameService.addWordAsync(text, morphemeIds, points, definition);
+    }
+
+    /**
+     * Ways of splitting the text of a new word into known morphemes, fewest morphemes first.
+     */
+    public CompletableFuture<List<MorphemeSegmenter.Segmentation>> segmentWordAsync(String wordText) {
+        return gameService.segmentWordAsync(wordText, SEGMENTATION_LIMIT);
+    }
+
+    /**
+     * Words already spelled by {@code morphemeIds} and how many words use each of them, before the word is added.
+     */
+    public CompletableFuture<MorphemeWordIndex.Impact> previewWordAsync(List<Integer> morphemeIds) {
+        return gameService.previewWordAsync(morphemeIds);
+    }
+
+    /**
+     * Words using a morpheme, with its position in each of them.
+     */
+    public CompletableFuture<List<MorphemeWordIndex.Occurrence>> getMorphemeOccurrencesAsync(int morphemeId) {
+        return gameService.getMorphemeOccurrencesAsync(morphemeId);
+    }
+
+    public CompletableFuture<Boolean> handleCreateAdminAsync(String username, String password) {
+        return authController.handleAdminCreationAsync(username, password);
+    }
+
+    public CompletableFuture<List<Morpheme>> getAllMorphemesAsync() {
+        return gameService.getAllAvailableMorphemesAsync();
+    }
+
+    public CompletableFuture<List<Word>> getAllWordsAsync() {
+        return gameService.getAllAvailableWordsAsync();
+    }
+}
@@ -1,18 +1,36 @@
 package io.github.e_psi_lon.wordcrafter.controller;
 
 import io.github.e_psi_lon.wordcrafter.model.Morpheme;
+import io.github.e_psi_lon.wordcrafter.model.User;
 import io.github.e_psi_lon.wordcrafter.model.Word;
+import io.github.e_psi_lon.wordcrafter.service.BoardGenerator;
 import io.github.e_psi_lon.wordcrafter.service.GameService;
 import io.github.e_psi_lon.wordcrafter.service.GameStateManager;
+import io.github.e_psi_lon.wordcrafter.service.MorphemeTrie;
 import io.github.e_psi_lon.wordcrafter.service.PlayerService;
+import io.github.e_psi_lon.wordcrafter.service.WordSolver;
+import io.github.e_psi_lon.wordcrafter.service.WordSuggester;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public class GameController {
+    private static final int SUGGESTION_LIMIT = 3;
+    private static final BoardGenerator.Config BOARD_CONFIG = BoardGenerator.Config.fromEnvironment();
+
     private final GameService gameService;
     private final PlayerService playerService;
     private final GameStateManager gameStateManager;
 
+    // Solution of the board being played, shared by the remaining word count and the hints until the board or the
+    // dictionary changes. Used from the thread that owns the game state
+    private List<Morpheme> solvedBoard;
+    private long solvedVersion;
+    private CompletableFuture<WordSolver.Solution> solution;
+
     public GameController(GameService gameService, PlayerService playerService, GameStateManager gameStateManager) {
         this.gameService = gameService;
         this.playerService = playerService;
@@ -30,19 +48,49 @@ public class GameController {
         }
 
         String wordText = gameService.constructWordText(selected);
-        List<Integer> morphemeIds = gameService.extractMorphemeIds(selected);
+        int[] morphemeIds = gameStateManager.getSelectedMorphemeIds();
 
         Word validatedWord = gameService.validateWord(wordText, morphemeIds);
 
         if (validatedWord != null) {
-            gameStateManager.recordConstructedWord(validatedWord);
-            gameService.recordPlayerWord(gameStateManager.getCurrentPlayer().getId(), validatedWord.id());
-            playerService.addScore(gameStateManager.getCurrentPlayer().getId(), validatedWord.points());
+            recordFoundWord(validatedWord);
         }
 
         return validatedWord;
     }
 
+    /**
+     * Validates the selection without blocking the caller. The word is credited on {@code stateExecutor},
+     * the thread that owns the game state (the event dispatch thread for the UI), before the future completes.
+     *
+     * @return the valid word, or null
+     */
+    public CompletableFuture<Word> handleWordVerificationAsync(Executor stateExecutor) {
+        List<Morpheme> selected = gameStateManager.getSelectedMorphemes();
+        if (selected.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        String wordText = gameService.constructWordText(selected);
+        int[] morphemeIds = gameStateManager.getSelectedMorphemeIds();
+        return gameService.validateWordAsync(wordText, morphemeIds).thenApplyAsync(validatedWord -> {
+            if (validatedWord != null) {
+                recordFoundWord(validatedWord);
+            }
+            return validatedWord;
+        }, stateExecutor);
+    }
+
+    /**
+     * Credits the player with a dictionary word found in this game.
+     */
+    public void recordFoundWord(Word word) {
+        gameStateManager.recordConstructedWord(word);
+        User player = gameStateManager.getCurrentPlayer();
+        gameService.recordPlayerWord(player.getId(), word.id());
+        playerService.addScore(player.getId(), player.getUsername(), word.points());
+    }
+
     public void handleClearSelection() {
         gameStateManager.clearSelection();
     }
@@ -51,14 +99,106 @@ public class GameController {
         return gameService.getAllAvailableMorphemes();
     }
 
+    /**
+     * Morphemes of a new board for the main game, sized and targeted by the BOARD_* environment variables.
+     */
+    public CompletableFuture<List<Morpheme>> generateBoardAsync() {
+        return gameService.generateBoardAsync(BOARD_CONFIG).thenApply(BoardGenerator.Board::morphemes);
+    }
+
+    public int[] getSelectedMorphemeIds() {
+        return gameStateManager.getSelectedMorphemeIds();
+    }
+
+    /**
+     * Cursor over the dictionary trie, for the UI to follow the selection as it changes.
+     */
+    public MorphemeTrie.Cursor createSelectionCursor() {
+        return gameService.getMorphemeTrie().cursor();
+    }
+
+    /**
+     * Words of the board the player has not found yet in this game, best first. The board is solved in the
+     * background, once per board and dictionary version; the words found so far are taken when called.
+     */
+    public CompletableFuture<List<Word>> getRemainingWordsAsync(List<Morpheme> board) {
+        long version = gameService.getDictionaryVersion();
+        if (solution == null || solvedVersion != version || !board.equals(solvedBoard) || solution.isCompletedExceptionally()) {
+            solution = gameService.solveBoardAsync(board);
+            solvedBoard = board;
+            solvedVersion = version;
+        }
+        List<Word> constructed = gameStateManager.getConstructedWords();
+        int[] found = new int[constructed.size()];
+        for (int i = 0; i < found.length; i++) {
+            found[i] = constructed.get(i).id();
+        }
+        Arrays.sort(found);
+        return solution.thenApply(solved -> {
+            List<Word> remaining = new ArrayList<>(solved.words().size());
+            for (Word word : solved.words()) {
+                if (Arrays.binarySearch(found, word.id()) < 0) {
+                    remaining.add(word);
+                }
+            }
+            return remaining;
+        });
+    }
+
+    /**
+     * Those of {@code words} that use every morpheme of {@code morphemeIds}, in the same order.
+     */
+    public List<Word> filterUsingAll(List<Word> words, int[] morphemeIds) {
+        int[] wanted = Arrays.stream(morphemeIds).sorted().distinct().toArray();
+        boolean[] seen = new boolean[wanted.length];
+        List<Word> result = new ArrayList<>();
+        for (Word word : words) {
+            Arrays.fill(seen, false);
+            int missing = wanted.length;
+            for (int id : word.morphemeIds()) {
+                int index = Arrays.binarySearch(wanted, id);
+                if (index >= 0 && !seen[index]) {
+                    seen[index] = true;
+                    missing--;
+                }
+            }
+            if (missing == 0) {
+                result.add(word);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Number of dictionary words, on the board or not, using every morpheme of {@code morphemeIds}.
+     */
+    public CompletableFuture<Integer> countDictionaryWordsUsingAllAsync(int[] morphemeIds) {
+        return gameService.countWordsUsingAllAsync(morphemeIds);
+    }
+
     public GameStateManager getGameStateManager() {
         return gameStateManager;
     }
 
+    /**
+     * Dictionary words close to a rejected attempt, by morpheme sequence then by text, for a "did you mean" hint.
+     */
+    public CompletableFuture<List<WordSuggester.Suggestion>> suggestWordsAsync(String wordText, int[] morphemeIds) {
+        return gameService.suggestWordsAsync(wordText, morphemeIds, SUGGESTION_LIMIT);
+    }
+
+    /**
+     * @return the first morpheme of {@code selected} whose definition is unrelated to {@code definition}, or null
+     */
+    public CompletableFuture<Morpheme> findUnrelatedMorphemeAsync(String definition, List<Morpheme> selected) {
+        return gameService.findUnrelatedMorphemeAsync(definition, selected);
+    }
+
     public void awardPoints(int points) {
         int newScore = gameStateManager.getCurrentScore() + points;
         gameStateManager.updateScore(newScore);
-        playerService.addScore(gameStateManager.getCurrentPlayer().getId(), points);
+        User player = gameStateManager.getCurrentPlayer();
+        playerService.addScore(player.getId(), player.getUsername(), points);
     }
 }
 
@@ -0,0 +1,70 @@
+package io.github.e_psi_lon.wordcrafter.controller;
+
+import io.github.e_psi_lon.wordcrafter.model.Word;
+import io.github.e_psi_lon.wordcrafter.service.GameService;
+import io.github.e_psi_lon.wordcrafter.service.GameStateManager;
+import io.github.e_psi_lon.wordcrafter.service.PrefixIndex;
+
+import java.util.List;
+
+/**
+ * Controller for the prefix matcher mode: the player completes words starting with a prefix,
+ * looked up in the {@link PrefixIndex} of the dictionary.
+ */
+public class PrefixMatcherController {
+    private final GameService gameService;
+    private final GameController gameController;
+
+    public PrefixMatcherController(GameService gameService, GameController gameController) {
+        this.gameService = gameService;
+        this.gameController = gameController;
+    }
+
+    public int countMatches(String prefix) {
+        return gameService.getPrefixIndex().count(prefix);
+    }
+
+    public List<Word> getMatches(String prefix, int offset, int limit) {
+        return gameService.getPrefixIndex().page(prefix, offset, limit);
+    }
+
+    public String normalize(String text) {
+        return PrefixIndex.normalize(text);
+    }
+
+    /**
+     * Checks a word typed by the player and credits it if it starts with {@code requiredPrefix}
+     * and was not found yet in this game. Accents are not required.
+     *
+     * @return the word found, or null
+     */
+    public Word handleWordSubmission(String text, String requiredPrefix) {
+        PrefixIndex index = gameService.getPrefixIndex();
+        Word word = index.findExact(text);
+        if (word == null || !PrefixIndex.normalize(word.text()).startsWith(PrefixIndex.normalize(requiredPrefix))) {
+            return null;
+        }
+        if (isFound(word)) {
+            return null;
+        }
+        gameController.recordFoundWord(word);
+        return word;
+    }
+
+    public boolean isFound(Word word) {
+        for (Word found : getGameStateManager().getConstructedWords()) {
+            if (found.id() == word.id()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public GameController getGameController() {
+        return gameController;
+    }
+
+    public GameStateManager getGameStateManager() {
+        return gameController.getGameStateManager();
+    }
+}
@@ -0,0 +1,207 @@
+package io.github.e_psi_lon.wordcrafter.database;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded JDBC connection pool shared by every {@link DatabaseManager} operation.
+ * Idle connections are reused most-recently-released first and validated before being
+ * handed out again; a background task reports connections held longer than the leak threshold
+ * and keeps at least {@code minSize} connections open.
+ * Each pooled connection carries its own bounded {@link StatementCache}.
+ */
+public class ConnectionPool implements AutoCloseable {
+    // Connections idle for less than this are handed out without calling isValid()
+    private static final long VALIDATION_IDLE_MILLIS = 5_000;
+
+    private final Config config;
+    private final BlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> active = ConcurrentHashMap.newKeySet();
+    private final Semaphore permits;
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong borrowNanos = new AtomicLong();
+    private final AtomicLong maxBorrowNanos = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong leaks = new AtomicLong();
+    private final AtomicLong invalidated = new AtomicLong();
+    private final StatementCache.Counters statementCounters = new StatementCache.Counters();
+
+    public record Config(String url, Properties properties, int minSize, int maxSize,
+                         long borrowTimeoutMillis, long leakThresholdMillis, int validationTimeoutSeconds,
+                         int statementCacheSize) {
+        public Config {
+            if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+                throw new IllegalArgumentException("Invalid pool sizes: min=" + minSize + ", max=" + maxSize);
+            }
+            if (statementCacheSize < 1) {
+                throw new IllegalArgumentException("Invalid statement cache size: " + statementCacheSize);
+            }
+        }
+    }
+
+    /**
+     * Point-in-time view of the pool, with borrow latency in microseconds.
+     */
+    public record Stats(int total, int idle, int active, long borrows, long timeouts, long leaks,
+                        long invalidated, double averageBorrowMicros, double maxBorrowMicros,
+                        long statementCacheHits, long statementCacheMisses, long statementCacheEvictions) {}
+
+    public ConnectionPool(@NotNull Config config) throws SQLException {
+        this.config = config;
+        this.permits = new Semaphore(config.maxSize(), true);
+        for (int i = 0; i < config.minSize(); i++) {
+            idle.offer(open());
+        }
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "wordcrafter-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = config.leakThresholdMillis() > 0 ? Math.max(config.leakThresholdMillis() / 2, 1_000) : 30_000;
+        housekeeper.scheduleAtFixedRate(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public PooledConnection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(config.borrowTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                timeouts.incrementAndGet();
+                throw new SQLTransientConnectionException(
+                        "No connection available after " + config.borrowTimeoutMillis() + " ms (" + active.size() + " in use)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        }
+
+        try {
+            PooledConnection pooled = takeValidIdle();
+            if (pooled == null) {
+                pooled = open();
+            }
+            pooled.markBorrowed(config.leakThresholdMillis() > 0);
+            active.add(pooled);
+            recordBorrow(System.nanoTime() - start);
+            return pooled;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    void release(@NotNull PooledConnection pooled) {
+        if (!pooled.markReleased()) {
+            return;
+        }
+        active.remove(pooled);
+        try {
+            if (closed || !reset(pooled.unwrap())) {
+                pooled.closeQuietly();
+            } else {
+                idle.offerFirst(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    public Stats getStats() {
+        long borrows = borrowCount.get();
+        double average = borrows == 0 ? 0 : borrowNanos.get() / 1_000.0 / borrows;
+        int idleCount = idle.size();
+        int activeCount = active.size();
+        return new Stats(idleCount + activeCount, idleCount, activeCount, borrows, timeouts.get(), leaks.get(),
+                invalidated.get(), average, maxBorrowNanos.get() / 1_000.0,
+                statementCounters.hits.sum(), statementCounters.misses.sum(), statementCounters.evictions.sum());
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.poll()) != null) {
+            pooled.closeQuietly();
+        }
+    }
+
+    private PooledConnection takeValidIdle() {
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            if (System.currentTimeMillis() - pooled.getLastReleasedAt() < VALIDATION_IDLE_MILLIS || isValid(pooled.unwrap())) {
+                return pooled;
+            }
+            invalidated.incrementAndGet();
+            pooled.closeQuietly();
+        }
+        return null;
+    }
+
+    private boolean isValid(Connection connection) {
+        try {
+            return connection.isValid(config.validationTimeoutSeconds());
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private boolean reset(Connection connection) {
+        try {
+            if (connection.isClosed()) {
+                return false;
+            }
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    private PooledConnection open() throws SQLException {
+        Connection connection = DriverManager.getConnection(config.url(), config.properties());
+        return new PooledConnection(this, connection,
+                new StatementCache(connection, config.statementCacheSize(), statementCounters));
+    }
+
+    private void recordBorrow(long nanos) {
+        borrowCount.incrementAndGet();
+        borrowNanos.addAndGet(nanos);
+        maxBorrowNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+        if (config.leakThresholdMillis() > 0) {
+            for (PooledConnection pooled : active) {
+                if (pooled.checkLeak(now, config.leakThresholdMillis())) {
+                    leaks.incrementAndGet();
+                }
+            }
+        }
+        try {
+            while (!closed && idle.size() + active.size() < config.minSize()) {
+                idle.offerLast(open());
+            }
+        } catch (SQLException e) {
+            System.err.println("Could not refill connection pool: " + e.getMessage());
+        }
+    }
+}
@@ -3,20 +3,25 @@ package io.github.e_psi_lon.wordcrafter.database;
 import io.github.e_psi_lon.wordcrafter.model.*;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.sql.*;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
 
 /**
  * Manages database connections and operations using JDBC.
  * Supports both MySQL/MariaDB (production) and SQLite (development).
+ * Every operation borrows its own connection from a {@link ConnectionPool}, so the manager can be used from several threads.
  */
 public class DatabaseManager {
     private static DatabaseManager instance;
-    private Connection connection;
+    private ConnectionPool pool;
     private DatabaseType dbType;
 
     // Database configuration - use environment variables or defaults
@@ -27,13 +32,26 @@ public class DatabaseManager {
     private static final String DB_USER = System.getenv().getOrDefault("DB_USER", "wordcrafter");
     private static final String DB_PASSWORD = System.getenv().getOrDefault("DB_PASSWORD", "");
 
+    // Connection pool configuration; an empty max size picks a default suited to the database type
+    private static final String DB_POOL_MIN_SIZE = System.getenv().getOrDefault("DB_POOL_MIN_SIZE", "1");
+    private static final String DB_POOL_MAX_SIZE = System.getenv().getOrDefault("DB_POOL_MAX_SIZE", "");
+    private static final String DB_POOL_TIMEOUT_MS = System.getenv().getOrDefault("DB_POOL_TIMEOUT_MS", "30000");
+    private static final String DB_POOL_LEAK_THRESHOLD_MS = System.getenv().getOrDefault("DB_POOL_LEAK_THRESHOLD_MS", "60000");
+    private static final String DB_POOL_VALIDATION_TIMEOUT_S = System.getenv().getOrDefault("DB_POOL_VALIDATION_TIMEOUT_S", "5");
+    private static final String DB_STATEMENT_CACHE_SIZE = System.getenv().getOrDefault("DB_STATEMENT_CACHE_SIZE", "64");
+
+    // Rows fetched per round trip when streaming large result sets
+    private static final int ROW_FETCH_SIZE = 1000;
+    // Rows sent per executeBatch() by the bulk insert methods
+    private static final int INSERT_BATCH_SIZE = 500;
+
     private enum DatabaseType {
         SQLITE, MYSQL
     }
 
     private DatabaseManager() {}
 
-    public static DatabaseManager getInstance() {
+    public static synchronized DatabaseManager getInstance() {
         if (instance == null) {
             instance = new DatabaseManager();
         }
@@ -45,27 +63,48 @@ public class DatabaseManager {
             // Determine database type
             dbType = DB_TYPE.equalsIgnoreCase("MYSQL") ? DatabaseType.MYSQL : DatabaseType.SQLITE;
 
-            // Create connection based on type
+            // Create connection pool based on type
+            Properties properties = new Properties();
+            String url;
+            int defaultMaxSize;
             if (dbType == DatabaseType.MYSQL) {
-                String mysqlUrl = String.format("jdbc:mysql://%s:%s/%s?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC",
+                url = String.format("jdbc:mysql://%s:%s/%s?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC&useCursorFetch=true",
                         DB_HOST, DB_PORT, DB_NAME);
-                connection = DriverManager.getConnection(mysqlUrl, DB_USER, DB_PASSWORD);
-                System.out.println("Connected to MySQL/MariaDB database");
+                properties.setProperty("user", DB_USER);
+                properties.setProperty("password", DB_PASSWORD);
+                defaultMaxSize = 10;
             } else {
-                String sqliteUrl = "jdbc:sqlite:wordcrafter.db";
-                connection = DriverManager.getConnection(sqliteUrl);
-                System.out.println("Connected to SQLite database (development mode)");
+                url = "jdbc:sqlite:wordcrafter.db";
+                // SQLite serializes writers on the file lock, so a few connections are enough
+                properties.setProperty("busy_timeout", "5000");
+                defaultMaxSize = 4;
             }
 
-            createTables();
-            insertDefaultData();
+            pool = new ConnectionPool(new ConnectionPool.Config(
+                    url,
+                    properties,
+                    Integer.parseInt(DB_POOL_MIN_SIZE),
+                    DB_POOL_MAX_SIZE.isBlank() ? defaultMaxSize : Integer.parseInt(DB_POOL_MAX_SIZE),
+                    Long.parseLong(DB_POOL_TIMEOUT_MS),
+                    Long.parseLong(DB_POOL_LEAK_THRESHOLD_MS),
+                    Integer.parseInt(DB_POOL_VALIDATION_TIMEOUT_S),
+                    Integer.parseInt(DB_STATEMENT_CACHE_SIZE)
+            ));
+            System.out.println(dbType == DatabaseType.MYSQL
+                    ? "Connected to MySQL/MariaDB database"
+                    : "Connected to SQLite database (development mode)");
+
+            try (PooledConnection conn = pool.borrow()) {
+                createTables(conn);
+                insertDefaultData(conn);
+            }
         } catch (SQLException e) {
             System.err.println("Database initialization failed: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
-    private void createTables() throws SQLException {
+    private void createTables(PooledConnection conn) throws SQLException {
         String createUsersTable;
         String createMorphemesTable;
         String createWordsTable;
@@ -172,96 +211,127 @@ public class DatabaseManager {
                 """;
         }
 
-        try (Statement stmt = connection.createStatement()) {
+        try (Statement stmt = conn.createStatement()) {
             stmt.execute(createUsersTable);
             stmt.execute(createMorphemesTable);
             stmt.execute(createWordsTable);
             stmt.execute(createWordMorphemesTable);
             stmt.execute(createPlayerWordsTable);
         }
+
+        // Serves the leaderboard pages; score is descending like the ORDER BY, so the index is read forward
+        createIndexIfMissing(conn, "idx_users_role_score_id", "users", "role, score DESC, id");
+        // Finds the words using a morpheme without scanning word_morphemes, which is keyed by word first; it also
+        // serves the cascading deletes of morphemes
+        createIndexIfMissing(conn, "idx_word_morphemes_morpheme", "word_morphemes", "morpheme_id, word_id, position");
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS dictionary_revision (id INT PRIMARY KEY, revision BIGINT NOT NULL)");
+        }
+        // Starts at a random value, so a recreated database does not reuse the revisions of the previous one
+        PreparedStatement initRevision = conn.prepareStatement(dbType == DatabaseType.MYSQL
+            ? "INSERT IGNORE INTO dictionary_revision (id, revision) VALUES (1, ?)"
+            : "INSERT OR IGNORE INTO dictionary_revision (id, revision) VALUES (1, ?)");
+        initRevision.setLong(1, new SecureRandom().nextLong(1L << 62));
+        initRevision.executeUpdate();
+        // The application bumps the revision once per bulk write; the triggers catch the edits made by hand
+        for (String table : List.of("morphemes", "words", "word_morphemes")) {
+            createRevisionTriggerIfMissing(conn, "trg_" + table + "_revision", "UPDATE", table);
+            createRevisionTriggerIfMissing(conn, "trg_" + table + "_insert_revision", "INSERT", table);
+            createRevisionTriggerIfMissing(conn, "trg_" + table + "_delete_revision", "DELETE", table);
+        }
     }
 
-    private void insertDefaultData() throws SQLException {
+    private void createRevisionTriggerIfMissing(PooledConnection conn, String name, String event, String table) throws SQLException {
+        String bump = "UPDATE dictionary_revision SET revision = revision + 1 WHERE id = 1";
+        if (dbType == DatabaseType.MYSQL) {
+            PreparedStatement check = conn.prepareStatement(
+                "SELECT COUNT(*) FROM information_schema.triggers WHERE trigger_schema = DATABASE() AND trigger_name = ?");
+            check.setString(1, name);
+            try (ResultSet rs = check.executeQuery()) {
+                if (rs.next() && rs.getInt(1) > 0) {
+                    return;
+                }
+            }
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE TRIGGER " + name + " AFTER " + event + " ON " + table + " FOR EACH ROW " + bump);
+            } catch (SQLException e) {
+                // Needs the TRIGGER privilege (and SUPER with binary logging); edits made by hand then go unnoticed
+                System.err.println("Could not create trigger " + name + ": " + e.getMessage());
+            }
+        } else {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE TRIGGER IF NOT EXISTS " + name + " AFTER " + event + " ON " + table
+                    + " BEGIN " + bump + "; END");
+            }
+        }
+    }
+
+    private void createIndexIfMissing(PooledConnection conn, String name, String table, String columns) throws SQLException {
+        if (dbType == DatabaseType.MYSQL) {
+            // MySQL has no CREATE INDEX IF NOT EXISTS
+            PreparedStatement check = conn.prepareStatement(
+                "SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?");
+            check.setString(1, table);
+            check.setString(2, name);
+            try (ResultSet rs = check.executeQuery()) {
+                if (rs.next() && rs.getInt(1) > 0) {
+                    return;
+                }
+            }
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE INDEX " + name + " ON " + table + " (" + columns + ")");
+            }
+        } else {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE INDEX IF NOT EXISTS " + name + " ON " + table + " (" + columns + ")");
+            }
+        }
+    }
+
+    private void insertDefaultData(PooledConnection conn) throws SQLException {
         // Check if data already exists
         String checkQuery = "SELECT COUNT(*) FROM users";
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(checkQuery)) {
+        try (ResultSet rs = conn.prepareStatement(checkQuery).executeQuery()) {
             if (rs.next() && rs.getInt(1) > 0) {
                 return; // Data already exists
             }
         }
 
-        // Insert default admin user (password: admin)
-        String insertAdmin = "INSERT INTO users (username, password_hash, role, score) VALUES (?, ?, ?, ?)";
-        try (PreparedStatement pstmt = connection.prepareStatement(insertAdmin)) {
-            pstmt.setString(1, "admin");
-            pstmt.setString(2, hashPassword("admin"));
-            pstmt.setString(3, "ADMIN");
-            pstmt.setInt(4, 0);
-            pstmt.executeUpdate();
-        }
-
-        // Insert some sample morphemes
-        String insertMorpheme = "INSERT INTO morphemes (text, definition) VALUES (?, ?)";
-        String[][] sampleMorphemes = {
-            {"dé", "Enlever ou inverser"},
-            {"re", "De nouveau ou en arrière"},
-            {"pré", "Avant"},
-            {"jouer", "Pratiquer un jeu ou un divertissement"},
-            {"faire", "Accomplir une action"},
-            {"voir", "Percevoir avec les yeux"},
-            {"able", "Capable d'être"},
-            {"ment", "De manière"},
-            {"tion", "Action ou procédé"}
-        };
-
-        try (PreparedStatement pstmt = connection.prepareStatement(insertMorpheme)) {
-            for (String[] morpheme : sampleMorphemes) {
-                pstmt.setString(1, morpheme[0]);
-                pstmt.setString(2, morpheme[1]);
-                pstmt.executeUpdate();
-            }
-        }
-
-        // Insert some sample words using proper junction table
-        String insertWord = "INSERT INTO words (text, points, definition) VALUES (?, ?, ?)";
-        String insertWordMorpheme = "INSERT INTO word_morphemes (word_id, morpheme_id, position) VALUES (?, ?, ?)";
-
-        try (PreparedStatement wordStmt = connection.prepareStatement(insertWord, Statement.RETURN_GENERATED_KEYS);
-             PreparedStatement morphemeStmt = connection.prepareStatement(insertWordMorpheme)) {
-            wordStmt.setString(1, "refaire");
-            wordStmt.setInt(2, 5);
-            wordStmt.setString(3, "Faire de nouveau, recommencer une action");
-            wordStmt.executeUpdate();
-
-            int wordId = getGeneratedKey(wordStmt);
-            morphemeStmt.setInt(1, wordId);
-            morphemeStmt.setInt(2, 2);
-            morphemeStmt.setInt(3, 0);
-            morphemeStmt.executeUpdate();
-
-            morphemeStmt.setInt(1, wordId);
-            morphemeStmt.setInt(2, 5);
-            morphemeStmt.setInt(3, 1);
-            morphemeStmt.executeUpdate();
-
-            // Word: prévoir = pré (id 3) + voir (id 6)
-            wordStmt.setString(1, "prévoir");
-            wordStmt.setInt(2, 5);
-            wordStmt.setString(3, "Anticiper ou prévoir ce qui va se passer");
-            wordStmt.executeUpdate();
-
-            wordId = getGeneratedKey(wordStmt);
-            morphemeStmt.setInt(1, wordId);
-            morphemeStmt.setInt(2, 3);
-            morphemeStmt.setInt(3, 0);
-            morphemeStmt.executeUpdate();
-
-            morphemeStmt.setInt(1, wordId);
-            morphemeStmt.setInt(2, 6);
-            morphemeStmt.setInt(3, 1);
-            morphemeStmt.executeUpdate();
-        }
+        inTransaction(conn, c -> {
+            // Insert default admin user (password: admin)
+            String insertAdmin = "INSERT INTO users (username, password_hash, role, score) VALUES (?, ?, ?, ?)";
+            PreparedStatement adminStmt = c.prepareStatement(insertAdmin);
+            adminStmt.setString(1, "admin");
+            adminStmt.setString(2, hashPassword("admin"));
+            adminStmt.setString(3, "ADMIN");
+            adminStmt.setInt(4, 0);
+            adminStmt.executeUpdate();
+
+            // Insert some sample morphemes
+            bumpDictionaryRevision(c);
+            List<Morpheme> morphemes = insertMorphemes(c, List.of(
+                new Morpheme(0, "dé", "Enlever ou inverser"),
+                new Morpheme(0, "re", "De nouveau ou en arrière"),
+                new Morpheme(0, "pré", "Avant"),
+                new Morpheme(0, "jouer", "Pratiquer un jeu ou un divertissement"),
+                new Morpheme(0, "faire", "Accomplir une action"),
+                new Morpheme(0, "voir", "Percevoir avec les yeux"),
+                new Morpheme(0, "able", "Capable d'être"),
+                new Morpheme(0, "ment", "De manière"),
+                new Morpheme(0, "tion", "Action ou procédé")
+            ));
+
+            // Insert some sample words using proper junction table
+            // refaire = re + faire, prévoir = pré + voir
+            insertWords(c, List.of(
+                new Word(0, "refaire", List.of(morphemes.get(1).id(), morphemes.get(4).id()), 5,
+                        "Faire de nouveau, recommencer une action"),
+                new Word(0, "prévoir", List.of(morphemes.get(2).id(), morphemes.get(5).id()), 5,
+                        "Anticiper ou prévoir ce qui va se passer")
+            ));
+            return null;
+        });
     }
 
     private @NotNull String hashPassword(@NotNull String password) {
@@ -320,27 +390,28 @@ public class DatabaseManager {
 
     public User authenticateUser(String username, String password) {
         String query = "SELECT * FROM users WHERE username = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+        try (PooledConnection conn = pool.borrow()) {
+            PreparedStatement pstmt = conn.prepareStatement(query);
             pstmt.setString(1, username);
-            ResultSet rs = pstmt.executeQuery();
-
-            if (rs.next()) {
-                String storedHash = rs.getString("password_hash");
-                if (verifyPassword(password, storedHash)) {
-                    if (rs.getString("role").equals("ADMIN")) {
-                        return new Admin(
-                            rs.getInt("id"),
-                            rs.getString("username"),
-                            storedHash
-                        );
-                    }
-                    else {
-                        return new Player(
-                            rs.getInt("id"),
-                            rs.getString("username"),
-                            storedHash,
-                            rs.getInt("score")
-                        );
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    String storedHash = rs.getString("password_hash");
+                    if (verifyPassword(password, storedHash)) {
+                        if (rs.getString("role").equals("ADMIN")) {
+                            return new Admin(
+                                rs.getInt("id"),
+                                rs.getString("username"),
+                                storedHash
+                            );
+                        }
+                        else {
+                            return new Player(
+                                rs.getInt("id"),
+                                rs.getString("username"),
+                                storedHash,
+                                rs.getInt("score")
+                            );
+                        }
                     }
                 }
             }
@@ -350,24 +421,29 @@ public class DatabaseManager {
         return null;
     }
 
-    public boolean createPlayer(String username, String password) {
+    /**
+     * @return the ID of the new player, or -1 if it could not be created
+     */
+    public int createPlayer(String username, String password) {
         String query = "INSERT INTO users (username, password_hash, role, score) VALUES (?, ?, ?, ?)";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+        try (PooledConnection conn = pool.borrow()) {
+            PreparedStatement pstmt = conn.prepareStatement(query, generatedKeysMode());
             pstmt.setString(1, username);
             pstmt.setString(2, hashPassword(password));
             pstmt.setString(3, "PLAYER");
             pstmt.setInt(4, 0);
             pstmt.executeUpdate();
-            return true;
+            return getGeneratedKey(conn, pstmt);
         } catch (SQLException e) {
             e.printStackTrace();
-            return false;
+            return -1;
         }
     }
 
     public boolean createAdmin(String username, String password) {
         String query = "INSERT INTO users (username, password_hash, role, score) VALUES (?, ?, ?, ?)";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+        try (PooledConnection conn = pool.borrow()) {
+            PreparedStatement pstmt = conn.prepareStatement(query);
             pstmt.setString(1, username);
             pstmt.setString(2, hashPassword(password));
             pstmt.setString(3, "ADMIN");
@@ -382,10 +458,10 @@ public class DatabaseManager {
 
     public List<Morpheme> getAllMorphemes() {
         List<Morpheme> morphemes = new ArrayList<>();
-        String query = "SELECT * FROM morphemes";
+        String query = "SELECT * FROM morphemes ORDER BY id";
 
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(query)) {
+        try (PooledConnection conn = pool.borrow();
+             ResultSet rs = conn.prepareStatement(query).executeQuery()) {
             while (rs.next()) {
                 morphemes.add(new Morpheme(
                     rs.getInt("id"),
@@ -400,99 +476,143 @@ public class DatabaseManager {
         return morphemes;
     }
 
-    public List<Player> getAllPlayers() {
-        List<Player> players = new ArrayList<>();
-        String query = "SELECT * FROM users WHERE role = 'PLAYER'";
-
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(query)) {
-            while (rs.next()) {
-                players.add(new Player(
-                    rs.getInt("id"),
-                    rs.getString("username"),
-                    rs.getString("password_hash"),
-                    rs.getInt("score")
-                ));
+    /**
+     * Loads the ID, name and score of every player, without the rest of the account.
+     */
+    public List<PlayerStanding> getPlayerStandings() {
+        List<PlayerStanding> standings = new ArrayList<>();
+        String query = "SELECT id, username, score FROM users WHERE role = 'PLAYER'";
+
+        try (PooledConnection conn = pool.borrow()) {
+            PreparedStatement stmt = conn.prepareStatement(query);
+            stmt.setFetchSize(ROW_FETCH_SIZE);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    standings.add(new PlayerStanding(rs.getInt(1), rs.getString(2), rs.getInt(3)));
+                }
             }
         } catch (SQLException e) {
             e.printStackTrace();
         }
 
-        return players;
+        return standings;
     }
 
-    public List<Word> getAllWords() {
-        List<Word> words = new ArrayList<>();
-        String query = "SELECT * FROM words";
-
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(query)) {
-            while (rs.next()) {
-                int wordId = rs.getInt("id");
-                String text = rs.getString("text");
-                int points = rs.getInt("points");
-                String definition = rs.getString("definition");
-
-                String morphemesQuery = "SELECT morpheme_id FROM word_morphemes WHERE word_id = ? ORDER BY position";
-                List<Integer> morphemeIds = new ArrayList<>();
-
-                try (PreparedStatement morphStmt = connection.prepareStatement(morphemesQuery)) {
-                    morphStmt.setInt(1, wordId);
-                    ResultSet morphRs = morphStmt.executeQuery();
-
-                    while (morphRs.next()) {
-                        morphemeIds.add(morphRs.getInt("morpheme_id"));
-                    }
+    /**
+     * One page of the leaderboard, ordered by descending score then ID.
+     * Pages are chained on the last row of the previous page rather than an offset, so each page is a
+     * short range read of the {@code (role, score, id)} index whatever its depth. The redundant
+     * {@code score <= ?} bound is what lets the database start the range scan at that row.
+     *
+     * @param after the last player of the previous page, or null for the first page
+     */
+    public List<PlayerStanding> getLeaderboardPage(PlayerStanding after, int limit) {
+        List<PlayerStanding> page = new ArrayList<>(limit);
+        String query = after == null
+            ? "SELECT id, username, score FROM users WHERE role = 'PLAYER' ORDER BY score DESC, id LIMIT ?"
+            : """
+              SELECT id, username, score FROM users
+              WHERE role = 'PLAYER' AND score <= ? AND (score < ? OR id > ?)
+              ORDER BY score DESC, id LIMIT ?
+              """;
+
+        try (PooledConnection conn = pool.borrow()) {
+            PreparedStatement pstmt = conn.prepareStatement(query);
+            int index = 1;
+            if (after != null) {
+                pstmt.setInt(index++, after.score());
+                pstmt.setInt(index++, after.score());
+                pstmt.setInt(index++, after.userId());
+            }
+            pstmt.setInt(index, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    page.add(new PlayerStanding(rs.getInt(1), rs.getString(2), rs.getInt(3)));
                 }
-
-                words.add(new Word(wordId, text, morphemeIds, points, definition));
             }
         } catch (SQLException e) {
             e.printStackTrace();
         }
 
+        return page;
+    }
+
+    /**
+     * Loads every word with its ordered morpheme IDs in a single query.
+     */
+    public List<Word> getAllWords() {
+        List<Word> words = new ArrayList<>();
+        try (PooledConnection conn = pool.borrow()) {
+            streamWords(conn, words::add);
+        } catch (SQLException | IOException e) {
+            e.printStackTrace();
+        }
         return words;
     }
 
-    public Word validateWord(String text, List<Integer> morphemeIds) {
-        String wordQuery = "SELECT * FROM words WHERE text = ?";
+    public int countMorphemes() {
+        return countRows("SELECT COUNT(*) FROM morphemes");
+    }
 
-        try (PreparedStatement pstmt = connection.prepareStatement(wordQuery)) {
-            pstmt.setString(1, text);
-            ResultSet rs = pstmt.executeQuery();
+    public int countWords() {
+        return countRows("SELECT COUNT(*) FROM words");
+    }
 
+    private int countRows(String query) {
+        try (PooledConnection conn = pool.borrow();
+             ResultSet rs = conn.prepareStatement(query).executeQuery()) {
             if (rs.next()) {
-                int wordId = rs.getInt("id");
-                String wordText = rs.getString("text");
-                int points = rs.getInt("points");
-                String definition = rs.getString("definition");
-
-                String morphemesQuery = "SELECT morpheme_id FROM word_morphemes WHERE word_id = ? ORDER BY position";
-                List<Integer> wordMorphemeIds = new ArrayList<>();
-
-                try (PreparedStatement morphStmt = connection.prepareStatement(morphemesQuery)) {
-                    morphStmt.setInt(1, wordId);
-                    ResultSet morphRs = morphStmt.executeQuery();
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
 
-                    while (morphRs.next()) {
-                        wordMorphemeIds.add(morphRs.getInt("morpheme_id"));
-                    }
-                }
+    public Set<String> getAllWordTexts() {
+        Set<String> texts = new HashSet<>();
+        String query = "SELECT text FROM words";
 
-                if (wordMorphemeIds.equals(morphemeIds)) {
-                    return new Word(wordId, wordText, wordMorphemeIds, points, definition);
+        try (PooledConnection conn = pool.borrow()) {
+            PreparedStatement stmt = conn.prepareStatement(query);
+            stmt.setFetchSize(ROW_FETCH_SIZE);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    texts.add(rs.getString(1));
                 }
             }
         } catch (SQLException e) {
             e.printStackTrace();
         }
 
+        return texts;
+    }
+
+    /**
+     * Revision of the dictionary tables, a single row bumped by every write to morphemes, words or compositions,
+     * so it can be compared with the version stored in a cached copy of the dictionary without reading the tables.
+     *
+     * @return the content version, or null if the database could not be queried
+     */
+    public String getDictionaryVersion() {
+        String query = "SELECT revision FROM dictionary_revision WHERE id = 1";
+
+        try (PooledConnection conn = pool.borrow();
+             ResultSet rs = conn.prepareStatement(query).executeQuery()) {
+            if (rs.next()) {
+                return Long.toString(rs.getLong(1));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
         return null;
     }
 
     public void updateUserScore(int userId, int additionalPoints) {
         String query = "UPDATE users SET score = score + ? WHERE id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+        try (PooledConnection conn = pool.borrow()) {
+            PreparedStatement pstmt = conn.prepareStatement(query);
             pstmt.setInt(1, additionalPoints);
             pstmt.setInt(2, userId);
             pstmt.executeUpdate();
@@ -508,7 +628,8 @@ public class DatabaseManager {
         } else {
             query = "INSERT OR IGNORE INTO player_words (user_id, word_id) VALUES (?, ?)";
         }
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+        try (PooledConnection conn = pool.borrow()) {
+            PreparedStatement pstmt = conn.prepareStatement(query);
             pstmt.setInt(1, userId);
             pstmt.setInt(2, wordId);
             pstmt.executeUpdate();
@@ -517,48 +638,373 @@ public class DatabaseManager {
         }
     }
 
-    public void addMorpheme(String text, String definition) {
-        String query = "INSERT INTO morphemes (text, definition) VALUES (?, ?)";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-            pstmt.setString(1, text);
-            pstmt.setString(2, definition);
-            pstmt.executeUpdate();
+    /**
+     * Applies coalesced player progress in a single transaction: one batch of score increments
+     * and one batch of {@code player_words} rows. Nothing is written if any statement fails.
+     *
+     * @param scoreDeltas points to add, by user ID
+     * @param playerWords word IDs built, by user ID
+     * @return true if the transaction committed
+     */
+    public boolean applyPlayerProgress(@NotNull Map<Integer, Integer> scoreDeltas, @NotNull Map<Integer, ? extends Collection<Integer>> playerWords) {
+        String scoreQuery = "UPDATE users SET score = score + ? WHERE id = ?";
+        String wordQuery = dbType == DatabaseType.MYSQL
+                ? "INSERT IGNORE INTO player_words (user_id, word_id) VALUES (?, ?)"
+                : "INSERT OR IGNORE INTO player_words (user_id, word_id) VALUES (?, ?)";
+
+        try (PooledConnection conn = pool.borrow()) {
+            return inTransaction(conn, c -> {
+                PreparedStatement wordStmt = c.prepareStatement(wordQuery);
+                for (Map.Entry<Integer, ? extends Collection<Integer>> entry : playerWords.entrySet()) {
+                    for (int wordId : entry.getValue()) {
+                        wordStmt.setInt(1, entry.getKey());
+                        wordStmt.setInt(2, wordId);
+                        wordStmt.addBatch();
+                    }
+                }
+                wordStmt.executeBatch();
+
+                PreparedStatement scoreStmt = c.prepareStatement(scoreQuery);
+                for (Map.Entry<Integer, Integer> entry : scoreDeltas.entrySet()) {
+                    scoreStmt.setInt(1, entry.getValue());
+                    scoreStmt.setInt(2, entry.getKey());
+                    scoreStmt.addBatch();
+                }
+                scoreStmt.executeBatch();
+                return true;
+            });
         } catch (SQLException e) {
             e.printStackTrace();
+            return false;
         }
     }
 
-    public void addWord(String text, List<Integer> morphemeIds, int points, String definition) {
+    public Morpheme addMorpheme(String text, String definition) {
+        List<Morpheme> added = addMorphemes(List.of(new Morpheme(0, text, definition)));
+        return added.isEmpty() ? null : added.get(0);
+    }
+
+    public Word addWord(String text, List<Integer> morphemeIds, int points, String definition) {
+        List<Word> added = addWords(List.of(new Word(0, text, morphemeIds, points, definition)));
+        return added.isEmpty() ? null : added.get(0);
+    }
+
+    /**
+     * Inserts many morphemes in one transaction using JDBC batches.
+     * The IDs of the given records are ignored.
+     *
+     * @return the inserted morphemes with their generated IDs, or an empty list if the transaction was rolled back
+     */
+    public List<Morpheme> addMorphemes(@NotNull List<Morpheme> morphemes) {
+        try (PooledConnection conn = pool.borrow()) {
+            return inTransaction(conn, c -> {
+                bumpDictionaryRevision(c);
+                return insertMorphemes(c, morphemes);
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return List.of();
+        }
+    }
+
+    /**
+     * Inserts many words and their morpheme rows in one transaction using JDBC batches,
+     * so a word is never left without its composition. The IDs of the given records are ignored.
+     *
+     * @return the inserted words with their generated IDs, or an empty list if the transaction was rolled back
+     */
+    public List<Word> addWords(@NotNull List<Word> words) {
+        try (PooledConnection conn = pool.borrow()) {
+            return inTransaction(conn, c -> {
+                bumpDictionaryRevision(c);
+                return insertWords(c, words);
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return List.of();
+        }
+    }
+
+    /**
+     * Inserts a chunk of morphemes then the words built from them, in one transaction.
+     * The words are produced by {@code resolveWords} once the morphemes have their IDs,
+     * so they may reference morphemes of the same chunk.
+     *
+     * @return the inserted rows, or null if the transaction was rolled back
+     */
+    public DictionaryChunk addDictionaryChunk(@NotNull List<Morpheme> morphemes,
+                                              @NotNull Function<List<Morpheme>, List<Word>> resolveWords) {
+        try (PooledConnection conn = pool.borrow()) {
+            return inTransaction(conn, c -> {
+                bumpDictionaryRevision(c);
+                List<Morpheme> insertedMorphemes = insertMorphemes(c, morphemes);
+                List<Word> insertedWords = insertWords(c, resolveWords.apply(insertedMorphemes));
+                return new DictionaryChunk(insertedMorphemes, insertedWords);
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    public record DictionaryChunk(List<Morpheme> morphemes, List<Word> words) {}
+
+    /**
+     * Marks the dictionary as changed, once per bulk write and inside its transaction, see {@link #getDictionaryVersion()}.
+     */
+    private void bumpDictionaryRevision(PooledConnection conn) throws SQLException {
+        conn.prepareStatement("UPDATE dictionary_revision SET revision = revision + 1 WHERE id = 1").executeUpdate();
+    }
+
+    private List<Morpheme> insertMorphemes(PooledConnection conn, @NotNull List<Morpheme> morphemes) throws SQLException {
+        String query = "INSERT INTO morphemes (text, definition) VALUES (?, ?)";
+        PreparedStatement pstmt = conn.prepareStatement(query, generatedKeysMode());
+        List<Morpheme> inserted = new ArrayList<>(morphemes.size());
+
+        for (int start = 0; start < morphemes.size(); start += INSERT_BATCH_SIZE) {
+            int end = Math.min(start + INSERT_BATCH_SIZE, morphemes.size());
+            for (int i = start; i < end; i++) {
+                pstmt.setString(1, morphemes.get(i).text());
+                pstmt.setString(2, morphemes.get(i).definition());
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+
+            int[] ids = getGeneratedKeys(conn, pstmt, end - start);
+            for (int i = start; i < end; i++) {
+                Morpheme morpheme = morphemes.get(i);
+                inserted.add(new Morpheme(ids[i - start], morpheme.text(), morpheme.definition()));
+            }
+        }
+        return inserted;
+    }
+
+    private List<Word> insertWords(PooledConnection conn, @NotNull List<Word> words) throws SQLException {
         String insertWordQuery = "INSERT INTO words (text, points, definition) VALUES (?, ?, ?)";
         String insertWordMorphemeQuery = "INSERT INTO word_morphemes (word_id, morpheme_id, position) VALUES (?, ?, ?)";
+        PreparedStatement wordStmt = conn.prepareStatement(insertWordQuery, generatedKeysMode());
+        PreparedStatement morphemeStmt = conn.prepareStatement(insertWordMorphemeQuery);
+        List<Word> inserted = new ArrayList<>(words.size());
+
+        for (int start = 0; start < words.size(); start += INSERT_BATCH_SIZE) {
+            int end = Math.min(start + INSERT_BATCH_SIZE, words.size());
+            for (int i = start; i < end; i++) {
+                Word word = words.get(i);
+                wordStmt.setString(1, word.text());
+                wordStmt.setInt(2, word.points());
+                wordStmt.setString(3, word.definition());
+                wordStmt.addBatch();
+            }
+            wordStmt.executeBatch();
+
+            int[] ids = getGeneratedKeys(conn, wordStmt, end - start);
+            for (int i = start; i < end; i++) {
+                Word word = words.get(i);
+                List<Integer> morphemeIds = word.morphemeIds();
+                for (int position = 0; position < morphemeIds.size(); position++) {
+                    morphemeStmt.setInt(1, ids[i - start]);
+                    morphemeStmt.setInt(2, morphemeIds.get(position));
+                    morphemeStmt.setInt(3, position);
+                    morphemeStmt.addBatch();
+                }
+                inserted.add(new Word(ids[i - start], word.text(), List.copyOf(morphemeIds), word.points(), word.definition()));
+            }
+            morphemeStmt.executeBatch();
+        }
+        return inserted;
+    }
 
-        try (PreparedStatement wordStmt = connection.prepareStatement(insertWordQuery, Statement.RETURN_GENERATED_KEYS)) {
-            wordStmt.setString(1, text);
-            wordStmt.setInt(2, points);
-            wordStmt.setString(3, definition);
-            wordStmt.executeUpdate();
+    /**
+     * Streams the whole dictionary into a binary snapshot (see {@link DictionarySnapshot}).
+     * Both tables are read in one transaction, with cursors, so the snapshot is consistent
+     * and nothing is materialized in memory. The file is written next to {@code file} and moved in place at the end.
+     *
+     * @return what was exported, or null if the database could not be read
+     */
+    public DictionarySnapshot.Summary exportSnapshot(@NotNull Path file) throws IOException {
+        long start = System.nanoTime();
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        DictionarySnapshot.Summary summary;
+        try (PooledConnection conn = pool.borrow()) {
+            // Rolled back and reset by the pool on release
+            conn.setAutoCommit(false);
+            DictionarySnapshot.Writer writer = DictionarySnapshot.Writer.create(temporary);
+            try (writer) {
+                streamMorphemes(conn, writer::writeMorpheme);
+                streamWords(conn, writer::writeWord);
+            }
+            conn.commit();
+            summary = writer.summary((System.nanoTime() - start) / 1_000_000);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Files.deleteIfExists(temporary);
+            return null;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return summary;
+    }
 
-            ResultSet rs = wordStmt.getGeneratedKeys();
-            if (rs.next()) {
-                int wordId = rs.getInt(1);
+    /**
+     * Replaces the dictionary with the content of a snapshot, keeping the IDs it contains.
+     * Rows are streamed from the file into JDBC batches inside a single transaction, so a failed
+     * import leaves the previous dictionary untouched. Since word IDs change, the list of words
+     * found by each player is cleared; scores are kept.
+     *
+     * @return what was imported, or null if the transaction was rolled back
+     */
+    public DictionarySnapshot.Summary importSnapshot(@NotNull Path file) throws IOException {
+        long start = System.nanoTime();
+        PreparedStatement morphemeStmt = null;
+        PreparedStatement wordStmt = null;
+        PreparedStatement compositionStmt = null;
+        try (PooledConnection conn = pool.borrow();
+             DictionarySnapshot.Reader reader = DictionarySnapshot.Reader.open(file)) {
+            // Rolled back and reset by the pool on release if anything fails
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("DELETE FROM player_words");
+                stmt.executeUpdate("DELETE FROM word_morphemes");
+                stmt.executeUpdate("DELETE FROM words");
+                stmt.executeUpdate("DELETE FROM morphemes");
+            }
+            bumpDictionaryRevision(conn);
+
+            morphemeStmt = conn.prepareStatement("INSERT INTO morphemes (id, text, definition) VALUES (?, ?, ?)");
+            int pending = 0;
+            Morpheme morpheme;
+            while ((morpheme = reader.nextMorpheme()) != null) {
+                morphemeStmt.setInt(1, morpheme.id());
+                morphemeStmt.setString(2, morpheme.text());
+                morphemeStmt.setString(3, morpheme.definition());
+                morphemeStmt.addBatch();
+                if (++pending == INSERT_BATCH_SIZE) {
+                    morphemeStmt.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                morphemeStmt.executeBatch();
+            }
 
-                try (PreparedStatement morphemeStmt = connection.prepareStatement(insertWordMorphemeQuery)) {
-                    for (int position = 0; position < morphemeIds.size(); position++) {
-                        morphemeStmt.setInt(1, wordId);
-                        morphemeStmt.setInt(2, morphemeIds.get(position));
-                        morphemeStmt.setInt(3, position);
-                        morphemeStmt.executeUpdate();
-                    }
+            wordStmt = conn.prepareStatement("INSERT INTO words (id, text, points, definition) VALUES (?, ?, ?, ?)");
+            compositionStmt = conn.prepareStatement("INSERT INTO word_morphemes (word_id, morpheme_id, position) VALUES (?, ?, ?)");
+            pending = 0;
+            Word word;
+            while ((word = reader.nextWord()) != null) {
+                wordStmt.setInt(1, word.id());
+                wordStmt.setString(2, word.text());
+                wordStmt.setInt(3, word.points());
+                wordStmt.setString(4, word.definition());
+                wordStmt.addBatch();
+                List<Integer> morphemeIds = word.morphemeIds();
+                for (int position = 0; position < morphemeIds.size(); position++) {
+                    compositionStmt.setInt(1, word.id());
+                    compositionStmt.setInt(2, morphemeIds.get(position));
+                    compositionStmt.setInt(3, position);
+                    compositionStmt.addBatch();
+                }
+                if (++pending == INSERT_BATCH_SIZE) {
+                    // Words first: word_morphemes references them
+                    wordStmt.executeBatch();
+                    compositionStmt.executeBatch();
+                    pending = 0;
                 }
             }
+            if (pending > 0) {
+                wordStmt.executeBatch();
+                compositionStmt.executeBatch();
+            }
+
+            conn.commit();
+            return reader.summary((System.nanoTime() - start) / 1_000_000);
         } catch (SQLException e) {
             e.printStackTrace();
+            return null;
+        } finally {
+            // The statements stay cached on the connection, and addWord shares the word_morphemes insert
+            clearBatchQuietly(morphemeStmt);
+            clearBatchQuietly(wordStmt);
+            clearBatchQuietly(compositionStmt);
+        }
+    }
+
+    private static void clearBatchQuietly(PreparedStatement statement) {
+        if (statement == null) {
+            return;
+        }
+        try {
+            statement.clearBatch();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowConsumer<T> {
+        void accept(T row) throws IOException;
+    }
+
+    private void streamMorphemes(@NotNull PooledConnection conn, @NotNull RowConsumer<Morpheme> consumer) throws SQLException, IOException {
+        PreparedStatement stmt = conn.prepareStatement("SELECT id, text, definition FROM morphemes ORDER BY id");
+        stmt.setFetchSize(ROW_FETCH_SIZE);
+        try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                consumer.accept(new Morpheme(rs.getInt(1), rs.getString(2), rs.getString(3)));
+            }
+        }
+    }
+
+    /**
+     * Streams every word with its ordered morpheme IDs out of a single query.
+     * Rows come sorted by word then position, so they are folded into {@link Word} records in one pass
+     * and handed over one at a time.
+     */
+    private void streamWords(@NotNull PooledConnection conn, @NotNull RowConsumer<Word> consumer) throws SQLException, IOException {
+        String query = """
+            SELECT w.id, w.text, w.points, w.definition, wm.morpheme_id
+            FROM words w
+            LEFT JOIN word_morphemes wm ON wm.word_id = w.id
+            ORDER BY w.id, wm.position
+            """;
+        PreparedStatement stmt = conn.prepareStatement(query);
+        stmt.setFetchSize(ROW_FETCH_SIZE);
+        try (ResultSet rs = stmt.executeQuery()) {
+            int currentId = -1;
+            String text = null;
+            int points = 0;
+            String definition = null;
+            List<Integer> morphemeIds = null;
+
+            while (rs.next()) {
+                int wordId = rs.getInt(1);
+                if (wordId != currentId) {
+                    if (morphemeIds != null) {
+                        consumer.accept(new Word(currentId, text, morphemeIds, points, definition));
+                    }
+                    currentId = wordId;
+                    text = rs.getString(2);
+                    points = rs.getInt(3);
+                    definition = rs.getString(4);
+                    morphemeIds = new ArrayList<>();
+                }
+                int morphemeId = rs.getInt(5);
+                if (!rs.wasNull()) {
+                    morphemeIds.add(morphemeId);
+                }
+            }
+            if (morphemeIds != null) {
+                consumer.accept(new Word(currentId, text, morphemeIds, points, definition));
+            }
         }
     }
 
     public void updatePassword(int userId, String newPassword) {
         String query = "UPDATE users SET password_hash = ? WHERE id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+        try (PooledConnection conn = pool.borrow()) {
+            PreparedStatement pstmt = conn.prepareStatement(query);
             pstmt.setString(1, hashPassword(newPassword));
             pstmt.setInt(2, userId);
             pstmt.executeUpdate();
@@ -569,7 +1015,8 @@ public class DatabaseManager {
 
     public void updateUsername(int userId, String newUsername) {
         String query = "UPDATE users SET username = ? WHERE id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+        try (PooledConnection conn = pool.borrow()) {
+            PreparedStatement pstmt = conn.prepareStatement(query);
             pstmt.setString(1, newUsername);
             pstmt.setInt(2, userId);
             pstmt.executeUpdate();
@@ -580,7 +1027,8 @@ public class DatabaseManager {
 
     public void deleteUser(int userId) {
         String query = "DELETE FROM users WHERE id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+        try (PooledConnection conn = pool.borrow()) {
+            PreparedStatement pstmt = conn.prepareStatement(query);
             pstmt.setInt(1, userId);
             pstmt.executeUpdate();
         } catch (SQLException e) {
@@ -588,15 +1036,14 @@ public class DatabaseManager {
         }
     }
 
-    private int getGeneratedKey(PreparedStatement stmt) throws SQLException {
+    private int getGeneratedKey(PooledConnection conn, PreparedStatement stmt) throws SQLException {
         if (dbType == DatabaseType.MYSQL) {
             try (ResultSet rs = stmt.getGeneratedKeys()) {
                 if (rs.next()) return rs.getInt(1);
             }
             throw new SQLException("No generated keys returned.");
         } else {
-            try (Statement s = connection.createStatement();
-                 ResultSet rs = s.executeQuery("SELECT last_insert_rowid()")) {
+            try (ResultSet rs = conn.prepareStatement("SELECT last_insert_rowid()").executeQuery()) {
                 if (rs.next()) return rs.getInt(1);
             }
             throw new SQLException("Could not get last_insert_rowid() from SQLite.");
@@ -604,13 +1051,59 @@ public class DatabaseManager {
     }
 
 
-    public void close() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
+    /**
+     * Keys generated by the last batch of {@code count} inserts on {@code stmt}.
+     * SQLite only reports the last rowid, but inside a transaction the rows of a batch
+     * get consecutive rowids, so the range is rebuilt from it.
+     */
+    private int[] getGeneratedKeys(PooledConnection conn, PreparedStatement stmt, int count) throws SQLException {
+        int[] keys = new int[count];
+        if (dbType == DatabaseType.MYSQL) {
+            try (ResultSet rs = stmt.getGeneratedKeys()) {
+                for (int i = 0; i < count; i++) {
+                    if (!rs.next()) throw new SQLException("Expected " + count + " generated keys, got " + i + ".");
+                    keys[i] = rs.getInt(1);
+                }
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
+        } else {
+            int last = getGeneratedKey(conn, stmt);
+            for (int i = 0; i < count; i++) {
+                keys[i] = last - count + 1 + i;
+            }
+        }
+        return keys;
+    }
+
+    private int generatedKeysMode() {
+        return dbType == DatabaseType.MYSQL ? Statement.RETURN_GENERATED_KEYS : Statement.NO_GENERATED_KEYS;
+    }
+
+    @FunctionalInterface
+    private interface SqlWork<T> {
+        T run(PooledConnection conn) throws SQLException;
+    }
+
+    private <T> T inTransaction(@NotNull PooledConnection conn, @NotNull SqlWork<T> work) throws SQLException {
+        conn.setAutoCommit(false);
+        try {
+            T result = work.run(conn);
+            conn.commit();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    public ConnectionPool.Stats getPoolStats() {
+        return pool.getStats();
+    }
+
+    public void close() {
+        if (pool != null) {
+            pool.close();
         }
     }
 }
@@ -0,0 +1,298 @@
+package io.github.e_psi_lon.wordcrafter.database;
+
+import io.github.e_psi_lon.wordcrafter.model.Morpheme;
+import io.github.e_psi_lon.wordcrafter.model.Word;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact binary snapshot of the dictionary ({@code morphemes}, {@code words} and {@code word_morphemes}).
+ * <p>
+ * Layout: the magic bytes {@code WCDS} and a format version, then one record per morpheme followed by
+ * one record per word, and a trailer holding both counts. Every record starts with a tag byte.
+ * Integers are unsigned LEB128 varints; IDs are stored as zigzag deltas from the previous ID of the
+ * same kind, strings as a varint byte length followed by UTF-8, and the morpheme sequence of a word
+ * as a varint count followed by the packed IDs.
+ * <p>
+ * Both the writer and the reader are streaming: memory does not grow with the size of the dictionary.
+ */
+public final class DictionarySnapshot {
+    public static final int FORMAT_VERSION = 1;
+    private static final byte[] MAGIC = {'W', 'C', 'D', 'S'};
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int TAG_END = 0;
+    private static final int TAG_MORPHEME = 1;
+    private static final int TAG_WORD = 2;
+
+    /**
+     * What a snapshot export or import processed.
+     */
+    public record Summary(long morphemes, long words, long bytes, long elapsedMillis) {}
+
+    private DictionarySnapshot() {}
+
+    /**
+     * Writes records in snapshot order: every morpheme, then every word.
+     * The trailer is written by {@link #close()}.
+     */
+    public static final class Writer implements Closeable {
+        private final OutputStream out;
+        private long morphemeCount;
+        private long wordCount;
+        private int lastMorphemeId;
+        private int lastWordId;
+        private long bytes;
+        private boolean closed;
+
+        public Writer(@NotNull OutputStream out) throws IOException {
+            this.out = new BufferedOutputStream(out, BUFFER_SIZE);
+            this.out.write(MAGIC);
+            bytes += MAGIC.length;
+            writeVarint(FORMAT_VERSION);
+        }
+
+        public static @NotNull Writer create(@NotNull Path file) throws IOException {
+            return new Writer(Files.newOutputStream(file));
+        }
+
+        public void writeMorpheme(@NotNull Morpheme morpheme) throws IOException {
+            if (wordCount > 0) {
+                throw new IllegalStateException("Morphemes must be written before words");
+            }
+            writeTag(TAG_MORPHEME);
+            writeVarint(zigzag(morpheme.id() - lastMorphemeId));
+            writeString(morpheme.text());
+            writeString(morpheme.definition());
+            lastMorphemeId = morpheme.id();
+            morphemeCount++;
+        }
+
+        public void writeWord(@NotNull Word word) throws IOException {
+            writeTag(TAG_WORD);
+            writeVarint(zigzag(word.id() - lastWordId));
+            writeString(word.text());
+            writeVarint(zigzag(word.points()));
+            writeString(word.definition());
+            List<Integer> morphemeIds = word.morphemeIds();
+            writeVarint(morphemeIds.size());
+            for (int id : morphemeIds) {
+                writeVarint(id);
+            }
+            lastWordId = word.id();
+            wordCount++;
+        }
+
+        public @NotNull Summary summary(long elapsedMillis) {
+            return new Summary(morphemeCount, wordCount, bytes, elapsedMillis);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                writeTag(TAG_END);
+                writeVarint(morphemeCount);
+                writeVarint(wordCount);
+                out.flush();
+            } finally {
+                out.close();
+            }
+        }
+
+        private void writeTag(int tag) throws IOException {
+            out.write(tag);
+            bytes++;
+        }
+
+        private void writeString(@NotNull String value) throws IOException {
+            byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(encoded.length);
+            out.write(encoded);
+            bytes += encoded.length;
+        }
+
+        private void writeVarint(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+                bytes++;
+            }
+            out.write((int) value);
+            bytes++;
+        }
+    }
+
+    /**
+     * Reads a snapshot back in order: call {@link #nextMorpheme()} until it returns null,
+     * then {@link #nextWord()} until it returns null. The trailer counts are checked at the end.
+     */
+    public static final class Reader implements Closeable {
+        private final InputStream in;
+        private final int version;
+        private byte[] stringBuffer = new byte[256];
+        private int pendingTag = -1;
+        private long morphemeCount;
+        private long wordCount;
+        private int lastMorphemeId;
+        private int lastWordId;
+        private long bytes;
+        private boolean finished;
+
+        public Reader(@NotNull InputStream in) throws IOException {
+            this.in = new BufferedInputStream(in, BUFFER_SIZE);
+            byte[] magic = new byte[MAGIC.length];
+            readFully(magic, magic.length);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException("Not a dictionary snapshot");
+            }
+            this.version = (int) readVarint();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported dictionary snapshot version " + version);
+            }
+        }
+
+        public static @NotNull Reader open(@NotNull Path file) throws IOException {
+            return new Reader(Files.newInputStream(file));
+        }
+
+        public int getVersion() {
+            return version;
+        }
+
+        /**
+         * @return the next morpheme, or null once every morpheme has been read
+         */
+        public @Nullable Morpheme nextMorpheme() throws IOException {
+            if (peekTag() != TAG_MORPHEME) {
+                return null;
+            }
+            pendingTag = -1;
+            int id = lastMorphemeId + unzigzag(readVarint());
+            Morpheme morpheme = new Morpheme(id, readString(), readString());
+            lastMorphemeId = id;
+            morphemeCount++;
+            return morpheme;
+        }
+
+        /**
+         * Skips any remaining morphemes.
+         *
+         * @return the next word, or null at the end of the snapshot
+         */
+        public @Nullable Word nextWord() throws IOException {
+            while (peekTag() == TAG_MORPHEME) {
+                nextMorpheme();
+            }
+            if (peekTag() != TAG_WORD) {
+                finish();
+                return null;
+            }
+            pendingTag = -1;
+            int id = lastWordId + unzigzag(readVarint());
+            String text = readString();
+            int points = unzigzag(readVarint());
+            String definition = readString();
+            int count = (int) readVarint();
+            List<Integer> morphemeIds = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                morphemeIds.add((int) readVarint());
+            }
+            lastWordId = id;
+            wordCount++;
+            return new Word(id, text, morphemeIds, points, definition);
+        }
+
+        public @NotNull Summary summary(long elapsedMillis) {
+            return new Summary(morphemeCount, wordCount, bytes, elapsedMillis);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        private int peekTag() throws IOException {
+            if (finished) {
+                return TAG_END;
+            }
+            if (pendingTag < 0) {
+                pendingTag = in.read();
+                if (pendingTag < 0) {
+                    throw new EOFException("Truncated dictionary snapshot");
+                }
+                bytes++;
+            }
+            return pendingTag;
+        }
+
+        private void finish() throws IOException {
+            if (finished) {
+                return;
+            }
+            if (pendingTag != TAG_END) {
+                throw new IOException("Corrupted dictionary snapshot: unknown record tag " + pendingTag);
+            }
+            finished = true;
+            long expectedMorphemes = readVarint();
+            long expectedWords = readVarint();
+            if (expectedMorphemes != morphemeCount || expectedWords != wordCount) {
+                throw new IOException("Corrupted dictionary snapshot: expected " + expectedMorphemes + " morphemes and "
+                        + expectedWords + " words, read " + morphemeCount + " and " + wordCount);
+            }
+        }
+
+        private @NotNull String readString() throws IOException {
+            int length = (int) readVarint();
+            if (stringBuffer.length < length) {
+                stringBuffer = new byte[Math.max(length, stringBuffer.length * 2)];
+            }
+            readFully(stringBuffer, length);
+            return new String(stringBuffer, 0, length, StandardCharsets.UTF_8);
+        }
+
+        private long readVarint() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = in.read();
+                if (b < 0) {
+                    throw new EOFException("Truncated dictionary snapshot");
+                }
+                bytes++;
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Corrupted dictionary snapshot: varint too long");
+        }
+
+        private void readFully(byte @NotNull [] buffer, int length) throws IOException {
+            int read = in.readNBytes(buffer, 0, length);
+            if (read < length) {
+                throw new EOFException("Truncated dictionary snapshot");
+            }
+            bytes += length;
+        }
+    }
+
+    private static long zigzag(int value) {
+        return Integer.toUnsignedLong((value << 1) ^ (value >> 31));
+    }
+
+    private static int unzigzag(long value) {
+        int v = (int) value;
+        return (v >>> 1) ^ -(v & 1);
+    }
+}
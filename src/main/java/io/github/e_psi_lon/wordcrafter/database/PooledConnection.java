@@ -0,0 +1,112 @@
+package io.github.e_psi_lon.wordcrafter.database;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * A connection borrowed from a {@link ConnectionPool}.
+ * Closing it hands the underlying JDBC connection back to the pool instead of closing it.
+ * Prepared statements come from a per-connection {@link StatementCache} and are owned by the
+ * connection: callers close their result sets but never the statements themselves.
+ */
+public final class PooledConnection implements AutoCloseable {
+    private final ConnectionPool pool;
+    private final Connection connection;
+    private final StatementCache statementCache;
+    private long lastReleasedAt;
+    private long borrowedAt;
+    private Throwable borrowTrace;
+    private boolean leakReported;
+    private boolean borrowed;
+
+    PooledConnection(ConnectionPool pool, Connection connection, StatementCache statementCache) {
+        this.pool = pool;
+        this.connection = connection;
+        this.statementCache = statementCache;
+        this.lastReleasedAt = System.currentTimeMillis();
+    }
+
+    public PreparedStatement prepareStatement(@NotNull String sql) throws SQLException {
+        return statementCache.prepare(sql, Statement.NO_GENERATED_KEYS);
+    }
+
+    public PreparedStatement prepareStatement(@NotNull String sql, int autoGeneratedKeys) throws SQLException {
+        return statementCache.prepare(sql, autoGeneratedKeys);
+    }
+
+    public Statement createStatement() throws SQLException {
+        return connection.createStatement();
+    }
+
+    public void setAutoCommit(boolean autoCommit) throws SQLException {
+        connection.setAutoCommit(autoCommit);
+    }
+
+    public void commit() throws SQLException {
+        connection.commit();
+    }
+
+    public void rollback() throws SQLException {
+        connection.rollback();
+    }
+
+    /**
+     * Raw JDBC connection, for callers that need driver features not exposed here.
+     * It must not be closed directly.
+     */
+    public Connection unwrap() {
+        return connection;
+    }
+
+    @Override
+    public void close() {
+        pool.release(this);
+    }
+
+    synchronized void markBorrowed(boolean captureTrace) {
+        borrowed = true;
+        borrowedAt = System.currentTimeMillis();
+        borrowTrace = captureTrace ? new Throwable("Connection borrowed here") : null;
+        leakReported = false;
+    }
+
+    synchronized boolean markReleased() {
+        if (!borrowed) {
+            return false;
+        }
+        statementCache.closeEvicted();
+        borrowed = false;
+        borrowTrace = null;
+        lastReleasedAt = System.currentTimeMillis();
+        return true;
+    }
+
+    synchronized boolean checkLeak(long now, long thresholdMillis) {
+        if (!borrowed || leakReported || now - borrowedAt < thresholdMillis) {
+            return false;
+        }
+        leakReported = true;
+        System.err.println("Possible connection leak: borrowed " + (now - borrowedAt) + " ms ago and not returned");
+        if (borrowTrace != null) {
+            borrowTrace.printStackTrace();
+        }
+        return true;
+    }
+
+    long getLastReleasedAt() {
+        return lastReleasedAt;
+    }
+
+    void closeQuietly() {
+        statementCache.closeAll();
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.e_psi_lon.wordcrafter.database;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LRU cache of prepared statements for a single pooled connection, keyed by SQL text.
+ * Evicted statements are only closed when the connection goes back to the pool,
+ * since the current borrower may still be using them.
+ */
+class StatementCache {
+    private final Connection connection;
+    private final Counters counters;
+    private final List<PreparedStatement> evicted = new ArrayList<>();
+    private final LinkedHashMap<String, PreparedStatement> statements;
+
+    /**
+     * Hit/miss/eviction counters shared by every cache of a pool.
+     */
+    static final class Counters {
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder evictions = new LongAdder();
+    }
+
+    StatementCache(Connection connection, int maxSize, Counters counters) {
+        this.connection = connection;
+        this.counters = counters;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > maxSize) {
+                    evicted.add(eldest.getValue());
+                    counters.evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    PreparedStatement prepare(@NotNull String sql, int autoGeneratedKeys) throws SQLException {
+        String key = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS ? "K:" + sql : sql;
+        PreparedStatement statement = statements.get(key);
+        if (statement != null && !statement.isClosed()) {
+            counters.hits.increment();
+            // A borrower that failed mid-batch may have left rows queued on the statement
+            statement.clearParameters();
+            statement.clearBatch();
+            return statement;
+        }
+        counters.misses.increment();
+        statement = connection.prepareStatement(sql, autoGeneratedKeys);
+        statements.put(key, statement);
+        return statement;
+    }
+
+    void closeEvicted() {
+        for (PreparedStatement statement : evicted) {
+            closeQuietly(statement);
+        }
+        evicted.clear();
+    }
+
+    void closeAll() {
+        closeEvicted();
+        for (PreparedStatement statement : statements.values()) {
+            closeQuietly(statement);
+        }
+        statements.clear();
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+}
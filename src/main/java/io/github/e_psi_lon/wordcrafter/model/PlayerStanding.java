@@ -0,0 +1,6 @@
+package io.github.e_psi_lon.wordcrafter.model;
+
+/**
+ * Score of a player as shown in the leaderboard, without the account details.
+ */
+public record PlayerStanding(int userId, String username, int score) {}
@@ -0,0 +1,86 @@
+package io.github.e_psi_lon.wordcrafter.service;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking service calls (JDBC, password hashing) off the caller's thread, one virtual thread per call.
+ * The returned futures complete on that virtual thread; UI code must hop back to the event dispatch thread
+ * before touching components.
+ */
+public class AsyncExecutor {
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("wordcrafter-async-", 0).factory());
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Calls in progress and their latency from submission to completion, in microseconds.
+     */
+    public record Stats(int inFlight, long completed, long failed, double averageLatencyMicros, double maxLatencyMicros) {}
+
+    public <T> @NotNull CompletableFuture<T> supply(@NotNull Supplier<T> task) {
+        long start = System.nanoTime();
+        inFlight.incrementAndGet();
+        try {
+            return CompletableFuture.supplyAsync(task, executor)
+                    .whenComplete((result, error) -> record(start, error == null));
+        } catch (RuntimeException e) {
+            // Rejected after shutdown
+            inFlight.decrementAndGet();
+            failed.increment();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    public @NotNull CompletableFuture<Void> run(@NotNull Runnable task) {
+        return supply(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public @NotNull Stats getStats() {
+        long done = completed.sum() + failed.sum();
+        double average = done == 0 ? 0 : totalNanos.get() / 1_000.0 / done;
+        return new Stats(inFlight.get(), completed.sum(), failed.sum(), average, maxNanos.get() / 1_000.0);
+    }
+
+    /**
+     * Stops accepting calls and waits a few seconds for those in progress.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                System.err.println("Async service calls still running after " + SHUTDOWN_TIMEOUT_SECONDS + "s: " + inFlight.get());
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void record(long start, boolean success) {
+        long elapsed = System.nanoTime() - start;
+        inFlight.decrementAndGet();
+        (success ? completed : failed).increment();
+        totalNanos.addAndGet(elapsed);
+        maxNanos.accumulateAndGet(elapsed, Math::max);
+    }
+}
@@ -3,12 +3,18 @@ package io.github.e_psi_lon.wordcrafter.service;
 import io.github.e_psi_lon.wordcrafter.database.DatabaseManager;
 import io.github.e_psi_lon.wordcrafter.model.User;
 
+import java.util.concurrent.CompletableFuture;
+
 
 public class AuthService {
     private final DatabaseManager databaseManager;
+    private final Leaderboard leaderboard;
+    private final AsyncExecutor asyncExecutor;
 
-    public AuthService(DatabaseManager databaseManager) {
+    public AuthService(DatabaseManager databaseManager, Leaderboard leaderboard, AsyncExecutor asyncExecutor) {
         this.databaseManager = databaseManager;
+        this.leaderboard = leaderboard;
+        this.asyncExecutor = asyncExecutor;
     }
 
     public User authenticate(String username, String password) {
@@ -16,7 +22,12 @@ public class AuthService {
     }
 
     public boolean registerPlayer(String username, String password) {
-        return databaseManager.createPlayer(username, password);
+        int userId = databaseManager.createPlayer(username, password);
+        if (userId < 0) {
+            return false;
+        }
+        leaderboard.addPlayer(userId, username);
+        return true;
     }
 
     public boolean createAdmin(String username, String password) {
@@ -25,6 +36,7 @@ public class AuthService {
 
     public void updateUsername(int userId, String newUsername) {
         databaseManager.updateUsername(userId, newUsername);
+        leaderboard.rename(userId, newUsername);
     }
 
     public void updatePassword(int userId, String newPassword) {
@@ -33,6 +45,32 @@ public class AuthService {
 
     public void deleteAccount(int userId) {
         databaseManager.deleteUser(userId);
+        leaderboard.removePlayer(userId);
+    }
+
+    // Non-blocking variants, completed on a virtual thread
+
+    public CompletableFuture<User> authenticateAsync(String username, String password) {
+        return asyncExecutor.supply(() -> authenticate(username, password));
+    }
+
+    public CompletableFuture<Boolean> registerPlayerAsync(String username, String password) {
+        return asyncExecutor.supply(() -> registerPlayer(username, password));
     }
-}
 
+    public CompletableFuture<Boolean> createAdminAsync(String username, String password) {
+        return asyncExecutor.supply(() -> createAdmin(username, password));
+    }
+
+    public CompletableFuture<Void> updateUsernameAsync(int userId, String newUsername) {
+        return asyncExecutor.run(() -> updateUsername(userId, newUsername));
+    }
+
+    public CompletableFuture<Void> updatePasswordAsync(int userId, String newPassword) {
+        return asyncExecutor.run(() -> updatePassword(userId, newPassword));
+    }
+
+    public CompletableFuture<Void> deleteAccountAsync(int userId) {
+        return asyncExecutor.run(() -> deleteAccount(userId));
+    }
+}
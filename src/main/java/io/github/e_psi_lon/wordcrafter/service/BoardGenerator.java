@@ -0,0 +1,396 @@
+package io.github.e_psi_lon.wordcrafter.service;
+
+import io.github.e_psi_lon.wordcrafter.model.Morpheme;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Picks the morphemes of a game board so that enough dictionary words can be built from them.
+ * <p>
+ * Each attempt starts from a random word and puts its morphemes on the board. Placing a morpheme walks its posting
+ * list in a {@link MorphemeWordIndex.Snapshot} and lowers the number of morphemes each of its words still misses; words
+ * missing only a few are kept in one bucket per missing count. The board is then filled by completing a random word
+ * of the lowest bucket, or a new random word when the buckets are empty, and the rest is left to decoys. Attempts run
+ * on every worker of a {@link ForkJoinPool} until one of them reaches the target or the time budget runs out, and
+ * the best board found is kept. The arrays of each worker are sized by the dictionary and kept for the next boards.
+ * <p>
+ * Words using a morpheme twice are never counted, since a board holds each morpheme once.
+ */
+public class BoardGenerator {
+    // Words missing more morphemes than this are not chased while filling a board
+    private static final int MAX_MISSING = 4;
+    // Random words drawn before giving up on finding one that fits in the room left
+    private static final int SEED_TRIES = 64;
+
+    private final MorphemeWordIndex.Snapshot index;
+    private final Morpheme[] morphemes;
+    private final int[] positionSlots;  // slot of each morpheme in the index, -1 if it is not indexed
+    private final int[] slotPositions;  // position in morphemes of each slot, -1 if the morpheme is unknown
+    private final int[] points;
+    private final boolean[] playable;   // words built from distinct known morphemes
+    private final ForkJoinPool pool;
+    // Arrays of the worker at each index, taken while it searches; a concurrent generate allocates its own
+    private final AtomicReferenceArray<Scratch> scratches;
+
+    /**
+     * EASY boards are seeded with words of at most two morphemes and have no decoys, HARD boards are seeded with
+     * words of three morphemes or more and keep a third of the board for decoys.
+     */
+    public enum Difficulty {
+        EASY(1, 2, 0.0),
+        MEDIUM(1, Integer.MAX_VALUE, 0.15),
+        HARD(3, Integer.MAX_VALUE, 0.3);
+
+        private final int minSeedLength;
+        private final int maxSeedLength;
+        private final double decoyShare;
+
+        Difficulty(int minSeedLength, int maxSeedLength, double decoyShare) {
+            this.minSeedLength = minSeedLength;
+            this.maxSeedLength = maxSeedLength;
+            this.decoyShare = decoyShare;
+        }
+    }
+
+    /**
+     * The board is accepted once at least {@code minWords} words worth at least {@code minPoints} points in all can
+     * be built from it; past {@code budgetMillis}, the best board found so far is returned.
+     */
+    public record Config(int boardSize, int minWords, int minPoints, Difficulty difficulty, long budgetMillis) {
+        @Contract(" -> new")
+        public static @NotNull Config fromEnvironment() {
+            return new Config(
+                    Integer.parseInt(System.getenv().getOrDefault("BOARD_SIZE", "30")),
+                    Integer.parseInt(System.getenv().getOrDefault("BOARD_MIN_WORDS", "8")),
+                    Integer.parseInt(System.getenv().getOrDefault("BOARD_MIN_POINTS", "0")),
+                    Difficulty.valueOf(System.getenv().getOrDefault("BOARD_DIFFICULTY", "MEDIUM").toUpperCase()),
+                    Long.parseLong(System.getenv().getOrDefault("BOARD_BUDGET_MS", "80"))
+            );
+        }
+    }
+
+    /**
+     * Morphemes of a generated board, in random order, with the words they can build.
+     */
+    public record Board(List<Morpheme> morphemes, int wordCount, int totalPoints, boolean targetMet, int attempts) {}
+
+    public BoardGenerator(@NotNull List<Morpheme> morphemes, @NotNull MorphemeWordIndex.Snapshot index) {
+        this(morphemes, index, ForkJoinPool.commonPool());
+    }
+
+    public BoardGenerator(@NotNull List<Morpheme> morphemes, @NotNull MorphemeWordIndex.Snapshot index, @NotNull ForkJoinPool pool) {
+        this.index = index;
+        this.morphemes = morphemes.toArray(new Morpheme[0]);
+        this.pool = pool;
+        this.scratches = new AtomicReferenceArray<>(pool.getParallelism());
+        positionSlots = new int[this.morphemes.length];
+        slotPositions = new int[index.getSlotCount()];
+        Arrays.fill(slotPositions, -1);
+        for (int position = 0; position < this.morphemes.length; position++) {
+            int slot = index.slotOf(this.morphemes[position].id());
+            positionSlots[position] = slot;
+            if (slot >= 0) {
+                slotPositions[slot] = position;
+            }
+        }
+        points = new int[index.getWordCount()];
+        playable = new boolean[index.getWordCount()];
+        for (int word = 0; word < points.length; word++) {
+            points[word] = index.wordAt(word).points();
+            playable[word] = distinctMorphemes(word) == index.wordAt(word).morphemeIds().size();
+            for (int i = index.wordSlotStart(word); i < index.wordSlotEnd(word) && playable[word]; i++) {
+                playable[word] = slotPositions[index.wordSlotAt(i)] >= 0;
+            }
+        }
+    }
+
+    public @NotNull Board generate(@NotNull Config config) {
+        return generate(config, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * @param seed of the random draws of the workers; with several workers, the board also depends on which of them
+     *             reaches the target first
+     */
+    public @NotNull Board generate(@NotNull Config config, long seed) {
+        int size = Math.min(config.boardSize(), morphemes.length);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.budgetMillis());
+        AtomicBoolean found = new AtomicBoolean();
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Search> searches = new ArrayList<>();
+        // A board holding every morpheme has nothing to search
+        int workers = size == morphemes.length ? 1 : pool.getParallelism();
+        for (int i = 0; i < workers; i++) {
+            searches.add(new Search(config, size, random.split(), deadline, found, takeScratch(i)));
+        }
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(searches);
+            }
+        });
+        for (int i = 0; i < workers; i++) {
+            releaseScratch(i, searches.get(i).scratch);
+        }
+
+        Search best = searches.getFirst();
+        int attempts = 0;
+        for (Search search : searches) {
+            attempts += search.attempts;
+            if (search.isBetterThan(best)) {
+                best = search;
+            }
+        }
+        List<Morpheme> board = new ArrayList<>(size);
+        for (int position : best.bestBoard) {
+            board.add(morphemes[position]);
+        }
+        return new Board(List.copyOf(board), best.bestWords, best.bestPoints, best.bestMet, attempts);
+    }
+
+    private @NotNull Scratch takeScratch(int worker) {
+        Scratch scratch = worker < scratches.length() ? scratches.getAndSet(worker, null) : null;
+        return scratch != null ? scratch : new Scratch();
+    }
+
+    private void releaseScratch(int worker, @NotNull Scratch scratch) {
+        if (worker < scratches.length()) {
+            scratches.set(worker, scratch);
+        }
+    }
+
+    private int distinctMorphemes(int word) {
+        return index.wordSlotEnd(word) - index.wordSlotStart(word);
+    }
+
+    /**
+     * Arrays of a worker, reused by its attempts and by the following boards. Stamps stay valid across boards
+     * since the attempt number keeps growing; onBoard is cleared when a search ends.
+     */
+    private final class Scratch {
+        // Missing morphemes of each word touched by the attempt whose number is in stamps
+        final int[] stamps = new int[points.length];
+        final int[] missing = new int[points.length];
+        final boolean[] onBoard = new boolean[slotPositions.length];
+        final int[][] buckets = new int[MAX_MISSING + 1][16];
+        final int[] bucketSizes = new int[MAX_MISSING + 1];
+        int attempt;
+    }
+
+    /**
+     * Attempts of one worker, each reusing the arrays of the previous one.
+     */
+    private final class Search extends RecursiveAction {
+        private final Config config;
+        private final int size;
+        private final SplittableRandom random;
+        private final long deadline;
+        private final AtomicBoolean found;
+        private final Scratch scratch;
+        private final int[] stamps;
+        private final int[] missing;
+        private final boolean[] onBoard;
+        private final int[][] buckets;
+        private final int[] bucketSizes;
+        private final int[] board;
+        private int boardCount;
+        private int attempt;
+        private int words;
+        private int totalPoints;
+
+        int attempts;
+        int[] bestBoard;
+        int bestWords = -1;
+        int bestPoints;
+        boolean bestMet;
+
+        Search(Config config, int size, SplittableRandom random, long deadline, AtomicBoolean found, Scratch scratch) {
+            this.config = config;
+            this.size = size;
+            this.random = random;
+            this.deadline = deadline;
+            this.found = found;
+            this.scratch = scratch;
+            this.stamps = scratch.stamps;
+            this.missing = scratch.missing;
+            this.onBoard = scratch.onBoard;
+            this.buckets = scratch.buckets;
+            this.bucketSizes = scratch.bucketSizes;
+            this.board = new int[size];
+        }
+
+        @Override
+        protected void compute() {
+            do {
+                fill();
+                attempts++;
+                boolean met = words >= config.minWords() && totalPoints >= config.minPoints();
+                if (bestBoard == null || met && !bestMet || met == bestMet
+                        && (words > bestWords || words == bestWords && totalPoints > bestPoints)) {
+                    bestBoard = shuffled();
+                    bestWords = words;
+                    bestPoints = totalPoints;
+                    bestMet = met;
+                }
+                if (met) {
+                    found.set(true);
+                }
+            } while (!found.get() && size < morphemes.length && System.nanoTime() < deadline);
+            clearBoard();
+        }
+
+        boolean isBetterThan(@NotNull Search other) {
+            if (bestMet != other.bestMet) {
+                return bestMet;
+            }
+            return bestWords > other.bestWords || bestWords == other.bestWords && bestPoints > other.bestPoints;
+        }
+
+        private void fill() {
+            clearBoard();
+            words = 0;
+            totalPoints = 0;
+            Arrays.fill(bucketSizes, 0);
+            attempt = ++scratch.attempt;
+
+            if (size == morphemes.length) {
+                for (int position = 0; position < size; position++) {
+                    place(position);
+                }
+                return;
+            }
+            int wordRoom = size - (int) Math.round(size * config.difficulty().decoyShare);
+            while (boardCount < wordRoom) {
+                int word = nextWord(wordRoom - boardCount);
+                if (word < 0) {
+                    break;
+                }
+                for (int i = index.wordSlotStart(word); i < index.wordSlotEnd(word); i++) {
+                    int slot = index.wordSlotAt(i);
+                    if (!onBoard[slot]) {
+                        place(slotPositions[slot]);
+                    }
+                }
+            }
+            while (boardCount < size) {
+                int position = random.nextInt(morphemes.length);
+                if (!isOnBoard(position)) {
+                    place(position);
+                }
+            }
+        }
+
+        private void clearBoard() {
+            for (int i = 0; i < boardCount; i++) {
+                int slot = positionSlots[board[i]];
+                if (slot >= 0) {
+                    onBoard[slot] = false;
+                }
+            }
+            boardCount = 0;
+        }
+
+        /**
+         * A word of the lowest bucket whose missing morphemes fit in {@code room}, or a random word.
+         *
+         * @return the word, or -1 if none was found
+         */
+        private int nextWord(int room) {
+            for (int count = 1; count <= Math.min(MAX_MISSING, room); count++) {
+                int[] bucket = buckets[count];
+                while (bucketSizes[count] > 0) {
+                    int i = random.nextInt(bucketSizes[count]);
+                    int word = bucket[i];
+                    bucket[i] = bucket[--bucketSizes[count]];
+                    // Words move to a lower bucket as their morphemes are placed, leaving stale entries behind
+                    if (missing[word] == count) {
+                        return word;
+                    }
+                }
+            }
+            // An empty dictionary, the board is then left to decoys
+            if (points.length == 0) {
+                return -1;
+            }
+            Difficulty difficulty = config.difficulty();
+            for (int tries = 0; tries < SEED_TRIES; tries++) {
+                int word = random.nextInt(points.length);
+                int left = stamps[word] == attempt ? missing[word] : distinctMorphemes(word);
+                int length = distinctMorphemes(word);
+                // The second half of the tries accepts words of any length
+                boolean fitsDifficulty = tries >= SEED_TRIES / 2
+                        || length >= difficulty.minSeedLength && length <= difficulty.maxSeedLength;
+                if (playable[word] && left > 0 && left <= room && fitsDifficulty) {
+                    return word;
+                }
+            }
+            return -1;
+        }
+
+        private void place(int position) {
+            board[boardCount++] = position;
+            int slot = positionSlots[position];
+            if (slot < 0) {
+                return;
+            }
+            onBoard[slot] = true;
+            for (int p = index.postingStart(slot); p < index.postingEnd(slot); p++) {
+                int word = index.postingAt(p);
+                if (!playable[word]) {
+                    continue;
+                }
+                int left = (stamps[word] == attempt ? missing[word] : distinctMorphemes(word)) - 1;
+                stamps[word] = attempt;
+                missing[word] = left;
+                if (left == 0) {
+                    words++;
+                    totalPoints += points[word];
+                } else if (left <= MAX_MISSING) {
+                    push(left, word);
+                }
+            }
+        }
+
+        private void push(int count, int word) {
+            if (bucketSizes[count] == buckets[count].length) {
+                buckets[count] = Arrays.copyOf(buckets[count], bucketSizes[count] * 2);
+            }
+            buckets[count][bucketSizes[count]++] = word;
+        }
+
+        private boolean isOnBoard(int position) {
+            int slot = positionSlots[position];
+            if (slot >= 0) {
+                return onBoard[slot];
+            }
+            for (int i = 0; i < boardCount; i++) {
+                if (board[i] == position) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private int[] shuffled() {
+            int[] copy = Arrays.copyOf(board, boardCount);
+            for (int i = copy.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int swap = copy[i];
+                copy[i] = copy[j];
+                copy[j] = swap;
+            }
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package io.github.e_psi_lon.wordcrafter.service;
+
+import io.github.e_psi_lon.wordcrafter.model.Morpheme;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Checks that a definition written by a player is related to the morphemes of their word: for each morpheme,
+ * the definition must share at least one significant token with the definition of the morpheme.
+ * <p>
+ * Tokens are runs of letters and digits, compared lower case, without accents and lightly stemmed (plural and
+ * feminine endings), so "chevaux" matches "cheval" and "Élevée" matches "élevé". The morpheme definitions are
+ * tokenized once when the matcher is built, into sets of interned token IDs; checking a player definition then
+ * tokenizes it once and probes those IDs in a small hash set of the player's token IDs.
+ * <p>
+ * A morpheme whose definition has no significant token is considered related to any definition.
+ */
+public class DefinitionMatcher {
+    private static final int MIN_TOKEN_LENGTH = 3;
+    // Too common in definitions to show that two of them are related
+    private static final Set<String> STOP_WORDS = Set.of(
+            "les", "des", "une", "qui", "que", "quoi", "dont", "est", "sont", "dans", "pour", "par", "avec",
+            "sans", "sur", "sous", "aux", "ces", "son", "ses", "leur", "leurs", "cela", "ceci", "elle",
+            "lui", "relatif", "relative", "qualifie", "concerne");
+
+    private final Map<String, Integer> tokenIds;
+    private final Map<Integer, int[]> morphemeTokens;
+
+    private DefinitionMatcher(Map<String, Integer> tokenIds, Map<Integer, int[]> morphemeTokens) {
+        this.tokenIds = tokenIds;
+        this.morphemeTokens = morphemeTokens;
+    }
+
+    public static @NotNull DefinitionMatcher build(@NotNull List<Morpheme> morphemes) {
+        Map<String, Integer> tokenIds = new HashMap<>();
+        Map<Integer, int[]> morphemeTokens = new HashMap<>(morphemes.size() * 2);
+        for (Morpheme morpheme : morphemes) {
+            List<String> tokens = significantTokens(morpheme.definition());
+            int[] ids = new int[tokens.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = tokenIds.computeIfAbsent(tokens.get(i), token -> tokenIds.size());
+            }
+            morphemeTokens.put(morpheme.id(), ids);
+        }
+        return new DefinitionMatcher(tokenIds, morphemeTokens);
+    }
+
+    /**
+     * @return the first of {@code morphemes} whose definition shares no significant token with
+     *         {@code definition}, or null if the definition is related to all of them
+     */
+    public @Nullable Morpheme findUnrelated(@NotNull String definition, @NotNull List<Morpheme> morphemes) {
+        List<String> tokens = tokenize(definition, false);
+        TokenSet known = new TokenSet(tokens.size());
+        Set<String> unknown = null;
+        for (String token : tokens) {
+            Integer id = tokenIds.get(token);
+            if (id != null) {
+                known.add(id);
+            } else {
+                if (unknown == null) {
+                    unknown = new HashSet<>();
+                }
+                unknown.add(token);
+            }
+        }
+
+        for (Morpheme morpheme : morphemes) {
+            if (!isRelated(morpheme, known, unknown)) {
+                return morpheme;
+            }
+        }
+        return null;
+    }
+
+    public int getTokenCount() {
+        return tokenIds.size();
+    }
+
+    private boolean isRelated(@NotNull Morpheme morpheme, @NotNull TokenSet known, @Nullable Set<String> unknown) {
+        int[] ids = morphemeTokens.get(morpheme.id());
+        if (ids != null) {
+            // Nothing to compare with, the definition cannot be checked
+            if (ids.length == 0) {
+                return true;
+            }
+            for (int id : ids) {
+                if (known.contains(id)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        // A morpheme added since the matcher was built
+        List<String> tokens = significantTokens(morpheme.definition());
+        if (tokens.isEmpty()) {
+            return true;
+        }
+        for (String token : tokens) {
+            Integer id = tokenIds.get(token);
+            if (id != null ? known.contains(id) : unknown != null && unknown.contains(token)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static @NotNull List<String> significantTokens(@Nullable String text) {
+        return tokenize(text, true);
+    }
+
+    /**
+     * Folded and stemmed tokens of {@code text}, in a single pass. Significant tokens exclude the stop words
+     * and the tokens shorter than three letters, checked before stemming.
+     */
+    static @NotNull List<String> tokenize(@Nullable String text, boolean significantOnly) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean inToken = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (inToken && start < 0) {
+                start = i;
+            } else if (!inToken && start >= 0) {
+                String folded = PrefixIndex.normalize(text.substring(start, i));
+                if (!significantOnly || (folded.length() >= MIN_TOKEN_LENGTH && !STOP_WORDS.contains(folded))) {
+                    tokens.add(stem(folded));
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Light stemming: plural then feminine endings, never below three letters.
+     */
+    private static @NotNull String stem(@NotNull String token) {
+        int length = token.length();
+        if (length > 5 && token.endsWith("aux")) {
+            return token.substring(0, length - 3) + "al";
+        }
+        if (length > 3 && (token.charAt(length - 1) == 's' || token.charAt(length - 1) == 'x')) {
+            length--;
+        }
+        // "élevée" and "élevé" both end up as "elev"
+        while (length > 3 && token.charAt(length - 1) == 'e') {
+            length--;
+        }
+        return token.substring(0, length);
+    }
+
+    /**
+     * Open addressing set of token IDs, sized for the tokens of one player definition.
+     */
+    private static final class TokenSet {
+        private final int[] slots; // ID + 1, 0 for an empty slot
+        private final int mask;
+
+        TokenSet(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(4, expected * 2) - 1) << 1;
+            slots = new int[capacity];
+            mask = capacity - 1;
+        }
+
+        void add(int id) {
+            int slot = mix(id) & mask;
+            while (slots[slot] != 0) {
+                if (slots[slot] == id + 1) {
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = id + 1;
+        }
+
+        boolean contains(int id) {
+            int slot = mix(id) & mask;
+            while (slots[slot] != 0) {
+                if (slots[slot] == id + 1) {
+                    return true;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return false;
+        }
+
+        private static int mix(int id) {
+            return id * 0x9E3779B9;
+        }
+    }
+}
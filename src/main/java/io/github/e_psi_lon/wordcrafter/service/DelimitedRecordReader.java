@@ -0,0 +1,181 @@
+package io.github.e_psi_lon.wordcrafter.service;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams records out of a UTF-8 CSV or TSV file with constant memory.
+ * Bytes are read through a {@link FileChannel} into a fixed buffer and decoded into a reusable
+ * char buffer. CSV fields may be quoted, with {@code ""} for a literal quote and embedded line breaks.
+ */
+public class DelimitedRecordReader implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final char delimiter;
+    private final boolean quoting;
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPORT)
+            .onUnmappableCharacter(CodingErrorAction.REPORT);
+    private final ByteBuffer bytes = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+    private final StringBuilder field = new StringBuilder();
+    private final List<String> fields = new ArrayList<>();
+    private final long size;
+    private boolean endOfInput;
+    private boolean drained;
+    private long recordNumber;
+
+    public DelimitedRecordReader(@NotNull Path path, char delimiter, boolean quoting) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.delimiter = delimiter;
+        this.quoting = quoting;
+        chars.flip();
+    }
+
+    /**
+     * Opens a reader whose format follows the file extension: tab separated for {@code .tsv}, CSV otherwise.
+     */
+    public static @NotNull DelimitedRecordReader forFile(@NotNull Path path) throws IOException {
+        boolean tsv = path.getFileName().toString().toLowerCase().endsWith(".tsv");
+        return tsv ? new DelimitedRecordReader(path, '\t', false) : new DelimitedRecordReader(path, ',', true);
+    }
+
+    /**
+     * Reads the next non-empty record.
+     *
+     * @return the fields of the record, or null at end of file
+     */
+    public @Nullable String[] next() throws IOException {
+        while (true) {
+            String[] record = readRecord();
+            if (record == null) {
+                return null;
+            }
+            recordNumber++;
+            if (record.length > 1 || !record[0].isBlank()) {
+                return record;
+            }
+        }
+    }
+
+    /**
+     * One-based number of the last record returned, counting blank lines.
+     */
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+
+    /**
+     * Bytes consumed from the file so far, not counting undecoded leftovers.
+     */
+    public long getBytesRead() throws IOException {
+        return channel.position() - bytes.position();
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private String[] readRecord() throws IOException {
+        fields.clear();
+        field.setLength(0);
+        boolean inQuotes = false;
+        boolean sawAny = false;
+
+        int c;
+        while ((c = read()) != -1) {
+            char ch = (char) c;
+            if (ch == '\uFEFF' && recordNumber == 0 && !sawAny) {
+                continue; // byte order mark
+            }
+            sawAny = true;
+            if (inQuotes) {
+                if (ch == '"') {
+                    if (peek() == '"') {
+                        read();
+                        field.append('"');
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    field.append(ch);
+                }
+            } else if (quoting && ch == '"' && field.isEmpty()) {
+                inQuotes = true;
+            } else if (ch == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (ch == '\n') {
+                break;
+            } else if (ch != '\r') {
+                field.append(ch);
+            }
+        }
+
+        if (!sawAny) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields.toArray(new String[0]);
+    }
+
+    private int peek() throws IOException {
+        if (!chars.hasRemaining() && !fill()) {
+            return -1;
+        }
+        return chars.get(chars.position());
+    }
+
+    private int read() throws IOException {
+        if (!chars.hasRemaining() && !fill()) {
+            return -1;
+        }
+        return chars.get();
+    }
+
+    private boolean fill() throws IOException {
+        if (drained) {
+            return false;
+        }
+        chars.clear();
+        while (chars.position() == 0) {
+            if (!endOfInput && channel.read(bytes) == -1) {
+                endOfInput = true;
+            }
+            bytes.flip();
+            CoderResult result = decoder.decode(bytes, chars, endOfInput);
+            if (result.isError()) {
+                result.throwException();
+            }
+            bytes.compact();
+            if (endOfInput) {
+                decoder.flush(chars);
+                drained = true;
+                break;
+            }
+        }
+        chars.flip();
+        return chars.hasRemaining();
+    }
+}
@@ -0,0 +1,229 @@
+package io.github.e_psi_lon.wordcrafter.service;
+
+import io.github.e_psi_lon.wordcrafter.model.DatabaseEntity;
+import io.github.e_psi_lon.wordcrafter.model.Morpheme;
+import io.github.e_psi_lon.wordcrafter.model.Word;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of the morpheme and word lists.
+ * Each list is loaded on first use and kept as an immutable snapshot. Additions are applied to the
+ * cached snapshot of their own kind only; anything else drops the snapshot so it is reloaded.
+ * Added items go to a growable tail after the loaded list, which is never copied, so appending is
+ * amortized O(1) and a list mapped from the dictionary image is not decoded.
+ * Every change bumps a version stamp, so callers holding a list can cheaply tell it is stale.
+ */
+public class DictionaryCache {
+    private final Entry<Morpheme> morphemes;
+    private final Entry<Word> words;
+    private final AtomicLong version = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final AtomicLong loadNanos = new AtomicLong();
+    private final AtomicLong maxLoadNanos = new AtomicLong();
+
+    /**
+     * Cache usage, with load times in microseconds.
+     */
+    public record Stats(long version, long hits, long misses, double averageLoadMicros, double maxLoadMicros) {}
+
+    /**
+     * The loaders must return immutable lists sorted by ID; they are cached as they are.
+     *
+     * @param morphemeCounter counts morphemes without loading them, used while the list is not cached
+     * @param wordCounter     counts words without loading them, used while the list is not cached
+     */
+    public DictionaryCache(@NotNull Supplier<List<Morpheme>> morphemeLoader, @NotNull IntSupplier morphemeCounter,
+                           @NotNull Supplier<List<Word>> wordLoader, @NotNull IntSupplier wordCounter) {
+        this.morphemes = new Entry<>(morphemeLoader, morphemeCounter);
+        this.words = new Entry<>(wordLoader, wordCounter);
+    }
+
+    public @NotNull List<Morpheme> getMorphemes() {
+        return morphemes.get();
+    }
+
+    public @NotNull List<Word> getWords() {
+        return words.get();
+    }
+
+    public int getMorphemeCount() {
+        return morphemes.count();
+    }
+
+    public int getWordCount() {
+        return words.count();
+    }
+
+    /**
+     * Version stamp of the cached content, incremented on every change.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * @return the morphemes that were not already in the cached list, or all of them if it is not loaded
+     */
+    public @NotNull List<Morpheme> morphemesAdded(@NotNull List<Morpheme> added) {
+        return morphemes.append(added);
+    }
+
+    /**
+     * @return the words that were not already in the cached list, or all of them if it is not loaded
+     */
+    public @NotNull List<Word> wordsAdded(@NotNull List<Word> added) {
+        return words.append(added);
+    }
+
+    /**
+     * Drops both snapshots, for changes that are not simple additions.
+     */
+    public void invalidate() {
+        morphemes.clear();
+        words.clear();
+    }
+
+    public @NotNull Stats getStats() {
+        long missCount = misses.sum();
+        double average = missCount == 0 ? 0 : loadNanos.get() / 1_000.0 / missCount;
+        return new Stats(version.get(), hits.sum(), missCount, average, maxLoadNanos.get() / 1_000.0);
+    }
+
+    private final class Entry<T extends DatabaseEntity> {
+        private final Supplier<List<T>> loader;
+        private final IntSupplier counter;
+        private volatile List<T> snapshot;
+        // Guarded by this; the tail is only written past the end of the snapshots already handed out
+        private List<T> loaded;
+        private int loadedLastId;
+        private Object[] tail = new Object[0];
+        private int tailSize;
+
+        Entry(Supplier<List<T>> loader, IntSupplier counter) {
+            this.loader = loader;
+            this.counter = counter;
+        }
+
+        List<T> get() {
+            List<T> current = snapshot;
+            if (current != null) {
+                hits.increment();
+                return current;
+            }
+            synchronized (this) {
+                if (snapshot == null) {
+                    misses.increment();
+                    long start = System.nanoTime();
+                    loaded = loader.get();
+                    loadedLastId = loaded.isEmpty() ? 0 : loaded.getLast().getId();
+                    tailSize = 0;
+                    snapshot = loaded;
+                    long elapsed = System.nanoTime() - start;
+                    loadNanos.addAndGet(elapsed);
+                    maxLoadNanos.accumulateAndGet(elapsed, Math::max);
+                } else {
+                    hits.increment();
+                }
+                return snapshot;
+            }
+        }
+
+        int count() {
+            List<T> current = snapshot;
+            return current != null ? current.size() : counter.getAsInt();
+        }
+
+        synchronized List<T> append(List<T> added) {
+            if (added.isEmpty()) {
+                return added;
+            }
+            version.incrementAndGet();
+            if (snapshot == null) {
+                return added;
+            }
+            List<T> appended = new ArrayList<>(added.size());
+            for (T item : added) {
+                // A load running concurrently with the insert may already have picked up the new rows
+                if (item.getId() <= loadedLastId && isLoaded(item.getId())) {
+                    continue;
+                }
+                if (tailSize == tail.length) {
+                    tail = Arrays.copyOf(tail, Math.max(16, tailSize * 2));
+                }
+                tail[tailSize++] = item;
+                appended.add(item);
+            }
+            if (!appended.isEmpty()) {
+                snapshot = new AppendedList<>(loaded, tail, loaded.size() + tailSize);
+            }
+            return appended;
+        }
+
+        // Binary search on the IDs, which only reads a few items of a mapped list
+        private boolean isLoaded(int id) {
+            int low = 0;
+            int high = loaded.size() - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                int middleId = loaded.get(middle).getId();
+                if (middleId < id) {
+                    low = middle + 1;
+                } else if (middleId > id) {
+                    high = middle - 1;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        synchronized void clear() {
+            snapshot = null;
+            loaded = null;
+            tail = new Object[0];
+            tailSize = 0;
+            version.incrementAndGet();
+        }
+    }
+
+    /**
+     * Immutable view of a loaded list followed by the first items of a shared tail array.
+     */
+    private static final class AppendedList<T> extends AbstractList<T> implements RandomAccess {
+        private final List<T> loaded;
+        private final Object[] tail;
+        private final int size;
+
+        AppendedList(List<T> loaded, Object[] tail, int size) {
+            this.loaded = loaded;
+            this.tail = tail;
+            this.size = size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+            Objects.checkIndex(index, size);
+            int loadedSize = loaded.size();
+            return index < loadedSize ? loaded.get(index) : (T) tail[index - loadedSize];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
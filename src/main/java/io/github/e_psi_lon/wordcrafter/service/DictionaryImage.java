@@ -0,0 +1,320 @@
+package io.github.e_psi_lon.wordcrafter.service;
+
+import io.github.e_psi_lon.wordcrafter.model.Morpheme;
+import io.github.e_psi_lon.wordcrafter.model.Word;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.IntFunction;
+
+/**
+ * Read-only, memory-mapped image of the dictionary.
+ * <p>
+ * Opening an image only maps the file: morphemes and words are decoded from the mapping when they
+ * are accessed, so startup time does not depend on the size of the dictionary. The file holds a
+ * header with the database content version it was built from, then fixed-size tables sorted by ID,
+ * an open-addressing hash table of the morpheme sequences, the packed sequences themselves and a
+ * UTF-8 string pool:
+ * <pre>
+ * header     magic, format, morphemes, words, hash capacity, sequence ints, version length, pool length
+ * version    UTF-8, padded to 4 bytes
+ * morphemes  id, text offset, text length, definition offset, definition length
+ * words      id, text offset, text length, definition offset, definition length, points, sequence offset, sequence length
+ * hash       word position + 1 per slot, 0 when empty
+ * sequences  morpheme IDs
+ * pool       UTF-8 strings
+ * </pre>
+ */
+public class DictionaryImage {
+    private static final int MAGIC = 0x57434449; // "WCDI"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 8 * Integer.BYTES;
+    private static final int MORPHEME_INTS = 5;
+    private static final int WORD_INTS = 8;
+
+    private final MappedByteBuffer buffer;
+    private final String contentVersion;
+    private final int morphemeCount;
+    private final int wordCount;
+    private final int hashCapacity;
+    private final int morphemeTable;
+    private final int wordTable;
+    private final int hashTable;
+    private final int sequenceArea;
+    private final int stringPool;
+
+    private DictionaryImage(@NotNull MappedByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a dictionary image");
+        }
+        if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Unsupported dictionary image format " + buffer.getInt(4));
+        }
+        this.morphemeCount = buffer.getInt(8);
+        this.wordCount = buffer.getInt(12);
+        this.hashCapacity = buffer.getInt(16);
+        int sequenceInts = buffer.getInt(20);
+        int versionLength = buffer.getInt(24);
+        int poolLength = buffer.getInt(28);
+
+        this.contentVersion = readString(HEADER_BYTES, versionLength);
+        this.morphemeTable = HEADER_BYTES + align(versionLength);
+        this.wordTable = morphemeTable + morphemeCount * MORPHEME_INTS * Integer.BYTES;
+        this.hashTable = wordTable + wordCount * WORD_INTS * Integer.BYTES;
+        this.sequenceArea = hashTable + hashCapacity * Integer.BYTES;
+        this.stringPool = sequenceArea + sequenceInts * Integer.BYTES;
+        if ((long) stringPool + poolLength != buffer.capacity()) {
+            throw new IOException("Truncated dictionary image");
+        }
+    }
+
+    /**
+     * Maps an image file. Nothing is decoded until morphemes or words are accessed.
+     */
+    public static @NotNull DictionaryImage open(@NotNull Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new DictionaryImage(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Writes an image of the given dictionary, stamped with {@code contentVersion}.
+     * The file is written next to {@code file} and moved in place at the end.
+     */
+    public static void write(@NotNull Path file, @NotNull String contentVersion,
+                             @NotNull List<Morpheme> morphemes, @NotNull List<Word> words) throws IOException {
+        List<Morpheme> sortedMorphemes = new ArrayList<>(morphemes);
+        sortedMorphemes.sort(Comparator.comparingInt(Morpheme::id));
+        List<Word> sortedWords = new ArrayList<>(words);
+        sortedWords.sort(Comparator.comparingInt(Word::id));
+
+        ByteArrayOutputStream pool = new ByteArrayOutputStream();
+        int sequenceInts = 0;
+        for (Word word : sortedWords) {
+            sequenceInts += word.morphemeIds().size();
+        }
+        int capacity = 16;
+        while (capacity < sortedWords.size() * 2) {
+            capacity <<= 1;
+        }
+        int[] hash = new int[capacity];
+        for (int i = 0; i < sortedWords.size(); i++) {
+            int[] sequence = WordIndex.toArray(sortedWords.get(i).morphemeIds());
+            int slot = (int) WordIndex.hash(sequence, sequence.length) & (capacity - 1);
+            while (hash[slot] != 0) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            hash[slot] = i + 1;
+        }
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        byte[] version = contentVersion.getBytes(StandardCharsets.UTF_8);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), 64 * 1024))) {
+            // Tables reference the pool, so it is built first and written last
+            int[] morphemeRows = new int[sortedMorphemes.size() * MORPHEME_INTS];
+            for (int i = 0; i < sortedMorphemes.size(); i++) {
+                Morpheme morpheme = sortedMorphemes.get(i);
+                int row = i * MORPHEME_INTS;
+                morphemeRows[row] = morpheme.id();
+                appendString(pool, morpheme.text(), morphemeRows, row + 1);
+                appendString(pool, morpheme.definition(), morphemeRows, row + 3);
+            }
+            int[] wordRows = new int[sortedWords.size() * WORD_INTS];
+            int sequenceOffset = 0;
+            for (int i = 0; i < sortedWords.size(); i++) {
+                Word word = sortedWords.get(i);
+                int row = i * WORD_INTS;
+                wordRows[row] = word.id();
+                appendString(pool, word.text(), wordRows, row + 1);
+                appendString(pool, word.definition(), wordRows, row + 3);
+                wordRows[row + 5] = word.points();
+                wordRows[row + 6] = sequenceOffset;
+                wordRows[row + 7] = word.morphemeIds().size();
+                sequenceOffset += word.morphemeIds().size();
+            }
+
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(sortedMorphemes.size());
+            out.writeInt(sortedWords.size());
+            out.writeInt(capacity);
+            out.writeInt(sequenceInts);
+            out.writeInt(version.length);
+            out.writeInt(pool.size());
+            out.write(version);
+            out.write(new byte[align(version.length) - version.length]);
+            writeInts(out, morphemeRows);
+            writeInts(out, wordRows);
+            writeInts(out, hash);
+            for (Word word : sortedWords) {
+                for (int id : word.morphemeIds()) {
+                    out.writeInt(id);
+                }
+            }
+            pool.writeTo(out);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Database content version this image was built from.
+     */
+    public @NotNull String getContentVersion() {
+        return contentVersion;
+    }
+
+    public int getMorphemeCount() {
+        return morphemeCount;
+    }
+
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    /**
+     * Immutable view of the morphemes, sorted by ID and decoded on access.
+     */
+    public @NotNull List<Morpheme> morphemes() {
+        return new ImageList<>(morphemeCount, this::morphemeAt);
+    }
+
+    /**
+     * Immutable view of the words, sorted by ID and decoded on access.
+     */
+    public @NotNull List<Word> words() {
+        return new ImageList<>(wordCount, this::wordAt);
+    }
+
+    public @Nullable Morpheme findMorpheme(int id) {
+        int position = binarySearch(morphemeTable, MORPHEME_INTS, morphemeCount, id);
+        return position < 0 ? null : morphemeAt(position);
+    }
+
+    public @Nullable Word findWord(int id) {
+        int position = binarySearch(wordTable, WORD_INTS, wordCount, id);
+        return position < 0 ? null : wordAt(position);
+    }
+
+    /**
+     * Returns the word formed by the first {@code length} IDs of {@code morphemeIds}, or null.
+     */
+    public @Nullable Word findWord(int @NotNull [] morphemeIds, int length) {
+        int mask = hashCapacity - 1;
+        int slot = (int) WordIndex.hash(morphemeIds, length) & mask;
+        int entry;
+        while ((entry = buffer.getInt(hashTable + slot * Integer.BYTES)) != 0) {
+            if (sequenceEquals(entry - 1, morphemeIds, length)) {
+                return wordAt(entry - 1);
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    private @NotNull Morpheme morphemeAt(int position) {
+        int row = morphemeTable + position * MORPHEME_INTS * Integer.BYTES;
+        return new Morpheme(buffer.getInt(row), poolString(row + 4), poolString(row + 12));
+    }
+
+    private @NotNull Word wordAt(int position) {
+        int row = wordTable + position * WORD_INTS * Integer.BYTES;
+        int sequenceStart = sequenceArea + buffer.getInt(row + 24) * Integer.BYTES;
+        Integer[] morphemeIds = new Integer[buffer.getInt(row + 28)];
+        for (int i = 0; i < morphemeIds.length; i++) {
+            morphemeIds[i] = buffer.getInt(sequenceStart + i * Integer.BYTES);
+        }
+        return new Word(buffer.getInt(row), poolString(row + 4), List.of(morphemeIds), buffer.getInt(row + 20), poolString(row + 12));
+    }
+
+    private boolean sequenceEquals(int position, int @NotNull [] morphemeIds, int length) {
+        int row = wordTable + position * WORD_INTS * Integer.BYTES;
+        if (buffer.getInt(row + 28) != length) {
+            return false;
+        }
+        int sequenceStart = sequenceArea + buffer.getInt(row + 24) * Integer.BYTES;
+        for (int i = 0; i < length; i++) {
+            if (buffer.getInt(sequenceStart + i * Integer.BYTES) != morphemeIds[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int binarySearch(int table, int rowInts, int count, int id) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midId = buffer.getInt(table + mid * rowInts * Integer.BYTES);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private @NotNull String poolString(int reference) {
+        return readString(stringPool + buffer.getInt(reference), buffer.getInt(reference + 4));
+    }
+
+    private @NotNull String readString(int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void appendString(@NotNull ByteArrayOutputStream pool, @NotNull String value, int @NotNull [] rows, int index) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        rows[index] = pool.size();
+        rows[index + 1] = bytes.length;
+        pool.writeBytes(bytes);
+    }
+
+    private static void writeInts(@NotNull DataOutputStream out, int @NotNull [] values) throws IOException {
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    private static int align(int length) {
+        return (length + 3) & ~3;
+    }
+
+    private static final class ImageList<T> extends AbstractList<T> implements RandomAccess {
+        private final int size;
+        private final IntFunction<T> decoder;
+
+        ImageList(int size, IntFunction<T> decoder) {
+            this.size = size;
+            this.decoder = decoder;
+        }
+
+        @Override
+        public T get(int index) {
+            Objects.checkIndex(index, size);
+            return decoder.apply(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
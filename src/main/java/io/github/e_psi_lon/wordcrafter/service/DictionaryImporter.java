@@ -0,0 +1,313 @@
+package io.github.e_psi_lon.wordcrafter.service;
+
+import io.github.e_psi_lon.wordcrafter.database.DatabaseManager;
+import io.github.e_psi_lon.wordcrafter.model.Morpheme;
+import io.github.e_psi_lon.wordcrafter.model.Word;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Imports morphemes and words from a CSV or TSV file.
+ * <p>
+ * Each record is {@code type, text, definition, points, morphemes}: {@code type} is {@code morpheme}
+ * or {@code word}, {@code points} and {@code morphemes} only apply to words, and {@code morphemes}
+ * lists morpheme IDs or texts separated by {@code +} (for example {@code re+faire} or {@code 2+5}).
+ * A word without {@code morphemes} is split into known morphemes by a {@link MorphemeSegmenter}, keeping
+ * the segmentation with the fewest morphemes; the words of a chunk are split in parallel.
+ * A first record starting with {@code type} is treated as a header.
+ * <p>
+ * The file is streamed and written in chunks, each in its own transaction. After every committed
+ * chunk the number of consumed records is saved next to the file, so a failed import can be resumed.
+ */
+public class DictionaryImporter {
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final GameService gameService;
+
+    public record Progress(long rowsRead, long morphemesImported, long wordsImported, long rowsRejected,
+                           long bytesRead, long totalBytes, double rowsPerSecond) {}
+
+    public record Result(boolean completed, long morphemesImported, long wordsImported, long rowsRejected,
+                         long rowsSkipped, long elapsedMillis, List<String> errors) {}
+
+    public DictionaryImporter(GameService gameService) {
+        this.gameService = gameService;
+    }
+
+    public static @NotNull Path checkpointFor(@NotNull Path file) {
+        return file.resolveSibling(file.getFileName() + ".checkpoint");
+    }
+
+    /**
+     * Imports {@code file} in chunks of {@code chunkSize} records.
+     *
+     * @param resume   continue after the last committed chunk of a previous run instead of starting over
+     * @param listener notified after every committed chunk
+     */
+    public Result importFile(@NotNull Path file, int chunkSize, boolean resume, @NotNull Consumer<Progress> listener) throws IOException {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        Path checkpoint = checkpointFor(file);
+        long skipUntil = 0;
+        if (resume && Files.exists(checkpoint)) {
+            skipUntil = Long.parseLong(Files.readString(checkpoint).trim());
+        } else {
+            Files.deleteIfExists(checkpoint);
+        }
+
+        Run run = new Run(checkpoint, listener);
+        try (DelimitedRecordReader reader = DelimitedRecordReader.forFile(file)) {
+            run.reader = reader;
+            String[] fields;
+            while ((fields = reader.next()) != null) {
+                if (reader.getRecordNumber() <= skipUntil) {
+                    run.skipped++;
+                    continue;
+                }
+                if (reader.getRecordNumber() == 1 && fields[0].trim().equalsIgnoreCase("type")) {
+                    continue;
+                }
+                run.accept(reader.getRecordNumber(), fields);
+                if (run.pendingCount() >= chunkSize && !run.flush()) {
+                    return run.result(false);
+                }
+            }
+            if (!run.flush()) {
+                return run.result(false);
+            }
+        }
+        Files.deleteIfExists(checkpoint);
+        return run.result(true);
+    }
+
+    /**
+     * @param references the morpheme IDs or texts of the word, or null to split its text
+     */
+    private record PendingWord(long line, String text, String @Nullable [] references, int points, String definition) {}
+
+    /**
+     * State of a single import: resolution tables, the current chunk and counters.
+     */
+    private final class Run {
+        private final Path checkpoint;
+        private final Consumer<Progress> listener;
+        private final long startNanos = System.nanoTime();
+        private DelimitedRecordReader reader;
+
+        private final Map<String, Integer> morphemeIdsByText = new HashMap<>();
+        private final Set<Integer> morphemeIds = new HashSet<>();
+        private final Set<String> morphemeKeys = new HashSet<>();
+        private final Set<String> wordTexts;
+        private final MorphemeSegmenter segmenter;
+
+        private final List<Morpheme> pendingMorphemes = new ArrayList<>();
+        private final List<PendingWord> pendingWords = new ArrayList<>();
+        private final List<String> errors = new ArrayList<>();
+
+        private long rowsRead;
+        private long skipped;
+        private long rejected;
+        private long morphemesImported;
+        private long wordsImported;
+
+        Run(Path checkpoint, Consumer<Progress> listener) {
+            this.checkpoint = checkpoint;
+            this.listener = listener;
+            List<Morpheme> morphemes = gameService.getAllAvailableMorphemes();
+            for (Morpheme morpheme : morphemes) {
+                registerMorpheme(morpheme);
+            }
+            this.segmenter = MorphemeSegmenter.build(morphemes);
+            this.wordTexts = gameService.getAllWordTexts();
+        }
+
+        int pendingCount() {
+            return pendingMorphemes.size() + pendingWords.size();
+        }
+
+        void accept(long line, String @NotNull [] fields) {
+            rowsRead++;
+            String type = field(fields, 0).toLowerCase();
+            String text = field(fields, 1);
+            String definition = field(fields, 2);
+
+            if (text.isEmpty()) {
+                reject(line, "texte manquant");
+                return;
+            }
+            switch (type) {
+                case "morpheme", "morphème", "m" -> {
+                    if (definition.isEmpty()) {
+                        reject(line, "définition manquante pour le morphème « " + text + " »");
+                    } else if (!morphemeKeys.add(text + '\u0000' + definition)) {
+                        reject(line, "morphème « " + text + " » déjà présent");
+                    } else {
+                        pendingMorphemes.add(new Morpheme(0, text, definition));
+                    }
+                }
+                case "word", "mot", "w" -> {
+                    String references = field(fields, 4);
+                    try {
+                        int points = Integer.parseInt(field(fields, 3));
+                        if (points < 0) {
+                            reject(line, "points négatifs pour le mot « " + text + " »");
+                            return;
+                        }
+                        pendingWords.add(new PendingWord(line, text,
+                                references.isEmpty() ? null : references.split("\\+"), points, definition));
+                    } catch (NumberFormatException e) {
+                        reject(line, "points invalides « " + field(fields, 3) + " »");
+                    }
+                }
+                default -> reject(line, "type inconnu « " + type + " »");
+            }
+        }
+
+        /**
+         * Writes the current chunk. Returns false if its transaction failed.
+         */
+        boolean flush() throws IOException {
+            if (pendingCount() == 0) {
+                return true;
+            }
+            List<String> chunkErrors = new ArrayList<>();
+            DatabaseManager.DictionaryChunk chunk = gameService.addDictionaryChunk(
+                    List.copyOf(pendingMorphemes), inserted -> resolveWords(inserted, chunkErrors));
+            if (chunk == null) {
+                addError("Échec de l'écriture du bloc se terminant à la ligne " + reader.getRecordNumber()
+                        + " ; relancez l'import avec reprise pour continuer");
+                return false;
+            }
+
+            for (Morpheme morpheme : chunk.morphemes()) {
+                registerMorpheme(morpheme);
+            }
+            for (Word word : chunk.words()) {
+                wordTexts.add(word.text());
+            }
+            morphemesImported += chunk.morphemes().size();
+            wordsImported += chunk.words().size();
+            rejected += chunkErrors.size();
+            chunkErrors.forEach(this::addError);
+            pendingMorphemes.clear();
+            pendingWords.clear();
+
+            saveCheckpoint(reader.getRecordNumber());
+            listener.accept(progress());
+            return true;
+        }
+
+        private @NotNull List<Word> resolveWords(@NotNull List<Morpheme> inserted, List<String> chunkErrors) {
+            Map<String, Integer> chunkIdsByText = new HashMap<>();
+            Set<Integer> chunkIds = new HashSet<>();
+            for (Morpheme morpheme : inserted) {
+                chunkIdsByText.putIfAbsent(morpheme.text(), morpheme.id());
+                chunkIds.add(morpheme.id());
+                segmenter.add(morpheme);
+            }
+
+            List<String> unsplitTexts = new ArrayList<>();
+            for (PendingWord pending : pendingWords) {
+                if (pending.references() == null) {
+                    unsplitTexts.add(pending.text());
+                }
+            }
+            List<MorphemeSegmenter.Segmentation> segmentations = segmenter.bestOfEach(unsplitTexts);
+            int nextSegmentation = 0;
+
+            Set<String> chunkTexts = new HashSet<>();
+            List<Word> words = new ArrayList<>(pendingWords.size());
+            for (PendingWord pending : pendingWords) {
+                MorphemeSegmenter.Segmentation segmentation = pending.references() == null
+                        ? segmentations.get(nextSegmentation++) : null;
+                if (wordTexts.contains(pending.text()) || !chunkTexts.add(pending.text())) {
+                    chunkErrors.add("Ligne " + pending.line() + " : mot « " + pending.text() + " » déjà présent");
+                    continue;
+                }
+                if (pending.references() == null) {
+                    if (segmentation == null) {
+                        chunkTexts.remove(pending.text());
+                        chunkErrors.add("Ligne " + pending.line() + " : impossible de découper le mot « "
+                                + pending.text() + " » en morphèmes connus");
+                    } else {
+                        words.add(new Word(0, pending.text(), segmentation.morphemeIds(), pending.points(), pending.definition()));
+                    }
+                    continue;
+                }
+                List<Integer> ids = new ArrayList<>(pending.references().length);
+                String unknown = null;
+                for (String reference : pending.references()) {
+                    Integer id = resolveMorpheme(reference.trim(), chunkIdsByText, chunkIds);
+                    if (id == null) {
+                        unknown = reference.trim();
+                        break;
+                    }
+                    ids.add(id);
+                }
+                if (unknown != null) {
+                    chunkTexts.remove(pending.text());
+                    chunkErrors.add("Ligne " + pending.line() + " : morphème inconnu « " + unknown + " »");
+                    continue;
+                }
+                words.add(new Word(0, pending.text(), ids, pending.points(), pending.definition()));
+            }
+            return words;
+        }
+
+        private @Nullable Integer resolveMorpheme(@NotNull String reference, Map<String, Integer> chunkIdsByText, Set<Integer> chunkIds) {
+            if (!reference.isEmpty() && reference.chars().allMatch(Character::isDigit)) {
+                int id = Integer.parseInt(reference);
+                return morphemeIds.contains(id) || chunkIds.contains(id) ? id : null;
+            }
+            Integer id = morphemeIdsByText.get(reference);
+            return id != null ? id : chunkIdsByText.get(reference);
+        }
+
+        private void registerMorpheme(@NotNull Morpheme morpheme) {
+            morphemeIdsByText.putIfAbsent(morpheme.text(), morpheme.id());
+            morphemeIds.add(morpheme.id());
+            morphemeKeys.add(morpheme.text() + '\u0000' + morpheme.definition());
+        }
+
+        private void reject(long line, String reason) {
+            rejected++;
+            addError("Ligne " + line + " : " + reason);
+        }
+
+        private void addError(String error) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(error);
+            }
+        }
+
+        private void saveCheckpoint(long recordNumber) throws IOException {
+            Path temporary = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+            Files.writeString(temporary, Long.toString(recordNumber));
+            Files.move(temporary, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        private @NotNull Progress progress() throws IOException {
+            double seconds = (System.nanoTime() - startNanos) / 1e9;
+            return new Progress(rowsRead, morphemesImported, wordsImported, rejected,
+                    reader.getBytesRead(), reader.getSize(), seconds > 0 ? rowsRead / seconds : 0);
+        }
+
+        @NotNull Result result(boolean completed) {
+            long elapsed = (System.nanoTime() - startNanos) / 1_000_000;
+            return new Result(completed, morphemesImported, wordsImported, rejected, skipped, elapsed, List.copyOf(errors));
+        }
+    }
+
+    private static String field(String @NotNull [] fields, int index) {
+        return index < fields.length ? fields[index].trim() : "";
+    }
+}
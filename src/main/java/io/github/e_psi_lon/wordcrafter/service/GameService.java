@@ -1,43 +1,532 @@
 package io.github.e_psi_lon.wordcrafter.service;
 
 import io.github.e_psi_lon.wordcrafter.database.DatabaseManager;
+import io.github.e_psi_lon.wordcrafter.database.DictionarySnapshot;
 import io.github.e_psi_lon.wordcrafter.model.Morpheme;
 import io.github.e_psi_lon.wordcrafter.model.Word;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 public class GameService {
     private final DatabaseManager databaseManager;
+    private final PlayerProgressQueue progressQueue;
+    private final Path imagePath;
+    private final DictionaryCache dictionaryCache;
+    private final AsyncExecutor asyncExecutor;
 
-    public GameService(DatabaseManager databaseManager) {
+    // Guarded by this
+    private WordIndex wordIndex;
+    private WordSuggester wordSuggester;
+    private MorphemeWordIndex morphemeWordIndex;
+    private MorphemeTrie morphemeTrie;
+    private PrefixIndex prefixIndex;
+    private DefinitionMatcher definitionMatcher;
+    private MorphemeSegmenter morphemeSegmenter;
+    private BoardGenerator boardGenerator;
+    private int boardGeneratorWords;
+    // What was added since the image was mapped, as the image itself is never rewritten while running. Read by the
+    // cache loaders, which must not take the monitor of this service while the getters below hold it
+    private final AtomicInteger addedMorphemeCount = new AtomicInteger();
+    private final WordIndex addedWords = new WordIndex();
+
+    // Guarded by imageLock, so that mapping or writing the image does not hold up the other calls
+    private final Object imageLock = new Object();
+    private DictionaryImage dictionaryImage;
+    private boolean imageChecked;
+
+    /**
+     * @param imagePath where the memory-mapped dictionary image is kept, or null to always read from the database
+     */
+    public GameService(DatabaseManager databaseManager, PlayerProgressQueue progressQueue, Path imagePath,
+                       AsyncExecutor asyncExecutor) {
         this.databaseManager = databaseManager;
+        this.progressQueue = progressQueue;
+        this.imagePath = imagePath;
+        this.asyncExecutor = asyncExecutor;
+        this.dictionaryCache = new DictionaryCache(
+                this::loadMorphemes, () -> countRows(true),
+                this::loadWords, () -> countRows(false));
     }
 
+    /**
+     * Immutable list served from the {@link DictionaryCache}.
+     */
     public List<Morpheme> getAllAvailableMorphemes() {
-        return databaseManager.getAllMorphemes();
+        return dictionaryCache.getMorphemes();
     }
 
+    /**
+     * Immutable list served from the {@link DictionaryCache}.
+     */
     public List<Word> getAllAvailableWords() {
-        return databaseManager.getAllWords();
+        return dictionaryCache.getWords();
+    }
+
+    public CompletableFuture<List<Morpheme>> getAllAvailableMorphemesAsync() {
+        return asyncExecutor.supply(this::getAllAvailableMorphemes);
+    }
+
+    public CompletableFuture<List<Word>> getAllAvailableWordsAsync() {
+        return asyncExecutor.supply(this::getAllAvailableWords);
+    }
+
+    public int getMorphemeCount() {
+        return dictionaryCache.getMorphemeCount();
+    }
+
+    public int getWordCount() {
+        return dictionaryCache.getWordCount();
+    }
+
+    /**
+     * Incremented on every change to the dictionary made through this service.
+     */
+    public long getDictionaryVersion() {
+        return dictionaryCache.getVersion();
+    }
+
+    public DictionaryCache.Stats getDictionaryCacheStats() {
+        return dictionaryCache.getStats();
+    }
+
+    // Lists loaded from the image are views decoded on access; rows added since it was mapped are only in the database
+    private List<Morpheme> loadMorphemes() {
+        DictionaryImage image = getDictionaryImage();
+        return image != null && countAdded(true) == 0 ? image.morphemes() : List.copyOf(databaseManager.getAllMorphemes());
+    }
+
+    private List<Word> loadWords() {
+        DictionaryImage image = getDictionaryImage();
+        return image != null && countAdded(false) == 0 ? image.words() : List.copyOf(databaseManager.getAllWords());
+    }
+
+    private int countRows(boolean morphemes) {
+        DictionaryImage image = getDictionaryImage();
+        if (image != null) {
+            return (morphemes ? image.getMorphemeCount() : image.getWordCount()) + countAdded(morphemes);
+        }
+        return morphemes ? databaseManager.countMorphemes() : databaseManager.countWords();
+    }
+
+    private int countAdded(boolean morphemes) {
+        return morphemes ? addedMorphemeCount.get() : addedWords.size();
     }
 
     public Word validateWord(String wordText, List<Integer> morphemeIds) {
-        return databaseManager.validateWord(wordText, morphemeIds);
+        return validateWord(wordText, WordIndex.toArray(morphemeIds));
+    }
+
+    /**
+     * Validates a morpheme sequence against the dictionary image and the words added since it was mapped,
+     * or the in-memory {@link WordIndex} when there is no image, without touching the database.
+     */
+    public Word validateWord(String wordText, int @NotNull [] morphemeIds) {
+        DictionaryImage image = getDictionaryImage();
+        Word word;
+        if (image != null) {
+            word = image.findWord(morphemeIds, morphemeIds.length);
+            if (word == null || !word.text().equals(wordText)) {
+                word = addedWords.lookup(morphemeIds);
+            }
+        } else {
+            word = getWordIndex().lookup(morphemeIds);
+        }
+        if (word != null && word.text().equals(wordText)) {
+            return word;
+        }
+        return null;
+    }
+
+    public CompletableFuture<Word> validateWordAsync(String wordText, int @NotNull [] morphemeIds) {
+        return asyncExecutor.supply(() -> validateWord(wordText, morphemeIds));
+    }
+
+    /**
+     * Index of the word texts, built from the cached word list on first use, then kept up to date as words are added.
+     */
+    public synchronized WordIndex getWordIndex() {
+        if (wordIndex == null) {
+            wordIndex = WordIndex.build(dictionaryCache.getWords());
+        }
+        return wordIndex;
+    }
+
+    /**
+     * Index of the word texts and morpheme sequences for "did you mean" suggestions. Built from the cached
+     * word list on first use, then kept up to date as words are added.
+     */
+    public synchronized WordSuggester getWordSuggester() {
+        if (wordSuggester == null) {
+            wordSuggester = WordSuggester.build(dictionaryCache.getWords());
+        }
+        return wordSuggester;
+    }
+
+    /**
+     * Inverted index from morphemes to the words using them. Built from the cached lists on first use, then kept
+     * up to date as morphemes and words are added.
+     */
+    public synchronized MorphemeWordIndex getMorphemeWordIndex() {
+        if (morphemeWordIndex == null) {
+            morphemeWordIndex = MorphemeWordIndex.build(dictionaryCache.getMorphemes(), dictionaryCache.getWords());
+        }
+        return morphemeWordIndex;
+    }
+
+    /**
+     * Every use of the morpheme {@code morphemeId} in the dictionary, with its position in the word.
+     */
+    public List<MorphemeWordIndex.Occurrence> getMorphemeOccurrences(int morphemeId) {
+        return getMorphemeWordIndex().occurrencesOf(morphemeId);
+    }
+
+    public CompletableFuture<List<MorphemeWordIndex.Occurrence>> getMorphemeOccurrencesAsync(int morphemeId) {
+        return asyncExecutor.supply(() -> getMorphemeOccurrences(morphemeId));
+    }
+
+    /**
+     * Number of dictionary words using every morpheme of {@code morphemeIds}.
+     */
+    public int countWordsUsingAll(int @NotNull [] morphemeIds) {
+        return getMorphemeWordIndex().wordsUsingAll(morphemeIds).size();
+    }
+
+    public CompletableFuture<Integer> countWordsUsingAllAsync(int @NotNull [] morphemeIds) {
+        return asyncExecutor.supply(() -> countWordsUsingAll(morphemeIds));
+    }
+
+    /**
+     * What adding a word made of {@code morphemeIds} would change in the dictionary, before it is added.
+     */
+    public MorphemeWordIndex.Impact previewWord(@NotNull List<Integer> morphemeIds) {
+        return getMorphemeWordIndex().impactOf(WordIndex.toArray(morphemeIds));
+    }
+
+    public CompletableFuture<MorphemeWordIndex.Impact> previewWordAsync(@NotNull List<Integer> morphemeIds) {
+        return asyncExecutor.supply(() -> previewWord(morphemeIds));
+    }
+
+    /**
+     * Up to {@code limit} words close to a rejected attempt: those closest to its morpheme sequence first, then
+     * those closest to its text, without duplicates.
+     */
+    public List<WordSuggester.Suggestion> suggestWords(String wordText, int @NotNull [] morphemeIds, int limit) {
+        WordSuggester suggester = getWordSuggester();
+        Map<Integer, WordSuggester.Suggestion> suggestions = new LinkedHashMap<>();
+        for (WordSuggester.Suggestion suggestion : suggester.suggestSequences(morphemeIds, limit)) {
+            suggestions.putIfAbsent(suggestion.word().id(), suggestion);
+        }
+        for (WordSuggester.Suggestion suggestion : suggester.suggestWords(wordText, limit)) {
+            if (suggestions.size() == limit) {
+                break;
+            }
+            suggestions.putIfAbsent(suggestion.word().id(), suggestion);
+        }
+        return List.copyOf(suggestions.values());
+    }
+
+    public CompletableFuture<List<WordSuggester.Suggestion>> suggestWordsAsync(String wordText, int @NotNull [] morphemeIds, int limit) {
+        return asyncExecutor.supply(() -> suggestWords(wordText, morphemeIds, limit));
+    }
+
+    /**
+     * Trie of the dictionary for live feedback while a sequence is being built.
+     * Built from the cached word list on first use, then kept up to date as words are added.
+     */
+    public synchronized MorphemeTrie getMorphemeTrie() {
+        if (morphemeTrie == null) {
+            morphemeTrie = MorphemeTrie.build(dictionaryCache.getWords());
+        }
+        return morphemeTrie;
+    }
+
+    /**
+     * Radix tree of the normalized word texts, for prefix searches.
+     * Built from the cached word list on first use, then kept up to date as words are added.
+     */
+    public synchronized PrefixIndex getPrefixIndex() {
+        if (prefixIndex == null) {
+            prefixIndex = PrefixIndex.build(dictionaryCache.getWords());
+        }
+        return prefixIndex;
+    }
+
+    /**
+     * Tokens of the morpheme definitions, to check the definitions given in free build mode.
+     * Built from the cached morpheme list on first use; morphemes added later are tokenized when checked.
+     */
+    public synchronized DefinitionMatcher getDefinitionMatcher() {
+        if (definitionMatcher == null) {
+            definitionMatcher = DefinitionMatcher.build(dictionaryCache.getMorphemes());
+        }
+        return definitionMatcher;
+    }
+
+    /**
+     * Character trie of the morpheme texts, to split the text of a new word into morphemes.
+     * Built from the cached morpheme list on first use, then kept up to date as morphemes are added.
+     */
+    public synchronized MorphemeSegmenter getMorphemeSegmenter() {
+        if (morphemeSegmenter == null) {
+            morphemeSegmenter = MorphemeSegmenter.build(dictionaryCache.getMorphemes());
+        }
+        return morphemeSegmenter;
+    }
+
+    /**
+     * Up to {@code limit} ways of splitting {@code wordText} into known morphemes, fewest morphemes first.
+     */
+    public List<MorphemeSegmenter.Segmentation> segmentWord(@NotNull String wordText, int limit) {
+        return getMorphemeSegmenter().segment(wordText, limit);
+    }
+
+    public CompletableFuture<List<MorphemeSegmenter.Segmentation>> segmentWordAsync(@NotNull String wordText, int limit) {
+        return asyncExecutor.supply(() -> segmentWord(wordText, limit));
+    }
+
+    /**
+     * Snapshot of the morpheme to words index, to pick the morphemes of a board.
+     * Taken again once the dictionary has grown by a sixteenth: until then, boards only miss some of the
+     * newest words.
+     */
+    public synchronized BoardGenerator getBoardGenerator() {
+        MorphemeWordIndex index = getMorphemeWordIndex();
+        int wordCount = index.getWordCount();
+        if (boardGenerator == null || wordCount - boardGeneratorWords > boardGeneratorWords / 16) {
+            boardGenerator = new BoardGenerator(dictionaryCache.getMorphemes(), index.snapshot());
+            boardGeneratorWords = wordCount;
+        }
+        return boardGenerator;
+    }
+
+    /**
+     * Morphemes of a new board from which enough words of the dictionary can be built, as set by {@code config}.
+     */
+    public BoardGenerator.Board generateBoard(@NotNull BoardGenerator.Config config) {
+        return getBoardGenerator().generate(config);
+    }
+
+    public CompletableFuture<BoardGenerator.Board> generateBoardAsync(@NotNull BoardGenerator.Config config) {
+        return asyncExecutor.supply(() -> generateBoard(config));
+    }
+
+    /**
+     * @return the first morpheme whose definition is unrelated to {@code definition}, or null if it is related to all
+     */
+    public @Nullable Morpheme findUnrelatedMorpheme(@NotNull String definition, @NotNull List<Morpheme> morphemes) {
+        return getDefinitionMatcher().findUnrelated(definition, morphemes);
+    }
+
+    public CompletableFuture<Morpheme> findUnrelatedMorphemeAsync(@NotNull String definition, @NotNull List<Morpheme> morphemes) {
+        return asyncExecutor.supply(() -> findUnrelatedMorpheme(definition, morphemes));
+    }
+
+    /**
+     * Every dictionary word that can be built from {@code board}, using each board morpheme at most once.
+     */
+    public WordSolver.Solution solveBoard(@NotNull List<Morpheme> board) {
+        return new WordSolver(getMorphemeTrie()).solve(extractMorphemeIdArray(board));
+    }
+
+    public CompletableFuture<WordSolver.Solution> solveBoardAsync(@NotNull List<Morpheme> board) {
+        return asyncExecutor.supply(() -> solveBoard(board));
+    }
+
+    /**
+     * Maps the dictionary image, regenerating it first if it was built from another database content version.
+     * The version is checked once, on first use, which the warm-up in {@link ServiceFactory} makes happen at startup.
+     * The mapped image is then left as it is: later additions are served on the side, and the next start
+     * regenerates it.
+     *
+     * @return the image, or null if images are disabled, could not be written or were dropped by an import
+     */
+    public DictionaryImage getDictionaryImage() {
+        if (imagePath == null) {
+            return null;
+        }
+        synchronized (imageLock) {
+            if (!imageChecked) {
+                imageChecked = true;
+                dictionaryImage = mapDictionaryImage();
+            }
+            return dictionaryImage;
+        }
+    }
+
+    private @Nullable DictionaryImage mapDictionaryImage() {
+        String version = databaseManager.getDictionaryVersion();
+        if (version == null) {
+            return null;
+        }
+        try {
+            if (Files.exists(imagePath)) {
+                DictionaryImage existing = DictionaryImage.open(imagePath);
+                if (version.equals(existing.getContentVersion())) {
+                    return existing;
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Ignoring unreadable dictionary image: " + e.getMessage());
+        }
+        try {
+            DictionaryImage.write(imagePath, version, databaseManager.getAllMorphemes(), databaseManager.getAllWords());
+            return DictionaryImage.open(imagePath);
+        } catch (IOException e) {
+            System.err.println("Could not write the dictionary image, reading from the database instead");
+            e.printStackTrace();
+            return null;
+        }
     }
 
     public void recordPlayerWord(int userId, int wordId) {
-        databaseManager.addPlayerWord(userId, wordId);
+        progressQueue.recordWord(userId, wordId);
+    }
+
+    public Morpheme addMorpheme(String text, String definition) {
+        Morpheme morpheme = databaseManager.addMorpheme(text, definition);
+        if (morpheme != null) {
+            indexMorphemes(List.of(morpheme));
+        }
+        return morpheme;
+    }
+
+    public Word addWord(String text, List<Integer> morphemeIds, int points, String definition) {
+        Word word = databaseManager.addWord(text, morphemeIds, points, definition);
+        if (word != null) {
+            indexWords(List.of(word));
+        }
+        return word;
+    }
+
+    public CompletableFuture<Morpheme> addMorphemeAsync(String text, String definition) {
+        return asyncExecutor.supply(() -> addMorpheme(text, definition));
+    }
+
+    public CompletableFuture<Word> addWordAsync(String text, List<Integer> morphemeIds, int points, String definition) {
+        return asyncExecutor.supply(() -> addWord(text, morphemeIds, points, definition));
     }
 
-    public void addMorpheme(String text, String definition) {
-        databaseManager.addMorpheme(text, definition);
+    /**
+     * Writes an import chunk in one transaction and indexes the words it added.
+     *
+     * @return the inserted rows, or null if the chunk was rolled back
+     */
+    public DatabaseManager.DictionaryChunk addDictionaryChunk(List<Morpheme> morphemes,
+                                                              Function<List<Morpheme>, List<Word>> resolveWords) {
+        DatabaseManager.DictionaryChunk chunk = databaseManager.addDictionaryChunk(morphemes, resolveWords);
+        if (chunk != null) {
+            indexMorphemes(chunk.morphemes());
+            indexWords(chunk.words());
+        }
+        return chunk;
     }
 
-    public void addWord(String text, List<Integer> morphemeIds, int points, String definition) {
-        databaseManager.addWord(text, morphemeIds, points, definition);
+    public DictionarySnapshot.Summary exportSnapshot(Path file) throws IOException {
+        return databaseManager.exportSnapshot(file);
     }
 
+    /**
+     * Replaces the dictionary with a snapshot. The word index, if built, is reloaded from the same file, the
+     * other indexes are rebuilt on next use, and the dictionary is read from the database until the next start.
+     *
+     * @return what was imported, or null if the database was left unchanged
+     */
+    public DictionarySnapshot.Summary importSnapshot(Path file) throws IOException {
+        // Words queued with the old IDs must not be written against the imported ones
+        DictionarySnapshot.Summary summary = progressQueue.replaceWords(() -> databaseManager.importSnapshot(file));
+        if (summary != null) {
+            // The image holds the old dictionary, so it is dropped before the lists can be reloaded from it;
+            // it is regenerated on the next start
+            synchronized (imageLock) {
+                dictionaryImage = null;
+                imageChecked = true;
+            }
+            synchronized (this) {
+                if (wordIndex != null) {
+                    wordIndex = WordIndex.load(file);
+                }
+                wordSuggester = null;
+                morphemeWordIndex = null;
+                morphemeTrie = null;
+                prefixIndex = null;
+                definitionMatcher = null;
+                morphemeSegmenter = null;
+                boardGenerator = null;
+                dictionaryCache.invalidate();
+            }
+        }
+        return summary;
+    }
+
+    /**
+     * Adds new morphemes to the cached list, and to the indexes built from it; otherwise they will load them on
+     * first use. Both happen under the monitor, so an index cannot be built from the list in between.
+     */
+    private synchronized void indexMorphemes(@NotNull List<Morpheme> added) {
+        addedMorphemeCount.addAndGet(added.size());
+        List<Morpheme> morphemes = dictionaryCache.morphemesAdded(added);
+        if (morphemeWordIndex != null) {
+            for (Morpheme morpheme : morphemes) {
+                morphemeWordIndex.addMorpheme(morpheme.id());
+            }
+        }
+        if (morphemeSegmenter != null) {
+            for (Morpheme morpheme : morphemes) {
+                morphemeSegmenter.add(morpheme);
+            }
+        }
+    }
+
+    /**
+     * Adds new words to the cached list, and to the indexes built from it; otherwise they will load them on
+     * first use.
+     */
+    private synchronized void indexWords(@NotNull List<Word> added) {
+        for (Word word : added) {
+            addedWords.add(word);
+        }
+        List<Word> words = dictionaryCache.wordsAdded(added);
+        if (wordIndex != null) {
+            for (Word word : words) {
+                wordIndex.add(word);
+            }
+        }
+        if (morphemeTrie != null) {
+            for (Word word : words) {
+                morphemeTrie.add(word);
+            }
+        }
+        if (prefixIndex != null) {
+            for (Word word : words) {
+                prefixIndex.add(word);
+            }
+        }
+        if (wordSuggester != null) {
+            for (Word word : words) {
+                wordSuggester.add(word);
+            }
+        }
+        if (morphemeWordIndex != null) {
+            for (Word word : words) {
+                morphemeWordIndex.add(word);
+            }
+        }
+    }
+
+    public Set<String> getAllWordTexts() {
+        return databaseManager.getAllWordTexts();
+    }
 
     public String constructWordText(@NotNull List<Morpheme> selectedMorphemes) {
         StringBuilder wordText = new StringBuilder();
@@ -52,5 +541,13 @@ public class GameService {
             .map(Morpheme::getId)
             .toList();
     }
+
+    public int[] extractMorphemeIdArray(@NotNull List<Morpheme> morphemes) {
+        int[] ids = new int[morphemes.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = morphemes.get(i).id();
+        }
+        return ids;
+    }
 }
 
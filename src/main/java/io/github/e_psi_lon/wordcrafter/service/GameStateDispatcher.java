@@ -0,0 +1,132 @@
+package io.github.e_psi_lon.wordcrafter.service;
+
+import io.github.e_psi_lon.wordcrafter.service.GameStateManager.GameStateBatch;
+import io.github.e_psi_lon.wordcrafter.service.GameStateManager.GameStateEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+/**
+ * Delivers the game state events to the listeners, in order.
+ * <p>
+ * Listeners may be added or removed while an event is being delivered, even by the listener receiving it;
+ * the change applies from the next batch.
+ * <p>
+ * Without a batch executor, every event is delivered as soon as it is dispatched. With one, selection
+ * and score events are held and delivered together by a single task run on that executor, so a burst
+ * of clicks is handled once. Any other event flushes the held ones and is delivered with them right away.
+ */
+public class GameStateDispatcher {
+    private final CopyOnWriteArrayList<GameStateListener> listeners = new CopyOnWriteArrayList<>();
+    private final Runnable flushTask = this::flush;
+
+    // Guarded by this
+    private Executor batchExecutor;
+    private List<GameStateEvent> pending = new ArrayList<>();
+    private long pendingSince;
+    private boolean flushScheduled;
+
+    private long dispatchedEvents;
+    private long deliveredBatches;
+    private long totalLatencyNanos;
+    private long maxLatencyNanos;
+    private long totalHandlingNanos;
+
+    /**
+     * Events and batches delivered, with the time from the first event of a batch to its delivery and the
+     * time spent in the listeners, in microseconds.
+     */
+    public record Stats(long events, long batches, double averageLatencyMicros, double maxLatencyMicros,
+                        double averageHandlingMicros) {}
+
+    public void addListener(@NotNull GameStateListener listener) {
+        listeners.addIfAbsent(listener);
+    }
+
+    public void removeListener(@NotNull GameStateListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @param executor runs the delivery of held events, once per batch; it must not run the task in the
+     *                 calling thread. Null delivers every event immediately.
+     */
+    public void setBatchExecutor(@Nullable Executor executor) {
+        synchronized (this) {
+            batchExecutor = executor;
+        }
+        flush();
+    }
+
+    public void dispatch(@NotNull GameStateEvent event) {
+        boolean deliverNow;
+        Executor executor;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                pendingSince = System.nanoTime();
+            }
+            pending.add(event);
+            dispatchedEvents++;
+            executor = batchExecutor;
+            deliverNow = executor == null || !isCoalescable(event.type());
+            if (!deliverNow && flushScheduled) {
+                return;
+            }
+            flushScheduled = !deliverNow;
+        }
+        if (deliverNow) {
+            flush();
+        } else {
+            executor.execute(flushTask);
+        }
+    }
+
+    /**
+     * Delivers the held events now.
+     */
+    public void flush() {
+        List<GameStateEvent> events;
+        long since;
+        synchronized (this) {
+            flushScheduled = false;
+            if (pending.isEmpty()) {
+                return;
+            }
+            events = pending;
+            since = pendingSince;
+            pending = new ArrayList<>();
+        }
+
+        long start = System.nanoTime();
+        GameStateBatch batch = new GameStateBatch(Collections.unmodifiableList(events));
+        for (GameStateListener listener : listeners) {
+            listener.onGameStateBatch(batch);
+        }
+        long end = System.nanoTime();
+
+        synchronized (this) {
+            deliveredBatches++;
+            totalLatencyNanos += start - since;
+            maxLatencyNanos = Math.max(maxLatencyNanos, start - since);
+            totalHandlingNanos += end - start;
+        }
+    }
+
+    public synchronized @NotNull Stats getStats() {
+        double batches = Math.max(1, deliveredBatches);
+        return new Stats(dispatchedEvents, deliveredBatches, totalLatencyNanos / 1_000.0 / batches,
+                maxLatencyNanos / 1_000.0, totalHandlingNanos / 1_000.0 / batches);
+    }
+
+    private static boolean isCoalescable(@NotNull GameStateEvent.Type type) {
+        return switch (type) {
+            case MORPHEME_SELECTED, MORPHEME_DESELECTED, SCORE_UPDATED -> true;
+            default -> false;
+        };
+    }
+}
@@ -2,5 +2,14 @@ package io.github.e_psi_lon.wordcrafter.service;
 
 public interface GameStateListener {
     void onGameStateChanged(GameStateManager.GameStateEvent event);
-}
 
+    /**
+     * Receives the events delivered together. Override to handle a burst of changes at once;
+     * by default each event is passed to {@link #onGameStateChanged}.
+     */
+    default void onGameStateBatch(GameStateManager.GameStateBatch batch) {
+        for (GameStateManager.GameStateEvent event : batch.events()) {
+            onGameStateChanged(event);
+        }
+    }
+}
@@ -4,61 +4,148 @@ import io.github.e_psi_lon.wordcrafter.model.Morpheme;
 import io.github.e_psi_lon.wordcrafter.model.Player;
 import io.github.e_psi_lon.wordcrafter.model.Word;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.Executor;
 
 public class GameStateManager {
+    private static final int INITIAL_SELECTION_CAPACITY = 8;
+    private static final GameStateEvent SELECTION_CLEARED_EVENT = new GameStateEvent(GameStateEvent.Type.SELECTION_CLEARED, null);
+
     private Player currentPlayer;
-    private final List<Morpheme> selectedMorphemes;
+    // Selection in click order, plus a bitset of the selected IDs for constant time membership checks
+    private int[] selectedIds = new int[INITIAL_SELECTION_CAPACITY];
+    private Morpheme[] selectedMorphemes = new Morpheme[INITIAL_SELECTION_CAPACITY];
+    private int selectionSize;
+    private long[] selectedBits = new long[1];
+    private final SelectionView selectionView = new SelectionView();
     private final List<Word> constructedWords;
-    private final List<GameStateListener> listeners;
+    private final GameStateDispatcher dispatcher = new GameStateDispatcher();
     private int currentScore;
 
     public GameStateManager(@NotNull Player player) {
         this.currentPlayer = player;
-        this.selectedMorphemes = new ArrayList<>();
         this.constructedWords = new ArrayList<>();
-        this.listeners = new ArrayList<>();
         this.currentScore = player.getScore();
     }
 
     public void addListener(GameStateListener listener) {
-        if (!listeners.contains(listener)) {
-            listeners.add(listener);
-        }
+        dispatcher.addListener(listener);
     }
 
     public void removeListener(GameStateListener listener) {
-        listeners.remove(listener);
+        dispatcher.removeListener(listener);
+    }
+
+    /**
+     * Holds selection and score events until {@code executor} runs, to deliver them as one batch.
+     * The UI passes {@code SwingUtilities::invokeLater}, so listeners are notified once per event loop pass.
+     */
+    public void setBatchExecutor(@Nullable Executor executor) {
+        dispatcher.setBatchExecutor(executor);
+    }
+
+    public GameStateDispatcher.Stats getDispatchStats() {
+        return dispatcher.getStats();
     }
 
     private void notifyListeners(GameStateEvent event) {
-        for (GameStateListener listener : listeners) {
-            listener.onGameStateChanged(event);
-        }
+        dispatcher.dispatch(event);
     }
 
+    /**
+     * Selects the morpheme, or deselects it if a morpheme with the same ID is already selected.
+     */
     public void toggleMorphemeSelection(Morpheme morpheme) {
-        if (selectedMorphemes.contains(morpheme)) {
-            selectedMorphemes.remove(morpheme);
-            notifyListeners(new GameStateEvent(GameStateEvent.Type.MORPHEME_DESELECTED, morpheme));
+        if (isMorphemeSelected(morpheme.id())) {
+            Morpheme removed = removeFromSelection(morpheme.id());
+            notifyListeners(new GameStateEvent(GameStateEvent.Type.MORPHEME_DESELECTED, removed));
         } else {
-            selectedMorphemes.add(morpheme);
+            addToSelection(morpheme);
             notifyListeners(new GameStateEvent(GameStateEvent.Type.MORPHEME_SELECTED, morpheme));
         }
     }
 
     public boolean isMorphemeSelected(Morpheme morpheme) {
-        return selectedMorphemes.contains(morpheme);
+        return isMorphemeSelected(morpheme.id());
+    }
+
+    public boolean isMorphemeSelected(int morphemeId) {
+        if (morphemeId < 0) {
+            return indexInSelection(morphemeId) >= 0;
+        }
+        int word = morphemeId >>> 6;
+        return word < selectedBits.length && (selectedBits[word] & (1L << morphemeId)) != 0;
     }
 
+    /**
+     * Read-only view of the selection in click order. The view follows the selection as it changes,
+     * copy it to keep a snapshot.
+     */
     public List<Morpheme> getSelectedMorphemes() {
-        return new ArrayList<>(selectedMorphemes);
+        return selectionView;
+    }
+
+    public int getSelectionSize() {
+        return selectionSize;
+    }
+
+    /**
+     * IDs of the selected morphemes in click order, as a new array.
+     */
+    public int[] getSelectedMorphemeIds() {
+        return Arrays.copyOf(selectedIds, selectionSize);
     }
 
     public void clearSelection() {
-        selectedMorphemes.clear();
-        notifyListeners(new GameStateEvent(GameStateEvent.Type.SELECTION_CLEARED, null));
+        Arrays.fill(selectedMorphemes, 0, selectionSize, null);
+        Arrays.fill(selectedBits, 0L);
+        selectionSize = 0;
+        selectionView.changed();
+        notifyListeners(SELECTION_CLEARED_EVENT);
+    }
+
+    private void addToSelection(@NotNull Morpheme morpheme) {
+        if (selectionSize == selectedIds.length) {
+            selectedIds = Arrays.copyOf(selectedIds, selectionSize * 2);
+            selectedMorphemes = Arrays.copyOf(selectedMorphemes, selectionSize * 2);
+        }
+        selectedIds[selectionSize] = morpheme.id();
+        selectedMorphemes[selectionSize] = morpheme;
+        selectionSize++;
+        int id = morpheme.id();
+        if (id >= 0) {
+            int word = id >>> 6;
+            if (word >= selectedBits.length) {
+                selectedBits = Arrays.copyOf(selectedBits, Math.max(word + 1, selectedBits.length * 2));
+            }
+            selectedBits[word] |= 1L << id;
+        }
+        selectionView.changed();
+    }
+
+    private @NotNull Morpheme removeFromSelection(int morphemeId) {
+        int index = indexInSelection(morphemeId);
+        Morpheme removed = selectedMorphemes[index];
+        int moved = selectionSize - index - 1;
+        System.arraycopy(selectedIds, index + 1, selectedIds, index, moved);
+        System.arraycopy(selectedMorphemes, index + 1, selectedMorphemes, index, moved);
+        selectedMorphemes[--selectionSize] = null;
+        if (morphemeId >= 0) {
+            selectedBits[morphemeId >>> 6] &= ~(1L << morphemeId);
+        }
+        selectionView.changed();
+        return removed;
+    }
+
+    private int indexInSelection(int morphemeId) {
+        for (int i = 0; i < selectionSize; i++) {
+            if (selectedIds[i] == morphemeId) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     public void recordConstructedWord(Word word) {
@@ -90,6 +177,70 @@ public class GameStateManager {
         }
     }
 
+    private final class SelectionView extends AbstractList<Morpheme> implements RandomAccess {
+        @Override
+        public Morpheme get(int index) {
+            Objects.checkIndex(index, selectionSize);
+            return selectedMorphemes[index];
+        }
+
+        @Override
+        public int size() {
+            return selectionSize;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Morpheme morpheme && isMorphemeSelected(morpheme.id());
+        }
+
+        /**
+         * Makes iterators opened before the change fail fast.
+         */
+        void changed() {
+            modCount++;
+        }
+    }
+
+    /**
+     * Events delivered together, in the order they happened.
+     */
+    public record GameStateBatch(List<GameStateEvent> events) {
+        public boolean contains(GameStateEvent.Type type) {
+            for (GameStateEvent event : events) {
+                if (event.type() == type) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public boolean changesSelection() {
+            return contains(GameStateEvent.Type.MORPHEME_SELECTED) || contains(GameStateEvent.Type.MORPHEME_DESELECTED)
+                    || contains(GameStateEvent.Type.SELECTION_CLEARED) || contains(GameStateEvent.Type.ROUND_RESET);
+        }
+
+        /**
+         * The morphemes added to the end of the selection, in order, when that is all the batch did to it.
+         *
+         * @return the added morphemes, or null if morphemes were also removed
+         */
+        public @Nullable List<Morpheme> appendedMorphemes() {
+            List<Morpheme> appended = new ArrayList<>();
+            for (GameStateEvent event : events) {
+                switch (event.type()) {
+                    case MORPHEME_SELECTED -> appended.add((Morpheme) event.data());
+                    case MORPHEME_DESELECTED, SELECTION_CLEARED, ROUND_RESET -> {
+                        return null;
+                    }
+                    default -> {
+                    }
+                }
+            }
+            return appended;
+        }
+    }
+
     public record GameStateEvent(Type type, Object data) {
         public enum Type {
             MORPHEME_SELECTED,
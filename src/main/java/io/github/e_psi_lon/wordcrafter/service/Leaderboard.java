@@ -0,0 +1,350 @@
+package io.github.e_psi_lon.wordcrafter.service;
+
+import io.github.e_psi_lon.wordcrafter.model.PlayerStanding;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+/**
+ * In-memory ranking of the players by score.
+ * <p>
+ * Players are kept in a treap ordered by descending score then ascending ID, where every node
+ * knows the size of its subtree. Finding the rank of a player, the player at a given rank or the
+ * players around someone walks a single root-to-leaf path, in O(log n) expected. Score changes
+ * are applied incrementally; the whole ranking is only loaded from the database on first use and
+ * after {@link #invalidate()}.
+ * <p>
+ * Players with the same score share the same rank.
+ */
+public class Leaderboard {
+    private final Supplier<List<PlayerStanding>> loader;
+    private final SplittableRandom random = new SplittableRandom();
+
+    // Guarded by this
+    private final Map<Integer, Node> nodes = new HashMap<>();
+    private Node root;
+    private boolean loaded;
+
+    /**
+     * A player and its rank, starting at 1.
+     */
+    public record Entry(int rank, int userId, String username, int score) {}
+
+    /**
+     * The entries around a player, see {@link #getAround}, and the number of ranked players, read together.
+     */
+    public record Standing(List<Entry> around, int playerCount) {}
+
+    /**
+     * @param loader returns the current standings of every player, read when the leaderboard is (re)loaded
+     */
+    public Leaderboard(@NotNull Supplier<List<PlayerStanding>> loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Replaces the whole ranking with the standings returned by the loader.
+     */
+    public synchronized void reload() {
+        nodes.clear();
+        root = null;
+        for (PlayerStanding standing : loader.get()) {
+            insert(new Node(standing.userId(), standing.username(), standing.score(), random.nextInt()));
+        }
+        loaded = true;
+    }
+
+    /**
+     * Drops the ranking, so it is reloaded on next use. For changes the leaderboard cannot apply by itself.
+     */
+    public synchronized void invalidate() {
+        nodes.clear();
+        root = null;
+        loaded = false;
+    }
+
+    /**
+     * Ranks a newly registered player with a score of 0.
+     */
+    public synchronized void addPlayer(int userId, @NotNull String username) {
+        if (loaded && !nodes.containsKey(userId)) {
+            insert(new Node(userId, username, 0, random.nextInt()));
+        }
+    }
+
+    public synchronized void addScore(int userId, @NotNull String username, int points) {
+        if (!loaded) {
+            return;
+        }
+        Node node = nodes.get(userId);
+        if (node == null) {
+            // A player registered since the last load, who started at 0
+            node = new Node(userId, username, 0, random.nextInt());
+            nodes.put(userId, node);
+        } else {
+            root = remove(root, node);
+        }
+        node.score += points;
+        node.left = null;
+        node.right = null;
+        node.size = 1;
+        root = insertAt(root, node);
+    }
+
+    public synchronized void rename(int userId, @NotNull String username) {
+        Node node = nodes.get(userId);
+        if (node != null) {
+            node.username = username;
+        }
+    }
+
+    public synchronized void removePlayer(int userId) {
+        Node node = nodes.remove(userId);
+        if (node != null) {
+            root = remove(root, node);
+        }
+    }
+
+    public synchronized int getPlayerCount() {
+        ensureLoaded();
+        return size(root);
+    }
+
+    /**
+     * The {@code count} best players.
+     */
+    public synchronized @NotNull List<Entry> getTop(int count) {
+        ensureLoaded();
+        return range(0, count);
+    }
+
+    /**
+     * @return the entry of the player, or null if they are not ranked
+     */
+    public synchronized @Nullable Entry getEntry(int userId) {
+        ensureLoaded();
+        Node node = nodes.get(userId);
+        return node == null ? null : new Entry(sharedRank(node.score), node.userId, node.username, node.score);
+    }
+
+    /**
+     * The player with up to {@code radius} players ranked just before and just after them, in ranking order.
+     */
+    public synchronized @NotNull List<Entry> getAround(int userId, int radius) {
+        ensureLoaded();
+        Node node = nodes.get(userId);
+        if (node == null) {
+            return List.of();
+        }
+        int position = position(node);
+        int from = Math.max(0, position - radius);
+        return range(from, position - from + radius + 1);
+    }
+
+    public synchronized @NotNull Standing getStanding(int userId, int radius) {
+        return new Standing(getAround(userId, radius), getPlayerCount());
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            reload();
+        }
+    }
+
+    /**
+     * Entries at positions {@code [from, from + count)}, walking the tree in order from the first one.
+     */
+    private @NotNull List<Entry> range(int from, int count) {
+        List<Entry> entries = new ArrayList<>(Math.max(0, Math.min(count, size(root) - from)));
+        Deque<Node> pending = new ArrayDeque<>();
+        Node current = root;
+        int index = from;
+        while (current != null) {
+            int leftSize = size(current.left);
+            if (index < leftSize) {
+                pending.push(current);
+                current = current.left;
+            } else if (index == leftSize) {
+                pending.push(current);
+                break;
+            } else {
+                index -= leftSize + 1;
+                current = current.right;
+            }
+        }
+
+        int position = from;
+        int rank = 0;
+        int previousScore = 0;
+        while (!pending.isEmpty() && entries.size() < count) {
+            Node node = pending.pop();
+            if (entries.isEmpty()) {
+                rank = sharedRank(node.score);
+            } else if (node.score != previousScore) {
+                rank = position + 1;
+            }
+            entries.add(new Entry(rank, node.userId, node.username, node.score));
+            previousScore = node.score;
+            position++;
+            for (Node child = node.right; child != null; child = child.left) {
+                pending.push(child);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * 1 + the number of players with a strictly higher score.
+     */
+    private int sharedRank(int score) {
+        int higher = 0;
+        Node current = root;
+        while (current != null) {
+            if (current.score > score) {
+                higher += size(current.left) + 1;
+                current = current.right;
+            } else {
+                current = current.left;
+            }
+        }
+        return higher + 1;
+    }
+
+    /**
+     * Zero-based position of {@code node} in the ranking.
+     */
+    private int position(@NotNull Node node) {
+        int position = 0;
+        Node current = root;
+        while (current != node) {
+            if (before(node, current)) {
+                current = current.left;
+            } else {
+                position += size(current.left) + 1;
+                current = current.right;
+            }
+        }
+        return position + size(node.left);
+    }
+
+    private void insert(@NotNull Node node) {
+        Node previous = nodes.put(node.userId, node);
+        if (previous != null) {
+            root = remove(root, previous);
+        }
+        root = insertAt(root, node);
+    }
+
+    private @NotNull Node insertAt(@Nullable Node tree, @NotNull Node node) {
+        if (tree == null) {
+            return node;
+        }
+        if (node.priority > tree.priority) {
+            split(tree, node);
+            update(node);
+            return node;
+        }
+        if (before(node, tree)) {
+            tree.left = insertAt(tree.left, node);
+        } else {
+            tree.right = insertAt(tree.right, node);
+        }
+        update(tree);
+        return tree;
+    }
+
+    /**
+     * Splits {@code tree} into the nodes ranked before {@code pivot} and those after it, stored as its children.
+     */
+    private void split(@Nullable Node tree, @NotNull Node pivot) {
+        Node before = null;
+        Node after = null;
+        if (tree != null) {
+            if (before(tree, pivot)) {
+                split(tree.right, pivot);
+                tree.right = pivot.left;
+                update(tree);
+                before = tree;
+                after = pivot.right;
+            } else {
+                split(tree.left, pivot);
+                tree.left = pivot.right;
+                update(tree);
+                before = pivot.left;
+                after = tree;
+            }
+        }
+        pivot.left = before;
+        pivot.right = after;
+    }
+
+    private @Nullable Node remove(@Nullable Node tree, @NotNull Node node) {
+        if (tree == null) {
+            return null;
+        }
+        if (tree == node) {
+            return merge(tree.left, tree.right);
+        }
+        if (before(node, tree)) {
+            tree.left = remove(tree.left, node);
+        } else {
+            tree.right = remove(tree.right, node);
+        }
+        update(tree);
+        return tree;
+    }
+
+    private @Nullable Node merge(@Nullable Node first, @Nullable Node second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            update(first);
+            return first;
+        }
+        second.left = merge(first, second.left);
+        update(second);
+        return second;
+    }
+
+    private static boolean before(@NotNull Node a, @NotNull Node b) {
+        return a.score != b.score ? a.score > b.score : a.userId < b.userId;
+    }
+
+    private static int size(@Nullable Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void update(@NotNull Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static final class Node {
+        final int userId;
+        final int priority;
+        String username;
+        int score;
+        int size = 1;
+        Node left;
+        Node right;
+
+        Node(int userId, String username, int score, int priority) {
+            this.userId = userId;
+            this.username = username;
+            this.score = score;
+            this.priority = priority;
+        }
+    }
+}
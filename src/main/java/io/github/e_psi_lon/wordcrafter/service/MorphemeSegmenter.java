@@ -0,0 +1,294 @@
+package io.github.e_psi_lon.wordcrafter.service;
+
+import io.github.e_psi_lon.wordcrafter.model.Morpheme;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Splits word texts into known morphemes, the way the game rebuilds a word by putting the texts of its morphemes
+ * one after the other.
+ * <p>
+ * Morpheme texts are kept in a character trie whose edges live in an open-addressing table keyed by
+ * {@code (parent, character)}, like in {@link MorphemeTrie}. A dynamic programming pass from the end of the word
+ * walks the trie from every position and records the fewest and the most morphemes the rest of the word can be
+ * split into. Segmentations are then listed with the fewest morphemes first, only following the splits whose rest
+ * can still be split into the number of morphemes left. Morphemes sharing the same text give one segmentation each.
+ * <p>
+ * Morphemes can be added after the build; an addition waits for the segmentations in progress.
+ */
+public class MorphemeSegmenter {
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+    private static final int UNREACHABLE = -1;
+    // Texts per task when segmenting a batch on the fork-join pool
+    private static final int BATCH_THRESHOLD = 256;
+    private static final Morpheme[] NO_MORPHEMES = new Morpheme[0];
+
+    private final ForkJoinPool pool;
+    private Morpheme[][] morphemesAt = new Morpheme[16][];  // morphemes spelled by the path to each node
+    private int nodeCount = 1;
+    private long[] edgeKeys = new long[32];
+    private int[] edgeChildren = new int[32];  // 0 marks an empty slot, the root is never a child
+    private int edgeCount;
+    private int morphemeCount;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Morphemes whose texts, one after the other, spell a word.
+     */
+    public record Segmentation(List<Morpheme> morphemes) {
+        public @NotNull List<Integer> morphemeIds() {
+            List<Integer> ids = new ArrayList<>(morphemes.size());
+            for (Morpheme morpheme : morphemes) {
+                ids.add(morpheme.id());
+            }
+            return ids;
+        }
+    }
+
+    private MorphemeSegmenter(@NotNull ForkJoinPool pool) {
+        this.pool = pool;
+        morphemesAt[ROOT] = NO_MORPHEMES;
+    }
+
+    public static @NotNull MorphemeSegmenter build(@NotNull List<Morpheme> morphemes) {
+        return build(morphemes, ForkJoinPool.commonPool());
+    }
+
+    public static @NotNull MorphemeSegmenter build(@NotNull List<Morpheme> morphemes, @NotNull ForkJoinPool pool) {
+        MorphemeSegmenter segmenter = new MorphemeSegmenter(pool);
+        for (Morpheme morpheme : morphemes) {
+            segmenter.add(morpheme);
+        }
+        return segmenter;
+    }
+
+    public void add(@NotNull Morpheme morpheme) {
+        String text = morpheme.text();
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int node = ROOT;
+            for (int i = 0; i < text.length(); i++) {
+                node = childOrCreate(node, text.charAt(i));
+            }
+            Morpheme[] existing = morphemesAt[node];
+            Morpheme[] updated = Arrays.copyOf(existing, existing.length + 1);
+            updated[existing.length] = morpheme;
+            morphemesAt[node] = updated;
+            morphemeCount++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int getMorphemeCount() {
+        lock.readLock().lock();
+        try {
+            return morphemeCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} ways of splitting {@code text} into morphemes, fewest morphemes first.
+     */
+    public @NotNull List<Segmentation> segment(@NotNull String text, int limit) {
+        String word = text.trim();
+        if (word.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return segmentTrimmed(word, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private @NotNull List<Segmentation> segmentTrimmed(@NotNull String word, int limit) {
+        int length = word.length();
+        // Fewest and most morphemes the text from each position can be split into
+        int[] fewest = new int[length + 1];
+        int[] most = new int[length + 1];
+        Arrays.fill(fewest, UNREACHABLE);
+        Arrays.fill(most, UNREACHABLE);
+        fewest[length] = 0;
+        most[length] = 0;
+        for (int start = length - 1; start >= 0; start--) {
+            int node = ROOT;
+            for (int end = start; end < length; end++) {
+                node = child(node, word.charAt(end));
+                if (node == NONE) {
+                    break;
+                }
+                if (morphemesAt[node].length > 0 && fewest[end + 1] != UNREACHABLE) {
+                    fewest[start] = fewest[start] == UNREACHABLE ? fewest[end + 1] + 1 : Math.min(fewest[start], fewest[end + 1] + 1);
+                    most[start] = Math.max(most[start], most[end + 1] + 1);
+                }
+            }
+        }
+        if (fewest[0] == UNREACHABLE) {
+            return List.of();
+        }
+
+        List<Segmentation> segmentations = new ArrayList<>();
+        Morpheme[] path = new Morpheme[most[0]];
+        for (int count = fewest[0]; count <= most[0] && segmentations.size() < limit; count++) {
+            collect(word, 0, 0, count, fewest, most, path, segmentations, limit);
+        }
+        return segmentations;
+    }
+
+    /**
+     * @return the segmentation with the fewest morphemes, or null if the text cannot be split into known morphemes
+     */
+    public @Nullable Segmentation best(@NotNull String text) {
+        List<Segmentation> segmentations = segment(text, 1);
+        return segmentations.isEmpty() ? null : segmentations.getFirst();
+    }
+
+    /**
+     * The {@link #best} segmentation of every text, computed in parallel on the fork-join pool.
+     *
+     * @return one segmentation per text, in the same order, null where a text cannot be split
+     */
+    public @NotNull List<Segmentation> bestOfEach(@NotNull List<String> texts) {
+        Segmentation[] results = new Segmentation[texts.size()];
+        pool.invoke(new BatchTask(texts, results, 0, texts.size()));
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Extends {@code path}, which holds {@code depth} morphemes spelling the text up to {@code start}, with the
+     * splits of the rest that make exactly {@code count} morphemes in all. Longer morphemes are tried first.
+     */
+    private void collect(@NotNull String word, int start, int depth, int count, int[] fewest, int[] most,
+                         Morpheme @NotNull [] path, @NotNull List<Segmentation> segmentations, int limit) {
+        if (start == word.length()) {
+            segmentations.add(new Segmentation(List.of(Arrays.copyOf(path, depth))));
+            return;
+        }
+        int left = count - depth - 1;
+        int[] ends = new int[word.length() - start];
+        int[] nodes = new int[ends.length];
+        int found = 0;
+        int node = ROOT;
+        for (int end = start; end < word.length(); end++) {
+            node = child(node, word.charAt(end));
+            if (node == NONE) {
+                break;
+            }
+            int rest = end + 1;
+            if (morphemesAt[node].length > 0 && fewest[rest] != UNREACHABLE && fewest[rest] <= left && left <= most[rest]) {
+                ends[found] = rest;
+                nodes[found++] = node;
+            }
+        }
+        for (int i = found - 1; i >= 0; i--) {
+            for (Morpheme morpheme : morphemesAt[nodes[i]]) {
+                path[depth] = morpheme;
+                collect(word, ends[i], depth + 1, count, fewest, most, path, segmentations, limit);
+                if (segmentations.size() == limit) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private int child(int node, char c) {
+        long key = edgeKey(node, c);
+        int mask = edgeKeys.length - 1;
+        for (int slot = slot(key, mask); edgeChildren[slot] != 0; slot = (slot + 1) & mask) {
+            if (edgeKeys[slot] == key) {
+                return edgeChildren[slot];
+            }
+        }
+        return NONE;
+    }
+
+    private int childOrCreate(int node, char c) {
+        int existing = child(node, c);
+        if (existing != NONE) {
+            return existing;
+        }
+        if (nodeCount == morphemesAt.length) {
+            morphemesAt = Arrays.copyOf(morphemesAt, nodeCount * 2);
+        }
+        int created = nodeCount++;
+        morphemesAt[created] = NO_MORPHEMES;
+        if ((edgeCount + 1) * 2 > edgeKeys.length) {
+            growEdges();
+        }
+        insertEdge(edgeKey(node, c), created);
+        edgeCount++;
+        return created;
+    }
+
+    private void growEdges() {
+        long[] oldKeys = edgeKeys;
+        int[] oldChildren = edgeChildren;
+        edgeKeys = new long[oldKeys.length * 2];
+        edgeChildren = new int[oldChildren.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldChildren[i] != 0) {
+                insertEdge(oldKeys[i], oldChildren[i]);
+            }
+        }
+    }
+
+    private void insertEdge(long key, int child) {
+        int mask = edgeKeys.length - 1;
+        int slot = slot(key, mask);
+        while (edgeChildren[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        edgeKeys[slot] = key;
+        edgeChildren[slot] = child;
+    }
+
+    private static long edgeKey(int node, char c) {
+        return (long) node << 16 | c;
+    }
+
+    private static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ h >>> 32) & mask;
+    }
+
+    private final class BatchTask extends RecursiveAction {
+        private final List<String> texts;
+        private final Segmentation[] results;
+        private final int from;
+        private final int to;
+
+        BatchTask(List<String> texts, Segmentation[] results, int from, int to) {
+            this.texts = texts;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BATCH_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    results[i] = best(texts.get(i));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new BatchTask(texts, results, from, middle), new BatchTask(texts, results, middle, to));
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package io.github.e_psi_lon.wordcrafter.service;
+
+import io.github.e_psi_lon.wordcrafter.model.Word;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Trie of the dictionary keyed on morpheme-ID sequences.
+ * Nodes are plain {@code int} indices; edges live in a single open-addressing table keyed by
+ * {@code (parent, morphemeId)}, so following one morpheme is a single hash probe and nothing is boxed.
+ * Children of a node can also be enumerated through {@link #firstChild} and {@link #nextSibling}.
+ * Use a {@link Cursor} to follow a selection one morpheme at a time.
+ * <p>
+ * Words can be added after the build. The navigation methods do not lock, so code calling them while words may be
+ * added runs inside {@link #read}; cursors lock on their own.
+ */
+public class MorphemeTrie {
+    public static final int ROOT = 0;
+    public static final int NONE = -1;
+
+    private int[] childCounts;
+    private int[] firstChildren;
+    private int[] nextSiblings;
+    private int[] labels;
+    private Word[] words;
+    private int nodeCount = 1;
+
+    private long[] edgeKeys;
+    private int[] edgeChildren; // 0 marks an empty slot, the root is never a child
+    private int edgeCount;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private MorphemeTrie(int expectedNodes) {
+        childCounts = new int[expectedNodes];
+        firstChildren = new int[expectedNodes];
+        nextSiblings = new int[expectedNodes];
+        labels = new int[expectedNodes];
+        words = new Word[expectedNodes];
+        int capacity = 16;
+        while (capacity < expectedNodes * 2) {
+            capacity <<= 1;
+        }
+        edgeKeys = new long[capacity];
+        edgeChildren = new int[capacity];
+    }
+
+    public static @NotNull MorphemeTrie build(@NotNull List<Word> dictionary) {
+        // Upper bound on the node count, so the arrays are sized once
+        int expectedNodes = 1;
+        for (Word word : dictionary) {
+            expectedNodes += word.morphemeIds().size();
+        }
+        MorphemeTrie trie = new MorphemeTrie(expectedNodes);
+        for (Word word : dictionary) {
+            trie.insert(word);
+        }
+        return trie;
+    }
+
+    /**
+     * Adds a word in O(length), waiting for the readers in {@link #read} to finish.
+     */
+    public void add(@NotNull Word word) {
+        lock.writeLock().lock();
+        try {
+            insert(word);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Runs {@code reader} while no word can be added. Tasks it forks and joins may use the navigation methods too.
+     */
+    public <T> T read(@NotNull Supplier<T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the node reached from {@code node} through {@code morphemeId}, or {@link #NONE}
+     */
+    public int child(int node, int morphemeId) {
+        if (node == NONE) {
+            return NONE;
+        }
+        long key = edgeKey(node, morphemeId);
+        int mask = edgeKeys.length - 1;
+        for (int slot = slot(key, mask); edgeChildren[slot] != 0; slot = (slot + 1) & mask) {
+            if (edgeKeys[slot] == key) {
+                return edgeChildren[slot];
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * The word spelled by the path to {@code node}, or null if the path is only a prefix.
+     */
+    public @Nullable Word wordAt(int node) {
+        return node == NONE ? null : words[node];
+    }
+
+    public boolean hasChildren(int node) {
+        return node != NONE && childCounts[node] > 0;
+    }
+
+    public int childCount(int node) {
+        return node == NONE ? 0 : childCounts[node];
+    }
+
+    /**
+     * @return the first child of {@code node}, or {@link #NONE}
+     */
+    public int firstChild(int node) {
+        return node == NONE || childCounts[node] == 0 ? NONE : firstChildren[node];
+    }
+
+    /**
+     * @return the next child of the parent of {@code node}, or {@link #NONE}
+     */
+    public int nextSibling(int node) {
+        return nextSiblings[node];
+    }
+
+    /**
+     * The morpheme ID on the edge leading to {@code node}.
+     */
+    public int morphemeAt(int node) {
+        return labels[node];
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public @NotNull Cursor cursor() {
+        return new Cursor();
+    }
+
+    private void insert(@NotNull Word word) {
+        List<Integer> ids = word.morphemeIds();
+        if (ids.isEmpty()) {
+            return;
+        }
+        int node = ROOT;
+        for (int id : ids) {
+            node = childOrCreate(node, id);
+        }
+        words[node] = word;
+    }
+
+    private int childOrCreate(int node, int morphemeId) {
+        int existing = child(node, morphemeId);
+        if (existing != NONE) {
+            return existing;
+        }
+        if (nodeCount == words.length) {
+            childCounts = Arrays.copyOf(childCounts, nodeCount * 2);
+            firstChildren = Arrays.copyOf(firstChildren, nodeCount * 2);
+            nextSiblings = Arrays.copyOf(nextSiblings, nodeCount * 2);
+            labels = Arrays.copyOf(labels, nodeCount * 2);
+            words = Arrays.copyOf(words, nodeCount * 2);
+        }
+        int created = nodeCount++;
+        labels[created] = morphemeId;
+        nextSiblings[created] = childCounts[node] == 0 ? NONE : firstChildren[node];
+        firstChildren[node] = created;
+        childCounts[node]++;
+        if (edgeCount + 1 > edgeKeys.length / 2) {
+            rehash(edgeKeys.length * 2);
+        }
+        insertEdge(edgeKey(node, morphemeId), created);
+        return created;
+    }
+
+    private void insertEdge(long key, int childNode) {
+        int mask = edgeKeys.length - 1;
+        int slot = slot(key, mask);
+        while (edgeChildren[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        edgeKeys[slot] = key;
+        edgeChildren[slot] = childNode;
+        edgeCount++;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = edgeKeys;
+        int[] oldChildren = edgeChildren;
+        edgeKeys = new long[capacity];
+        edgeChildren = new int[capacity];
+        edgeCount = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldChildren[i] != 0) {
+                insertEdge(oldKeys[i], oldChildren[i]);
+            }
+        }
+    }
+
+    private static long edgeKey(int node, int morphemeId) {
+        return ((long) node << 32) | (morphemeId & 0xFFFFFFFFL);
+    }
+
+    private static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    /**
+     * Position in the trie after a sequence of morphemes. Pushing or popping one morpheme is O(1);
+     * once the sequence leaves the trie the cursor stays on {@link #NONE} until enough morphemes are popped.
+     */
+    public final class Cursor {
+        private int[] path = new int[8];
+        private int[] morphemeIds = new int[8];
+        private int depth;
+
+        private Cursor() {
+            path[0] = ROOT;
+        }
+
+        public void push(int morphemeId) {
+            if (depth + 1 == path.length) {
+                path = Arrays.copyOf(path, path.length * 2);
+                morphemeIds = Arrays.copyOf(morphemeIds, morphemeIds.length * 2);
+            }
+            morphemeIds[depth] = morphemeId;
+            lock.readLock().lock();
+            try {
+                path[depth + 1] = child(path[depth], morphemeId);
+            } finally {
+                lock.readLock().unlock();
+            }
+            depth++;
+        }
+
+        public void pop() {
+            if (depth > 0) {
+                depth--;
+            }
+        }
+
+        public void reset() {
+            depth = 0;
+        }
+
+        /**
+         * Restarts the cursor from the root and follows {@code morphemeIds}.
+         */
+        public void reset(int @NotNull [] morphemeIds) {
+            reset();
+            for (int id : morphemeIds) {
+                push(id);
+            }
+        }
+
+        public int length() {
+            return depth;
+        }
+
+        /**
+         * The last morpheme pushed, or {@link #NONE} when the cursor is at the root.
+         */
+        public int lastMorphemeId() {
+            return depth == 0 ? NONE : morphemeIds[depth - 1];
+        }
+
+        public int node() {
+            return path[depth];
+        }
+
+        /**
+         * The word formed by the current sequence, or null.
+         */
+        public @Nullable Word word() {
+            return read(() -> wordAt(node()));
+        }
+
+        public boolean canExtend() {
+            return read(() -> hasChildren(node()));
+        }
+
+        /**
+         * True when no word starts with the current sequence.
+         */
+        public boolean isDeadEnd() {
+            return node() == NONE;
+        }
+
+        public boolean canExtendWith(int morphemeId) {
+            return read(() -> child(node(), morphemeId) != NONE);
+        }
+    }
+}
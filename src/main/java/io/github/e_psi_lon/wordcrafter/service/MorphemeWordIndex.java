@@ -0,0 +1,444 @@
+package io.github.e_psi_lon.wordcrafter.service;
+
+import io.github.e_psi_lon.wordcrafter.model.Morpheme;
+import io.github.e_psi_lon.wordcrafter.model.Word;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inverted index from morphemes to the dictionary words using them, with the position of the morpheme in each word.
+ * <p>
+ * Every known morpheme gets a dense slot holding a growable {@code int} posting list. A posting packs the number of
+ * a word, in the order words were added, with the position of the morpheme in it, so the list of a slot is sorted
+ * by word and each query only reads the lists of the morphemes it asks about. New words and morphemes are appended
+ * as they are added to the dictionary.
+ * <p>
+ * Queries lock the index; searches reading many lists over and over work on a {@link #snapshot()} instead.
+ */
+public class MorphemeWordIndex {
+    private static final int POSITION_BITS = 5;
+    // Morphemes further in a word are recorded at the last position
+    private static final int MAX_POSITION = (1 << POSITION_BITS) - 1;
+    private static final int[] NO_POSTINGS = new int[0];
+
+    private final Map<Integer, Integer> slots = new HashMap<>();
+    private int[] slotMorphemeIds = new int[64];
+    private int[][] postings = new int[64][];
+    private int[] postingSizes = new int[64];
+    private int slotCount;
+    private Word[] words = new Word[64];
+    private int[] wordSlotStarts = new int[65];  // distinct slots of word w are wordSlots[wordSlotStarts[w]..wordSlotStarts[w + 1])
+    private int[] wordSlots = new int[64];
+    private int wordCount;
+
+    /**
+     * A morpheme at {@code position} (from 0) in {@code word}.
+     */
+    public record Occurrence(Word word, int position) {}
+
+    /**
+     * What adding a word would change: the words already spelled by the same morphemes, and how many words use each
+     * of its morphemes, or -1 for an unknown morpheme.
+     */
+    public record Impact(List<Word> sameSequence, List<Integer> usageCounts) {}
+
+    public static @NotNull MorphemeWordIndex build(@NotNull List<Morpheme> morphemes, @NotNull List<Word> words) {
+        MorphemeWordIndex index = new MorphemeWordIndex();
+        for (Morpheme morpheme : morphemes) {
+            index.addMorpheme(morpheme.id());
+        }
+        for (Word word : words) {
+            index.add(word);
+        }
+        return index;
+    }
+
+    /**
+     * Gives a new morpheme an empty posting list; morphemes first seen in a word are added on the fly.
+     */
+    public synchronized void addMorpheme(int morphemeId) {
+        slotOrCreate(morphemeId);
+    }
+
+    public synchronized void add(@NotNull Word word) {
+        if (wordCount == words.length) {
+            words = Arrays.copyOf(words, wordCount * 2);
+            wordSlotStarts = Arrays.copyOf(wordSlotStarts, wordCount * 2 + 1);
+        }
+        int number = wordCount++;
+        words[number] = word;
+        int start = wordSlotStarts[number];
+        int end = start;
+        List<Integer> ids = word.morphemeIds();
+        for (int position = 0; position < ids.size(); position++) {
+            int slot = slotOrCreate(ids.get(position));
+            append(slot, number << POSITION_BITS | Math.min(position, MAX_POSITION));
+            if (contains(wordSlots, start, end, slot)) {
+                continue;
+            }
+            if (end == wordSlots.length) {
+                wordSlots = Arrays.copyOf(wordSlots, end * 2);
+            }
+            wordSlots[end++] = slot;
+        }
+        wordSlotStarts[number + 1] = end;
+    }
+
+    public synchronized int getWordCount() {
+        return wordCount;
+    }
+
+    public synchronized int getMorphemeCount() {
+        return slotCount;
+    }
+
+    /**
+     * Number of distinct words using {@code morphemeId}.
+     */
+    public synchronized int countWordsUsing(int morphemeId) {
+        Integer slot = slots.get(morphemeId);
+        return slot != null ? countWords(slot) : 0;
+    }
+
+    /**
+     * Distinct words using {@code morphemeId}, in the order they were added.
+     */
+    public synchronized @NotNull List<Word> wordsUsing(int morphemeId) {
+        Integer slot = slots.get(morphemeId);
+        if (slot == null) {
+            return List.of();
+        }
+        List<Word> found = new ArrayList<>();
+        int previous = -1;
+        for (int i = 0; i < postingSizes[slot]; i++) {
+            int word = postings[slot][i] >>> POSITION_BITS;
+            if (word != previous) {
+                found.add(words[word]);
+                previous = word;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Every use of {@code morphemeId}; a word using it twice appears twice.
+     */
+    public synchronized @NotNull List<Occurrence> occurrencesOf(int morphemeId) {
+        Integer slot = slots.get(morphemeId);
+        if (slot == null) {
+            return List.of();
+        }
+        List<Occurrence> found = new ArrayList<>(postingSizes[slot]);
+        for (int i = 0; i < postingSizes[slot]; i++) {
+            int posting = postings[slot][i];
+            found.add(new Occurrence(words[posting >>> POSITION_BITS], posting & MAX_POSITION));
+        }
+        return found;
+    }
+
+    /**
+     * Distinct words using every morpheme of {@code morphemeIds}, found by intersecting their posting lists from
+     * the shortest one.
+     */
+    public synchronized @NotNull List<Word> wordsUsingAll(int @NotNull [] morphemeIds) {
+        int[] listSlots = sortedSlots(morphemeIds);
+        if (listSlots == null) {
+            return List.of();
+        }
+        int[] cursors = new int[listSlots.length];
+        List<Word> found = new ArrayList<>();
+        int shortest = listSlots[0];
+        int previous = -1;
+        candidates:
+        for (int i = 0; i < postingSizes[shortest]; i++) {
+            int word = postings[shortest][i] >>> POSITION_BITS;
+            if (word == previous) {
+                continue;
+            }
+            previous = word;
+            for (int j = 1; j < listSlots.length; j++) {
+                cursors[j] = seek(listSlots[j], cursors[j], word);
+                if (cursors[j] == postingSizes[listSlots[j]]) {
+                    break candidates;
+                }
+                if (postings[listSlots[j]][cursors[j]] >>> POSITION_BITS != word) {
+                    continue candidates;
+                }
+            }
+            found.add(words[word]);
+        }
+        return found;
+    }
+
+    /**
+     * Words spelled by exactly {@code morphemeIds}, in that order. Only the postings of the rarest morpheme at its
+     * position are checked against the whole sequence.
+     */
+    public synchronized @NotNull List<Word> wordsWithSequence(int @NotNull [] morphemeIds) {
+        int rarest = -1;
+        for (int position = 0; position < morphemeIds.length; position++) {
+            Integer slot = slots.get(morphemeIds[position]);
+            if (slot == null) {
+                return List.of();
+            }
+            if (rarest < 0 || postingSizes[slot] < postingSizes[slots.get(morphemeIds[rarest])]) {
+                rarest = position;
+            }
+        }
+        if (rarest < 0) {
+            return List.of();
+        }
+        int slot = slots.get(morphemeIds[rarest]);
+        List<Word> found = new ArrayList<>();
+        int previous = -1;
+        for (int i = 0; i < postingSizes[slot]; i++) {
+            int posting = postings[slot][i];
+            // Positions past the cap share one value, so a word can match through several of its postings
+            if ((posting & MAX_POSITION) != Math.min(rarest, MAX_POSITION) || posting >>> POSITION_BITS == previous) {
+                continue;
+            }
+            previous = posting >>> POSITION_BITS;
+            Word word = words[previous];
+            if (sameSequence(word.morphemeIds(), morphemeIds)) {
+                found.add(word);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * What adding a word made of {@code morphemeIds} would change, read from the posting lists of its morphemes.
+     */
+    public synchronized @NotNull Impact impactOf(int @NotNull [] morphemeIds) {
+        List<Integer> usageCounts = new ArrayList<>(morphemeIds.length);
+        for (int morphemeId : morphemeIds) {
+            Integer slot = slots.get(morphemeId);
+            usageCounts.add(slot != null ? countWords(slot) : -1);
+        }
+        return new Impact(wordsWithSequence(morphemeIds), usageCounts);
+    }
+
+    /**
+     * Copy of the index in flat arrays, with the positions dropped and each word listed once per morpheme, for
+     * searches that read the lists without locking.
+     */
+    public synchronized @NotNull Snapshot snapshot() {
+        int[] postingStarts = new int[slotCount + 1];
+        int[] flat = new int[wordSlotStarts[wordCount]];
+        int size = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            int previous = -1;
+            for (int i = 0; i < postingSizes[slot]; i++) {
+                int word = postings[slot][i] >>> POSITION_BITS;
+                if (word != previous) {
+                    flat[size++] = word;
+                    previous = word;
+                }
+            }
+            postingStarts[slot + 1] = size;
+        }
+        return new Snapshot(Arrays.copyOf(words, wordCount), Arrays.copyOf(slotMorphemeIds, slotCount),
+                new HashMap<>(slots), postingStarts, flat, Arrays.copyOf(wordSlotStarts, wordCount + 1),
+                Arrays.copyOf(wordSlots, wordSlotStarts[wordCount]));
+    }
+
+    private int countWords(int slot) {
+        int count = 0;
+        int previous = -1;
+        for (int i = 0; i < postingSizes[slot]; i++) {
+            int word = postings[slot][i] >>> POSITION_BITS;
+            if (word != previous) {
+                count++;
+                previous = word;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Slots of the distinct morphemes, shortest posting list first, or null if one of them is unknown.
+     */
+    private int[] sortedSlots(int[] morphemeIds) {
+        int[] found = new int[morphemeIds.length];
+        int count = 0;
+        for (int morphemeId : morphemeIds) {
+            Integer slot = slots.get(morphemeId);
+            if (slot == null) {
+                return null;
+            }
+            if (!contains(found, 0, count, slot)) {
+                found[count++] = slot;
+            }
+        }
+        if (count == 0) {
+            return null;
+        }
+        Integer[] sorted = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            sorted[i] = found[i];
+        }
+        Arrays.sort(sorted, (a, b) -> Integer.compare(postingSizes[a], postingSizes[b]));
+        for (int i = 0; i < count; i++) {
+            found[i] = sorted[i];
+        }
+        return Arrays.copyOf(found, count);
+    }
+
+    /**
+     * First index from {@code from} in the list of {@code slot} whose word is at least {@code word}, by galloping
+     * then binary search.
+     */
+    private int seek(int slot, int from, int word) {
+        int[] list = postings[slot];
+        int size = postingSizes[slot];
+        int step = 1;
+        int low = from;
+        int high = from;
+        while (high < size && list[high] >>> POSITION_BITS < word) {
+            low = high + 1;
+            high += step;
+            step <<= 1;
+        }
+        high = Math.min(high, size);
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (list[middle] >>> POSITION_BITS < word) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int slotOrCreate(int morphemeId) {
+        Integer existing = slots.get(morphemeId);
+        if (existing != null) {
+            return existing;
+        }
+        if (slotCount == slotMorphemeIds.length) {
+            slotMorphemeIds = Arrays.copyOf(slotMorphemeIds, slotCount * 2);
+            postings = Arrays.copyOf(postings, slotCount * 2);
+            postingSizes = Arrays.copyOf(postingSizes, slotCount * 2);
+        }
+        int slot = slotCount++;
+        slots.put(morphemeId, slot);
+        slotMorphemeIds[slot] = morphemeId;
+        postings[slot] = NO_POSTINGS;
+        return slot;
+    }
+
+    private void append(int slot, int posting) {
+        int[] list = postings[slot];
+        if (postingSizes[slot] == list.length) {
+            list = Arrays.copyOf(list, Math.max(4, list.length * 2));
+            postings[slot] = list;
+        }
+        list[postingSizes[slot]++] = posting;
+    }
+
+    private static boolean sameSequence(List<Integer> ids, int[] morphemeIds) {
+        if (ids.size() != morphemeIds.length) {
+            return false;
+        }
+        for (int i = 0; i < morphemeIds.length; i++) {
+            if (ids.get(i) != morphemeIds[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean contains(int[] values, int from, int to, int value) {
+        for (int i = from; i < to; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Immutable copy of the index. The words of each slot, and the distinct slots of each word, are laid out one
+     * list after the other in plain {@code int} arrays, so walking either is a sequential read.
+     */
+    public static final class Snapshot {
+        private final Word[] words;
+        private final int[] slotMorphemeIds;
+        private final Map<Integer, Integer> slots;
+        private final int[] postingStarts;  // words of slot s are postings[postingStarts[s]..postingStarts[s + 1])
+        private final int[] postings;
+        private final int[] wordSlotStarts;
+        private final int[] wordSlots;
+
+        private Snapshot(Word[] words, int[] slotMorphemeIds, Map<Integer, Integer> slots, int[] postingStarts,
+                         int[] postings, int[] wordSlotStarts, int[] wordSlots) {
+            this.words = words;
+            this.slotMorphemeIds = slotMorphemeIds;
+            this.slots = slots;
+            this.postingStarts = postingStarts;
+            this.postings = postings;
+            this.wordSlotStarts = wordSlotStarts;
+            this.wordSlots = wordSlots;
+        }
+
+        public int getWordCount() {
+            return words.length;
+        }
+
+        public int getSlotCount() {
+            return slotMorphemeIds.length;
+        }
+
+        /**
+         * @return the slot of {@code morphemeId}, or -1 if it is unknown
+         */
+        public int slotOf(int morphemeId) {
+            Integer slot = slots.get(morphemeId);
+            return slot != null ? slot : -1;
+        }
+
+        public int morphemeIdAt(int slot) {
+            return slotMorphemeIds[slot];
+        }
+
+        public @NotNull Word wordAt(int word) {
+            return words[word];
+        }
+
+        public int postingStart(int slot) {
+            return postingStarts[slot];
+        }
+
+        public int postingEnd(int slot) {
+            return postingStarts[slot + 1];
+        }
+
+        /**
+         * The word at {@code position} of the posting lists, between a {@link #postingStart} and its {@link #postingEnd}.
+         */
+        public int postingAt(int position) {
+            return postings[position];
+        }
+
+        public int wordSlotStart(int word) {
+            return wordSlotStarts[word];
+        }
+
+        public int wordSlotEnd(int word) {
+            return wordSlotStarts[word + 1];
+        }
+
+        /**
+         * The slot at {@code position} of the word lists, between a {@link #wordSlotStart} and its {@link #wordSlotEnd}.
+         */
+        public int wordSlotAt(int position) {
+            return wordSlots[position];
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package io.github.e_psi_lon.wordcrafter.service;
+
+import io.github.e_psi_lon.wordcrafter.database.DatabaseManager;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind queue for the progress recorded after each validated word.
+ * Score increments and built words are coalesced per user and written in one
+ * batched transaction when enough operations are pending, when the flush interval
+ * elapses, or when the queue is shut down.
+ * <p>
+ * When a batch fails, each of its users is written on their own so one bad row does not hold back the others.
+ * The progress of a user whose writes keep failing is dropped after {@value #MAX_ATTEMPTS} attempts.
+ */
+public class PlayerProgressQueue {
+    private static final int MAX_ATTEMPTS = 5;
+
+    private final DatabaseManager databaseManager;
+    private final Config config;
+    private final ScheduledExecutorService scheduler;
+
+    // Guarded by this
+    private Map<Integer, Integer> pendingScores = new HashMap<>();
+    private Map<Integer, Set<Integer>> pendingWords = new HashMap<>();
+    private int pendingOperations;
+    private boolean shutdown;
+
+    // Guarded by flushLock
+    private final Object flushLock = new Object();
+    private long flushCount;
+    private long failedFlushes;
+    private long totalFlushNanos;
+    private long maxFlushNanos;
+    private int lastFlushSize;
+    private final Map<Integer, Integer> failedAttempts = new HashMap<>();
+
+    /**
+     * How much progress may be lost if the application dies.
+     * IMMEDIATE writes every operation before returning; BUFFERED keeps up to
+     * {@code maxPendingOperations} or {@code flushIntervalMillis} of progress in memory.
+     */
+    public enum Durability {
+        IMMEDIATE, BUFFERED
+    }
+
+    public record Config(Durability durability, int maxPendingOperations, long flushIntervalMillis) {
+        @Contract(" -> new")
+        public static @NotNull Config fromEnvironment() {
+            return new Config(
+                    Durability.valueOf(System.getenv().getOrDefault("WRITE_BEHIND_DURABILITY", "BUFFERED").toUpperCase()),
+                    Integer.parseInt(System.getenv().getOrDefault("WRITE_BEHIND_MAX_PENDING", "100")),
+                    Long.parseLong(System.getenv().getOrDefault("WRITE_BEHIND_FLUSH_MS", "2000"))
+            );
+        }
+    }
+
+    /**
+     * Queue depth and flush latency, in microseconds.
+     */
+    public record Stats(int queueDepth, long flushes, long failedFlushes, int lastFlushSize,
+                        double averageFlushMicros, double maxFlushMicros) {}
+
+    public PlayerProgressQueue(DatabaseManager databaseManager, @NotNull Config config) {
+        this.databaseManager = databaseManager;
+        this.config = config;
+        if (config.durability() == Durability.BUFFERED) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "wordcrafter-progress-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::flush, config.flushIntervalMillis(), config.flushIntervalMillis(), TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    public void addScore(int userId, int points) {
+        boolean full;
+        synchronized (this) {
+            pendingScores.merge(userId, points, Integer::sum);
+            full = ++pendingOperations >= config.maxPendingOperations();
+        }
+        afterEnqueue(full);
+    }
+
+    public void recordWord(int userId, int wordId) {
+        boolean full;
+        synchronized (this) {
+            pendingWords.computeIfAbsent(userId, id -> new LinkedHashSet<>()).add(wordId);
+            full = ++pendingOperations >= config.maxPendingOperations();
+        }
+        afterEnqueue(full);
+    }
+
+    /**
+     * Writes everything pending. The users of a failed batch are retried one by one, and those still failing are
+     * put back in the queue for the next attempt.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            Map<Integer, Integer> scores;
+            Map<Integer, Set<Integer>> words;
+            int operations;
+            synchronized (this) {
+                if (pendingOperations == 0) {
+                    return;
+                }
+                scores = pendingScores;
+                words = pendingWords;
+                operations = pendingOperations;
+                pendingScores = new HashMap<>();
+                pendingWords = new HashMap<>();
+                pendingOperations = 0;
+            }
+
+            long start = System.nanoTime();
+            boolean success = databaseManager.applyPlayerProgress(scores, words);
+            long elapsed = System.nanoTime() - start;
+
+            flushCount++;
+            totalFlushNanos += elapsed;
+            maxFlushNanos = Math.max(maxFlushNanos, elapsed);
+            lastFlushSize = operations;
+            if (success) {
+                if (!failedAttempts.isEmpty()) {
+                    failedAttempts.keySet().removeAll(scores.keySet());
+                    failedAttempts.keySet().removeAll(words.keySet());
+                }
+            } else {
+                failedFlushes++;
+                retryPerUser(scores, words);
+            }
+        }
+    }
+
+    /**
+     * Writes the progress of each user of a failed batch in its own transaction.
+     */
+    private void retryPerUser(@NotNull Map<Integer, Integer> scores, @NotNull Map<Integer, Set<Integer>> words) {
+        Set<Integer> users = new LinkedHashSet<>(scores.keySet());
+        users.addAll(words.keySet());
+        for (int userId : users) {
+            Map<Integer, Integer> userScores = scores.containsKey(userId) ? Map.of(userId, scores.get(userId)) : Map.of();
+            Map<Integer, Set<Integer>> userWords = words.containsKey(userId) ? Map.of(userId, words.get(userId)) : Map.of();
+            // A batch of a single user already failed as is
+            if (users.size() > 1 && databaseManager.applyPlayerProgress(userScores, userWords)) {
+                failedAttempts.remove(userId);
+                continue;
+            }
+            int attempts = failedAttempts.merge(userId, 1, Integer::sum);
+            int wordCount = userWords.isEmpty() ? 0 : userWords.get(userId).size();
+            if (attempts >= MAX_ATTEMPTS) {
+                failedAttempts.remove(userId);
+                System.err.println("Dropping the progress of user " + userId + " after " + attempts + " failed writes: "
+                        + userScores.getOrDefault(userId, 0) + " points, " + wordCount + " words");
+            } else {
+                requeue(userScores, userWords, (userScores.isEmpty() ? 0 : 1) + wordCount);
+            }
+        }
+    }
+
+    /**
+     * Work that may reassign word IDs, like importing a dictionary snapshot.
+     */
+    @FunctionalInterface
+    public interface WordReplacement<T> {
+        T run() throws IOException;
+    }
+
+    /**
+     * Writes everything pending, then runs {@code replacement} while no flush can start. If it returns a result,
+     * the words found in the meantime are dropped, since they refer to the old word IDs; scores are kept.
+     */
+    public <T> T replaceWords(@NotNull WordReplacement<T> replacement) throws IOException {
+        synchronized (flushLock) {
+            flush();
+            T result = replacement.run();
+            if (result != null) {
+                synchronized (this) {
+                    int dropped = 0;
+                    for (Set<Integer> wordIds : pendingWords.values()) {
+                        dropped += wordIds.size();
+                    }
+                    pendingWords = new HashMap<>();
+                    // Repeated words were counted as operations but only queued once
+                    pendingOperations = Math.max(pendingScores.isEmpty() ? 0 : 1, pendingOperations - dropped);
+                }
+            }
+            return result;
+        }
+    }
+
+    public Stats getStats() {
+        int depth;
+        synchronized (this) {
+            depth = pendingOperations;
+        }
+        synchronized (flushLock) {
+            double average = flushCount == 0 ? 0 : totalFlushNanos / 1_000.0 / flushCount;
+            return new Stats(depth, flushCount, failedFlushes, lastFlushSize, average, maxFlushNanos / 1_000.0);
+        }
+    }
+
+    public void shutdown() {
+        synchronized (this) {
+            shutdown = true;
+        }
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                scheduler.awaitTermination(config.flushIntervalMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    private void afterEnqueue(boolean full) {
+        boolean stopped;
+        synchronized (this) {
+            stopped = shutdown;
+        }
+        if (config.durability() == Durability.IMMEDIATE || stopped) {
+            flush();
+        } else if (full) {
+            try {
+                scheduler.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                flush();
+            }
+        }
+    }
+
+    private synchronized void requeue(@NotNull Map<Integer, Integer> scores, @NotNull Map<Integer, Set<Integer>> words, int operations) {
+        scores.forEach((userId, points) -> pendingScores.merge(userId, points, Integer::sum));
+        words.forEach((userId, wordIds) -> pendingWords.computeIfAbsent(userId, id -> new LinkedHashSet<>()).addAll(wordIds));
+        pendingOperations += operations;
+    }
+}
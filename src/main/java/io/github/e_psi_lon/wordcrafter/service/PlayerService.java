@@ -1,16 +1,60 @@
 package io.github.e_psi_lon.wordcrafter.service;
 
 import io.github.e_psi_lon.wordcrafter.database.DatabaseManager;
+import io.github.e_psi_lon.wordcrafter.model.PlayerStanding;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class PlayerService {
     private final DatabaseManager databaseManager;
+    private final PlayerProgressQueue progressQueue;
+    private final Leaderboard leaderboard;
+    private final AsyncExecutor asyncExecutor;
 
-    public PlayerService(DatabaseManager databaseManager) {
+    public PlayerService(DatabaseManager databaseManager, PlayerProgressQueue progressQueue, AsyncExecutor asyncExecutor) {
         this.databaseManager = databaseManager;
+        this.progressQueue = progressQueue;
+        this.asyncExecutor = asyncExecutor;
+        // Pending scores are written first so the database agrees with the increments already applied
+        this.leaderboard = new Leaderboard(() -> {
+            progressQueue.flush();
+            return databaseManager.getPlayerStandings();
+        });
     }
 
-    public void addScore(int userId, int additionalPoints) {
-        databaseManager.updateUserScore(userId, additionalPoints);
+    public void addScore(int userId, String username, int additionalPoints) {
+        // Ranking first: a concurrent reload then either already contains the points or applies them after
+        leaderboard.addScore(userId, username, additionalPoints);
+        progressQueue.addScore(userId, additionalPoints);
+    }
+
+    public List<Leaderboard.Entry> getTopPlayers(int count) {
+        return leaderboard.getTop(count);
+    }
+
+    public Leaderboard.Entry getRanking(int userId) {
+        return leaderboard.getEntry(userId);
+    }
+
+    public List<Leaderboard.Entry> getPlayersAround(int userId, int radius) {
+        return leaderboard.getAround(userId, radius);
+    }
+
+    /**
+     * A page of the leaderboard read from the database, see {@link DatabaseManager#getLeaderboardPage}.
+     * Pending scores are written first, so the page agrees with the in-memory ranking.
+     */
+    public List<PlayerStanding> getLeaderboardPage(PlayerStanding after, int limit) {
+        progressQueue.flush();
+        return databaseManager.getLeaderboardPage(after, limit);
     }
-}
 
+    public CompletableFuture<List<PlayerStanding>> getLeaderboardPageAsync(PlayerStanding after, int limit) {
+        return asyncExecutor.supply(() -> getLeaderboardPage(after, limit));
+    }
+
+    public Leaderboard getLeaderboard() {
+        return leaderboard;
+    }
+}
@@ -0,0 +1,423 @@
+package io.github.e_psi_lon.wordcrafter.service;
+
+import io.github.e_psi_lon.wordcrafter.model.Word;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Radix tree over the normalized text of the dictionary words.
+ * <p>
+ * Words are sorted by their normalized text, so the words starting with a prefix always form one
+ * contiguous range of that order. Each node of the tree stores the range of its subtree: resolving a
+ * prefix only walks as many nodes as the prefix has characters, and a page of results is a slice
+ * of the sorted array. Edge labels are not copied, they point into the normalized keys.
+ * <p>
+ * Words added after the build are buffered, then kept in a small sorted array merged with the tree ranges
+ * when answering. Once it grows past a fraction of the tree, both are merged and the tree is rebuilt.
+ * <p>
+ * Normalization is the same for the words and the prefixes: lower case, accents removed and the
+ * {@code œ}/{@code æ} ligatures expanded, so "eleve" matches "élève".
+ */
+public class PrefixIndex {
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+    // Added words kept beside the tree before it is rebuilt: at least this many, or a fraction of the tree
+    private static final int MIN_ADDED = 256;
+    private static final int ADDED_FRACTION = 64;
+
+    // Guarded by this once built
+    private Word[] words;
+    private String[] keys;
+
+    private int[] labelKeys;    // key holding the label of the edge leading to the node
+    private int[] labelStarts;
+    private int[] labelEnds;
+    private int[] firstChildren;
+    private int[] nextSiblings;
+    private int[] rangeStarts;
+    private int[] rangeEnds;
+    private int nodeCount;
+
+    private Entry[] added = new Entry[0];  // sorted
+    private int addedCount;
+    private final List<Entry> pending = new ArrayList<>();
+
+    private PrefixIndex(Word[] words, String[] keys) {
+        buildTree(words, keys);
+    }
+
+    public static @NotNull PrefixIndex build(@NotNull List<Word> dictionary) {
+        // Normalizing and sorting dominate the build time, both run on the common pool
+        Entry[] entries = new Entry[dictionary.size()];
+        Arrays.parallelSetAll(entries, i -> {
+            Word word = dictionary.get(i);
+            return new Entry(normalize(word.text()), word);
+        });
+        Arrays.parallelSort(entries);
+
+        Word[] words = new Word[entries.length];
+        String[] keys = new String[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            words[i] = entries[i].word;
+            keys[i] = entries[i].key;
+        }
+        return new PrefixIndex(words, keys);
+    }
+
+    /**
+     * Adds a word in O(1); it is sorted in on the next query.
+     */
+    public synchronized void add(@NotNull Word word) {
+        pending.add(new Entry(normalize(word.text()), word));
+    }
+
+    /**
+     * Lower case, without accents and with ligatures expanded.
+     */
+    public static @NotNull String normalize(@NotNull String text) {
+        String lower = text.trim().toLowerCase(Locale.FRENCH);
+        if (isAscii(lower)) {
+            return lower;
+        }
+        String decomposed = Normalizer.normalize(lower, Normalizer.Form.NFD);
+        StringBuilder result = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            switch (c) {
+                case 'œ' -> result.append("oe");
+                case 'æ' -> result.append("ae");
+                default -> result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    public synchronized int size() {
+        return words.length + addedCount + pending.size();
+    }
+
+    /**
+     * Number of words whose normalized text starts with the normalized {@code prefix}.
+     */
+    public synchronized int count(@NotNull String prefix) {
+        sortPending();
+        String key = normalize(prefix);
+        int node = find(key);
+        int count = node == NONE ? 0 : rangeEnds[node] - rangeStarts[node];
+        int addedFrom = firstAdded(key);
+        return count + addedEnd(key, addedFrom) - addedFrom;
+    }
+
+    /**
+     * Up to {@code limit} words starting with {@code prefix}, skipping the first {@code offset},
+     * in alphabetical order of their normalized text.
+     */
+    public synchronized @NotNull List<Word> page(@NotNull String prefix, int offset, int limit) {
+        sortPending();
+        String key = normalize(prefix);
+        int node = find(key);
+        int addedFrom = firstAdded(key);
+        int addedTo = addedEnd(key, addedFrom);
+        if ((node == NONE && addedFrom == addedTo) || offset < 0 || limit <= 0) {
+            return List.of();
+        }
+        int rangeStart = node == NONE ? 0 : rangeStarts[node];
+        int rangeEnd = node == NONE ? 0 : rangeEnds[node];
+        if (addedFrom == addedTo) {
+            int from = rangeStart + offset;
+            int to = (int) Math.min(rangeEnd, (long) from + limit);
+            return from >= to ? List.of() : List.of(Arrays.copyOfRange(words, from, to));
+        }
+
+        // The added words are few: place each of them in the tree range, then walk the page
+        int total = rangeEnd - rangeStart + addedTo - addedFrom;
+        int end = (int) Math.min(total, (long) offset + limit);
+        int next = addedFrom;
+        while (next < addedTo && mergedPosition(next, addedFrom, rangeStart, rangeEnd) < offset) {
+            next++;
+        }
+        int base = rangeStart + offset - (next - addedFrom);
+        List<Word> page = new ArrayList<>(Math.max(0, end - offset));
+        for (int position = offset; position < end; position++) {
+            if (next < addedTo && mergedPosition(next, addedFrom, rangeStart, rangeEnd) == position) {
+                page.add(added[next++].word);
+            } else {
+                page.add(words[base++]);
+            }
+        }
+        return List.copyOf(page);
+    }
+
+    /**
+     * The word whose normalized text equals the normalized {@code text}, or null.
+     * When several words only differ by their accents, the one written like {@code text} is returned,
+     * otherwise the first in alphabetical order.
+     */
+    public synchronized @Nullable Word findExact(@NotNull String text) {
+        sortPending();
+        String key = normalize(text);
+        String written = text.trim().toLowerCase(Locale.FRENCH);
+        int node = find(key);
+        // Within a range the shortest keys come first, and only a word equal to the prefix can be that short
+        int first = node == NONE || !keys[rangeStarts[node]].equals(key) ? NONE : rangeStarts[node];
+        if (first != NONE) {
+            for (int i = first; i < rangeEnds[node] && keys[i].equals(key); i++) {
+                if (words[i].text().toLowerCase(Locale.FRENCH).equals(written)) {
+                    return words[i];
+                }
+            }
+        }
+        int firstAdded = firstAdded(key);
+        for (int i = firstAdded; i < addedCount && added[i].key.equals(key); i++) {
+            if (added[i].word.text().toLowerCase(Locale.FRENCH).equals(written)) {
+                return added[i].word;
+            }
+        }
+        if (firstAdded == addedCount || !added[firstAdded].key.equals(key)) {
+            return first == NONE ? null : words[first];
+        }
+        if (first == NONE || compare(first, added[firstAdded]) > 0) {
+            return added[firstAdded].word;
+        }
+        return words[first];
+    }
+
+    public synchronized int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Sorts the buffered words in with the added ones, and rebuilds the tree with all of them once they are too many.
+     */
+    private void sortPending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Entry[] sorted = pending.toArray(new Entry[0]);
+        pending.clear();
+        Arrays.sort(sorted);
+        Entry[] merged = new Entry[addedCount + sorted.length];
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while (i < addedCount || j < sorted.length) {
+            if (j == sorted.length || (i < addedCount && added[i].compareTo(sorted[j]) <= 0)) {
+                merged[count++] = added[i++];
+            } else {
+                merged[count++] = sorted[j++];
+            }
+        }
+        added = merged;
+        addedCount = count;
+        if (addedCount > Math.max(MIN_ADDED, words.length / ADDED_FRACTION)) {
+            mergeAdded();
+        }
+    }
+
+    private void mergeAdded() {
+        Word[] mergedWords = new Word[words.length + addedCount];
+        String[] mergedKeys = new String[mergedWords.length];
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < mergedWords.length; k++) {
+            if (j == addedCount || (i < words.length && compare(i, added[j]) <= 0)) {
+                mergedWords[k] = words[i];
+                mergedKeys[k] = keys[i++];
+            } else {
+                mergedWords[k] = added[j].word;
+                mergedKeys[k] = added[j++].key;
+            }
+        }
+        added = new Entry[0];
+        addedCount = 0;
+        buildTree(mergedWords, mergedKeys);
+    }
+
+    private void buildTree(Word[] words, String[] keys) {
+        this.words = words;
+        this.keys = keys;
+        int capacity = Math.max(16, words.length * 2);
+        labelKeys = new int[capacity];
+        labelStarts = new int[capacity];
+        labelEnds = new int[capacity];
+        firstChildren = new int[capacity];
+        nextSiblings = new int[capacity];
+        rangeStarts = new int[capacity];
+        rangeEnds = new int[capacity];
+        nodeCount = 0;
+        int root = newNode(0, 0, 0, 0, words.length);
+        buildChildren(root, 0, words.length, 0);
+    }
+
+    /**
+     * @return the first added word whose key is not before {@code prefix}
+     */
+    private int firstAdded(@NotNull String prefix) {
+        int low = 0;
+        int high = addedCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (added[middle].key.compareTo(prefix) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int addedEnd(@NotNull String prefix, int from) {
+        int end = from;
+        while (end < addedCount && added[end].key.startsWith(prefix)) {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Position of the added word {@code index} in the merged order of the added words {@code [addedFrom, ...)}
+     * and the tree range {@code [rangeStart, rangeEnd)}.
+     */
+    private int mergedPosition(int index, int addedFrom, int rangeStart, int rangeEnd) {
+        int low = rangeStart;
+        int high = rangeEnd;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare(middle, added[index]) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return index - addedFrom + low - rangeStart;
+    }
+
+    // Same order as Entry, between a word of the tree and an added one
+    private int compare(int index, @NotNull Entry entry) {
+        int order = keys[index].compareTo(entry.key);
+        return order != 0 ? order : words[index].text().compareTo(entry.word.text());
+    }
+
+    /**
+     * @return the node whose subtree holds exactly the keys starting with {@code prefix}, or {@link #NONE}
+     */
+    private int find(@NotNull String prefix) {
+        int node = ROOT;
+        int depth = 0;
+        while (depth < prefix.length()) {
+            int child = childStartingWith(node, prefix.charAt(depth));
+            if (child == NONE) {
+                return NONE;
+            }
+            String label = keys[labelKeys[child]];
+            int end = labelEnds[child];
+            for (int i = labelStarts[child]; i < end && depth < prefix.length(); i++, depth++) {
+                if (label.charAt(i) != prefix.charAt(depth)) {
+                    return NONE;
+                }
+            }
+            node = child;
+        }
+        return node;
+    }
+
+    private int childStartingWith(int node, char c) {
+        for (int child = firstChildren[node]; child != NONE; child = nextSiblings[child]) {
+            char first = keys[labelKeys[child]].charAt(labelStarts[child]);
+            if (first == c) {
+                return child;
+            }
+            if (first > c) {
+                break; // children are sorted
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Creates the children of {@code node}, which covers the keys {@code [from, to)} sharing their first {@code depth} characters.
+     */
+    private void buildChildren(int node, int from, int to, int depth) {
+        int start = from;
+        // Keys equal to the prefix of the node sort first and end here
+        while (start < to && keys[start].length() == depth) {
+            start++;
+        }
+        int previous = NONE;
+        while (start < to) {
+            char c = keys[start].charAt(depth);
+            int end = start + 1;
+            while (end < to && keys[end].charAt(depth) == c) {
+                end++;
+            }
+            // Keys are sorted, so the common prefix of the group is the one of its first and last keys
+            int common = commonPrefix(keys[start], keys[end - 1], depth + 1);
+            int child = newNode(start, depth, common, start, end);
+            if (previous == NONE) {
+                firstChildren[node] = child;
+            } else {
+                nextSiblings[previous] = child;
+            }
+            previous = child;
+            buildChildren(child, start, end, common);
+            start = end;
+        }
+    }
+
+    private int newNode(int labelKey, int labelStart, int labelEnd, int rangeStart, int rangeEnd) {
+        if (nodeCount == labelKeys.length) {
+            int capacity = nodeCount * 2;
+            labelKeys = Arrays.copyOf(labelKeys, capacity);
+            labelStarts = Arrays.copyOf(labelStarts, capacity);
+            labelEnds = Arrays.copyOf(labelEnds, capacity);
+            firstChildren = Arrays.copyOf(firstChildren, capacity);
+            nextSiblings = Arrays.copyOf(nextSiblings, capacity);
+            rangeStarts = Arrays.copyOf(rangeStarts, capacity);
+            rangeEnds = Arrays.copyOf(rangeEnds, capacity);
+        }
+        int node = nodeCount++;
+        labelKeys[node] = labelKey;
+        labelStarts[node] = labelStart;
+        labelEnds[node] = labelEnd;
+        firstChildren[node] = NONE;
+        nextSiblings[node] = NONE;
+        rangeStarts[node] = rangeStart;
+        rangeEnds[node] = rangeEnd;
+        return node;
+    }
+
+    private static boolean isAscii(@NotNull String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int commonPrefix(@NotNull String a, @NotNull String b, int from) {
+        int limit = Math.min(a.length(), b.length());
+        int i = from;
+        while (i < limit && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private record Entry(String key, Word word) implements Comparable<Entry> {
+        @Override
+        public int compareTo(@NotNull Entry other) {
+            int order = key.compareTo(other.key);
+            return order != 0 ? order : word.text().compareTo(other.word.text());
+        }
+    }
+}
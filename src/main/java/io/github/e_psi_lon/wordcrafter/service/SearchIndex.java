@@ -0,0 +1,209 @@
+package io.github.e_psi_lon.wordcrafter.service;
+
+import io.github.e_psi_lon.wordcrafter.model.DatabaseEntity;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+/**
+ * Immutable trigram index for case-insensitive substring search over the ID and text of entities.
+ * <p>
+ * Every group of three consecutive characters of an entry points to the sorted list of entries containing it.
+ * A query of three characters or more only checks the entries found in all the lists of its trigrams, starting
+ * from the shortest list; shorter queries match too many entries for an index to help and scan the keys.
+ * Results keep the order of the list the index was built from.
+ */
+public class SearchIndex<T extends DatabaseEntity> {
+    private static final int GRAM = 3;
+    // Joins the ID and the text in the key; it cannot be typed, so no query matches across it
+    private static final char SEPARATOR = '\u0000';
+
+    private final List<T> entries;
+    private final String[] keys;
+    private final Map<Long, Integer> grams;
+    private final int[] postingStarts;  // postings of gram g are postings[postingStarts[g]..postingStarts[g + 1])
+    private final int[] postings;
+
+    private SearchIndex(List<T> entries, String[] keys, Map<Long, Integer> grams, int[] postingStarts, int[] postings) {
+        this.entries = entries;
+        this.keys = keys;
+        this.grams = grams;
+        this.postingStarts = postingStarts;
+        this.postings = postings;
+    }
+
+    public static <T extends DatabaseEntity> @NotNull SearchIndex<T> build(@NotNull List<T> entries, @NotNull Function<T, String> text) {
+        String[] keys = new String[entries.size()];
+        for (int i = 0; i < keys.length; i++) {
+            T entry = entries.get(i);
+            keys[i] = entry.getId() + String.valueOf(SEPARATOR) + normalize(text.apply(entry));
+        }
+
+        // First pass: number the grams and count the entries holding each, once per entry
+        Map<Long, Integer> grams = new HashMap<>();
+        int[] counts = new int[1024];
+        int[] lastEntries = new int[1024];
+        int[] occurrences = new int[Math.max(16, keys.length * 8)];
+        int[] occurrenceEnds = new int[keys.length];
+        int occurrenceCount = 0;
+        for (int i = 0; i < keys.length; i++) {
+            String key = keys[i];
+            for (int start = 0; start + GRAM <= key.length(); start++) {
+                int gram = grams.computeIfAbsent(pack(key, start), k -> grams.size());
+                if (gram == counts.length) {
+                    counts = Arrays.copyOf(counts, gram * 2);
+                    lastEntries = Arrays.copyOf(lastEntries, gram * 2);
+                }
+                if (counts[gram] > 0 && lastEntries[gram] == i) {
+                    continue;
+                }
+                counts[gram]++;
+                lastEntries[gram] = i;
+                if (occurrenceCount == occurrences.length) {
+                    occurrences = Arrays.copyOf(occurrences, occurrenceCount * 2);
+                }
+                occurrences[occurrenceCount++] = gram;
+            }
+            occurrenceEnds[i] = occurrenceCount;
+        }
+
+        // Second pass: lay the lists out one after the other, entries are visited in order so each list is sorted
+        int[] postingStarts = new int[grams.size() + 1];
+        for (int gram = 0; gram < grams.size(); gram++) {
+            postingStarts[gram + 1] = postingStarts[gram] + counts[gram];
+        }
+        int[] next = Arrays.copyOf(postingStarts, grams.size());
+        int[] postings = new int[occurrenceCount];
+        int occurrence = 0;
+        for (int i = 0; i < keys.length; i++) {
+            for (; occurrence < occurrenceEnds[i]; occurrence++) {
+                postings[next[occurrences[occurrence]]++] = i;
+            }
+        }
+        return new SearchIndex<>(List.copyOf(entries), keys, grams, postingStarts, postings);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Entries whose ID or text contains {@code query}, ignoring case. A blank query matches every entry.
+     */
+    public @NotNull List<T> search(@NotNull String query) {
+        String needle = normalize(query);
+        if (needle.isEmpty()) {
+            return entries;
+        }
+        if (needle.length() < GRAM) {
+            return scan(needle);
+        }
+
+        int gramCount = needle.length() - GRAM + 1;
+        int[] lists = new int[gramCount];
+        for (int start = 0; start < gramCount; start++) {
+            Integer gram = grams.get(pack(needle, start));
+            if (gram == null) {
+                return List.of();
+            }
+            lists[start] = gram;
+        }
+        // Shortest list first, it bounds the candidates
+        int shortest = 0;
+        for (int i = 1; i < gramCount; i++) {
+            if (length(lists[i]) < length(lists[shortest])) {
+                shortest = i;
+            }
+        }
+        int[] candidates = Arrays.copyOfRange(postings, postingStarts[lists[shortest]], postingStarts[lists[shortest] + 1]);
+        int candidateCount = candidates.length;
+        for (int i = 0; i < gramCount && candidateCount > 0; i++) {
+            if (i != shortest) {
+                candidateCount = retainAll(candidates, candidateCount, lists[i]);
+            }
+        }
+
+        // The trigrams may appear in another order or far apart, only the key itself tells
+        int[] matches = new int[candidateCount];
+        int matchCount = 0;
+        for (int i = 0; i < candidateCount; i++) {
+            if (keys[candidates[i]].contains(needle)) {
+                matches[matchCount++] = candidates[i];
+            }
+        }
+        return new Results(matches, matchCount);
+    }
+
+    private @NotNull List<T> scan(@NotNull String needle) {
+        int[] matches = new int[keys.length];
+        int matchCount = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i].contains(needle)) {
+                matches[matchCount++] = i;
+            }
+        }
+        return new Results(matches, matchCount);
+    }
+
+    /**
+     * Keeps the first {@code count} candidates that are also in the list of {@code gram}, in place.
+     *
+     * @return the number of candidates kept
+     */
+    private int retainAll(int[] candidates, int count, int gram) {
+        int from = postingStarts[gram];
+        int to = postingStarts[gram + 1];
+        int kept = 0;
+        for (int i = 0; i < count && from < to; i++) {
+            int found = Arrays.binarySearch(postings, from, to, candidates[i]);
+            if (found >= 0) {
+                candidates[kept++] = candidates[i];
+                from = found + 1;
+            } else {
+                from = -found - 1;
+            }
+        }
+        return kept;
+    }
+
+    private int length(int gram) {
+        return postingStarts[gram + 1] - postingStarts[gram];
+    }
+
+    private static long pack(@NotNull String text, int start) {
+        return (long) text.charAt(start) << 32 | (long) text.charAt(start + 1) << 16 | text.charAt(start + 2);
+    }
+
+    private static @NotNull String normalize(@NotNull String text) {
+        return text.toLowerCase(Locale.FRENCH);
+    }
+
+    private final class Results extends AbstractList<T> implements RandomAccess {
+        private final int[] matches;
+        private final int size;
+
+        Results(int[] matches, int size) {
+            this.matches = matches;
+            this.size = size;
+        }
+
+        @Override
+        public T get(int index) {
+            Objects.checkIndex(index, size);
+            return entries.get(matches[index]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -3,23 +3,43 @@ package io.github.e_psi_lon.wordcrafter.service;
 import io.github.e_psi_lon.wordcrafter.controller.AuthController;
 import io.github.e_psi_lon.wordcrafter.controller.EditorController;
 import io.github.e_psi_lon.wordcrafter.controller.GameController;
+import io.github.e_psi_lon.wordcrafter.controller.PrefixMatcherController;
 import io.github.e_psi_lon.wordcrafter.database.DatabaseManager;
 import io.github.e_psi_lon.wordcrafter.model.Player;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
+import java.nio.file.Path;
 
 public class ServiceFactory {
+    // Memory-mapped copy of the dictionary, rebuilt when the database content changes; empty to disable
+    private static final String DICTIONARY_IMAGE = System.getenv().getOrDefault("DICTIONARY_IMAGE", "wordcrafter-dictionary.img");
+
     private final DatabaseManager databaseManager;
+    private final AsyncExecutor asyncExecutor;
+    private final PlayerProgressQueue progressQueue;
     private final GameService gameService;
     private final PlayerService playerService;
     private final AuthService authService;
 
     private ServiceFactory(DatabaseManager databaseManager) {
         this.databaseManager = databaseManager;
-        this.gameService = new GameService(databaseManager);
-        this.playerService = new PlayerService(databaseManager);
-        this.authService = new AuthService(databaseManager);
+        this.asyncExecutor = new AsyncExecutor();
+        this.progressQueue = new PlayerProgressQueue(databaseManager, PlayerProgressQueue.Config.fromEnvironment());
+        this.gameService = new GameService(databaseManager, progressQueue,
+                DICTIONARY_IMAGE.isBlank() ? null : Path.of(DICTIONARY_IMAGE), asyncExecutor);
+        this.playerService = new PlayerService(databaseManager, progressQueue, asyncExecutor);
+        this.authService = new AuthService(databaseManager, playerService.getLeaderboard(), asyncExecutor);
+        playerService.getLeaderboard().reload();
+        // Ready before the first rejected word instead of delaying its dialog
+        asyncExecutor.run(gameService::getWordSuggester);
+        asyncExecutor.run(gameService::getBoardGenerator);
+        // Built before the first game opens its selection cursor on the event dispatch thread
+        asyncExecutor.run(gameService::getMorphemeTrie);
+        // Same for the prefix matcher, which counts the matches on every keystroke
+        asyncExecutor.run(gameService::getPrefixIndex);
+        // And for the definition check of the free build mode
+        asyncExecutor.run(gameService::getDefinitionMatcher);
     }
 
     @Contract(" -> new")
@@ -34,12 +54,16 @@ public class ServiceFactory {
         return new GameController(gameService, playerService, stateManager);
     }
 
+    public PrefixMatcherController createPrefixMatcherController(Player player) {
+        return new PrefixMatcherController(gameService, createGameController(player));
+    }
+
     public AuthController createAuthController() {
         return new AuthController(authService);
     }
 
     public EditorController createEditorController() {
-        return new EditorController(gameService, createAuthController());
+        return new EditorController(gameService, createAuthController(), new DictionaryImporter(gameService));
     }
 
     public DatabaseManager getDatabaseManager() {
@@ -58,7 +82,21 @@ public class ServiceFactory {
         return authService;
     }
 
+    public PlayerProgressQueue getProgressQueue() {
+        return progressQueue;
+    }
+
+    /**
+     * Executor of the non-blocking service calls.
+     */
+    public AsyncExecutor getAsyncExecutor() {
+        return asyncExecutor;
+    }
+
     public void shutdown() {
+        // Calls in progress may still queue progress, so they finish before the queue is flushed
+        asyncExecutor.shutdown();
+        progressQueue.shutdown();
         databaseManager.close();
     }
 }
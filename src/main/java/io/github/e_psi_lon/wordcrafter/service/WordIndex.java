@@ -0,0 +1,149 @@
+package io.github.e_psi_lon.wordcrafter.service;
+
+import io.github.e_psi_lon.wordcrafter.database.DictionarySnapshot;
+import io.github.e_psi_lon.wordcrafter.model.Word;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * In-memory index of the dictionary keyed by ordered morpheme-ID sequences.
+ * Uses open addressing over primitive arrays: each slot stores a 64-bit hash of the
+ * sequence, the sequence itself as an {@code int[]} and the matching {@link Word}.
+ */
+public class WordIndex {
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] hashes;
+    private int[][] sequences;
+    private Word[] words;
+    private int size;
+
+    public WordIndex() {
+        allocate(MIN_CAPACITY);
+    }
+
+    public static @NotNull WordIndex build(@NotNull List<Word> words) {
+        WordIndex index = new WordIndex();
+        index.allocate(capacityFor(words.size()));
+        for (Word word : words) {
+            index.add(word);
+        }
+        return index;
+    }
+
+    /**
+     * Builds the index straight from a dictionary snapshot, without going through the database.
+     */
+    public static @NotNull WordIndex load(@NotNull Path snapshot) throws IOException {
+        WordIndex index = new WordIndex();
+        try (DictionarySnapshot.Reader reader = DictionarySnapshot.Reader.open(snapshot)) {
+            Word word;
+            while ((word = reader.nextWord()) != null) {
+                index.add(word);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Adds or replaces the word registered for its morpheme sequence.
+     */
+    public synchronized void add(@NotNull Word word) {
+        int[] sequence = toArray(word.morphemeIds());
+        if (size + 1 > words.length / 2) {
+            rehash(words.length * 2);
+        }
+        insert(hash(sequence, sequence.length), sequence, word);
+    }
+
+    /**
+     * Returns the word formed by the first {@code length} IDs of {@code morphemeIds}, or null.
+     */
+    public synchronized @Nullable Word lookup(int @NotNull [] morphemeIds, int length) {
+        long hash = hash(morphemeIds, length);
+        int mask = hashes.length - 1;
+        for (int slot = (int) hash & mask; words[slot] != null; slot = (slot + 1) & mask) {
+            if (hashes[slot] == hash && sameSequence(sequences[slot], morphemeIds, length)) {
+                return words[slot];
+            }
+        }
+        return null;
+    }
+
+    public @Nullable Word lookup(int @NotNull [] morphemeIds) {
+        return lookup(morphemeIds, morphemeIds.length);
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void insert(long hash, int[] sequence, Word word) {
+        int mask = hashes.length - 1;
+        int slot = (int) hash & mask;
+        while (words[slot] != null) {
+            if (hashes[slot] == hash && sameSequence(sequences[slot], sequence, sequence.length)) {
+                words[slot] = word;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        hashes[slot] = hash;
+        sequences[slot] = sequence;
+        words[slot] = word;
+        size++;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldHashes = hashes;
+        int[][] oldSequences = sequences;
+        Word[] oldWords = words;
+        allocate(capacity);
+        for (int i = 0; i < oldWords.length; i++) {
+            if (oldWords[i] != null) {
+                insert(oldHashes[i], oldSequences[i], oldWords[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        hashes = new long[capacity];
+        sequences = new int[capacity][];
+        words = new Word[capacity];
+        size = 0;
+    }
+
+    private static int capacityFor(int count) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < count * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static boolean sameSequence(int @NotNull [] stored, int @NotNull [] candidate, int length) {
+        return stored.length == length && Arrays.equals(stored, 0, length, candidate, 0, length);
+    }
+
+    static long hash(int @NotNull [] sequence, int length) {
+        long h = 0x9E3779B97F4A7C15L ^ length;
+        for (int i = 0; i < length; i++) {
+            h = (h ^ sequence[i]) * 0xBF58476D1CE4E5B9L;
+            h ^= h >>> 31;
+        }
+        return h;
+    }
+
+    static int @NotNull [] toArray(@NotNull List<Integer> ids) {
+        int[] array = new int[ids.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = ids.get(i);
+        }
+        return array;
+    }
+}
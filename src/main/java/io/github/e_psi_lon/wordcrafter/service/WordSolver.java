@@ -0,0 +1,221 @@
+package io.github.e_psi_lon.wordcrafter.service;
+
+import io.github.e_psi_lon.wordcrafter.model.Word;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Finds every dictionary word that can be built from the morphemes of a board,
+ * each board morpheme being used at most once per word.
+ * <p>
+ * The search walks the {@link MorphemeTrie} depth first and only follows edges whose morpheme is
+ * still available on the board, so prefixes that cannot be completed are never explored. At each node
+ * it iterates over whichever is smaller: the children of the node or the board. Subtrees are searched
+ * in parallel on a {@link ForkJoinPool}, split by the first morphemes of the words.
+ */
+public class WordSolver {
+    // Subtrees with fewer candidate children than this are searched in the current task
+    private static final int SPLIT_THRESHOLD = 4;
+
+    private final MorphemeTrie trie;
+    private final ForkJoinPool pool;
+
+    /**
+     * Words found on a board, sorted by descending points then text.
+     */
+    public record Solution(List<Word> words, int totalPoints) {}
+
+    public WordSolver(@NotNull MorphemeTrie trie) {
+        this(trie, ForkJoinPool.commonPool());
+    }
+
+    public WordSolver(@NotNull MorphemeTrie trie, @NotNull ForkJoinPool pool) {
+        this.trie = trie;
+        this.pool = pool;
+    }
+
+    public @NotNull Solution solve(int @NotNull [] boardMorphemeIds) {
+        Board board = new Board(boardMorphemeIds);
+        // Words added meanwhile wait for the search, whose tasks read the trie without locking
+        List<Word> words = trie.read(() -> pool.invoke(new SearchTask(MorphemeTrie.ROOT, board, 0)));
+        words.sort(Comparator.comparingInt(Word::points).reversed().thenComparing(Word::text));
+        int total = 0;
+        for (Word word : words) {
+            total += word.points();
+        }
+        return new Solution(List.copyOf(words), total);
+    }
+
+    private final class SearchTask extends RecursiveTask<List<Word>> {
+        private final int node;
+        private final Board board;
+        private final int depth;
+
+        SearchTask(int node, Board board, int depth) {
+            this.node = node;
+            this.board = board;
+            this.depth = depth;
+        }
+
+        @Override
+        protected List<Word> compute() {
+            List<Word> found = new ArrayList<>();
+            if (depth > 0) {
+                searchFrom(node, board, found);
+                return found;
+            }
+            int[] children = candidateChildren(node, board);
+            if (children.length < SPLIT_THRESHOLD) {
+                for (int child : children) {
+                    search(child, board, found);
+                }
+                return found;
+            }
+
+            List<SearchTask> tasks = new ArrayList<>(children.length);
+            for (int child : children) {
+                Board branch = board.copy();
+                branch.take(trie.morphemeAt(child));
+                tasks.add(new SearchTask(child, branch, depth + 1));
+            }
+            for (SearchTask task : invokeAll(tasks)) {
+                found.addAll(task.join());
+            }
+            return found;
+        }
+
+        /**
+         * Collects the words at and below {@code start}, whose morpheme has already been taken from the board.
+         */
+        private void searchFrom(int start, Board board, List<Word> found) {
+            Word word = trie.wordAt(start);
+            if (word != null) {
+                found.add(word);
+            }
+            for (int child : candidateChildren(start, board)) {
+                search(child, board, found);
+            }
+        }
+
+        private void search(int child, Board board, List<Word> found) {
+            int morphemeId = trie.morphemeAt(child);
+            if (!board.take(morphemeId)) {
+                return;
+            }
+            searchFrom(child, board, found);
+            board.release(morphemeId);
+        }
+    }
+
+    /**
+     * Children of {@code node} whose morpheme is still available on the board.
+     */
+    private int @NotNull [] candidateChildren(int node, @NotNull Board board) {
+        int[] result = new int[Math.min(trie.childCount(node), board.size())];
+        int count = 0;
+        if (trie.childCount(node) <= board.size()) {
+            for (int child = trie.firstChild(node); child != MorphemeTrie.NONE; child = trie.nextSibling(child)) {
+                if (board.isAvailable(trie.morphemeAt(child))) {
+                    result[count++] = child;
+                }
+            }
+        } else {
+            for (int i = 0; i < board.size(); i++) {
+                int child = board.isAvailableAt(i) ? trie.child(node, board.idAt(i)) : MorphemeTrie.NONE;
+                if (child != MorphemeTrie.NONE) {
+                    result[count++] = child;
+                }
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Distinct board morphemes with the number of copies still unused, in an open-addressing table.
+     */
+    private static final class Board {
+        private final int[] ids;
+        private final int[] remaining;
+        private final int[] slots; // index into ids + 1, 0 when empty
+        private final int mask;
+
+        Board(int @NotNull [] morphemeIds) {
+            int capacity = 16;
+            while (capacity < morphemeIds.length * 2) {
+                capacity <<= 1;
+            }
+            int[] distinct = new int[morphemeIds.length];
+            int[] counts = new int[morphemeIds.length];
+            this.slots = new int[capacity];
+            this.mask = capacity - 1;
+            int size = 0;
+            for (int id : morphemeIds) {
+                int slot = find(id, distinct);
+                if (slots[slot] != 0) {
+                    counts[slots[slot] - 1]++;
+                } else {
+                    distinct[size] = id;
+                    counts[size] = 1;
+                    slots[slot] = ++size;
+                }
+            }
+            this.ids = Arrays.copyOf(distinct, size);
+            this.remaining = Arrays.copyOf(counts, size);
+        }
+
+        private Board(int[] ids, int[] remaining, int[] slots, int mask) {
+            this.ids = ids;
+            this.remaining = remaining;
+            this.slots = slots;
+            this.mask = mask;
+        }
+
+        Board copy() {
+            return new Board(ids, remaining.clone(), slots, mask);
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        int idAt(int index) {
+            return ids[index];
+        }
+
+        boolean isAvailableAt(int index) {
+            return remaining[index] > 0;
+        }
+
+        boolean isAvailable(int morphemeId) {
+            int entry = slots[find(morphemeId, ids)];
+            return entry != 0 && remaining[entry - 1] > 0;
+        }
+
+        boolean take(int morphemeId) {
+            int entry = slots[find(morphemeId, ids)];
+            if (entry == 0 || remaining[entry - 1] == 0) {
+                return false;
+            }
+            remaining[entry - 1]--;
+            return true;
+        }
+
+        void release(int morphemeId) {
+            remaining[slots[find(morphemeId, ids)] - 1]++;
+        }
+
+        private int find(int morphemeId, int[] keys) {
+            int slot = (morphemeId * 0x9E3779B9) >>> 7 & mask;
+            while (slots[slot] != 0 && keys[slots[slot] - 1] != morphemeId) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package io.github.e_psi_lon.wordcrafter.service;
+
+import io.github.e_psi_lon.wordcrafter.model.Word;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * "Did you mean" suggestions for a rejected word: the dictionary words closest to the attempted text, and those
+ * closest to the attempted morpheme sequence, by Levenshtein distance.
+ * <p>
+ * Both kinds of keys are sequences of ints (characters or morpheme IDs), indexed by their grams: trigrams for
+ * texts, bigrams for morpheme sequences, which have far more distinct elements. One edit changes at most {@code q}
+ * grams of the query, so a key within distance {@code k} keeps at least one of any {@code qk + 1} of them: only the
+ * words in the lists of the {@code qk + 1} rarest grams of the query are candidates, and each is then checked with
+ * a bounded Levenshtein distance. The distance allowed is also at most one edit per {@code q} elements of the
+ * query, so a short attempt is not matched with unrelated short words. Texts are compared normalized, like in
+ * {@link PrefixIndex}. Words can be added after the build.
+ */
+public class WordSuggester {
+    public static final int MAX_TEXT_DISTANCE = 2;
+    public static final int MAX_SEQUENCE_DISTANCE = 2;
+
+    private static final Comparator<Suggestion> BEST_FIRST = Comparator.comparingInt(Suggestion::distance)
+            .thenComparing(suggestion -> suggestion.word().text());
+
+    private final GramIndex texts = new GramIndex(3);
+    private final GramIndex sequences = new GramIndex(2);
+
+    /**
+     * A dictionary word and its distance to what was attempted, in characters or in morphemes.
+     */
+    public record Suggestion(Word word, int distance) {}
+
+    public static @NotNull WordSuggester build(@NotNull List<Word> words) {
+        WordSuggester suggester = new WordSuggester();
+        for (Word word : words) {
+            suggester.add(word);
+        }
+        return suggester;
+    }
+
+    public synchronized void add(@NotNull Word word) {
+        texts.add(textKey(word.text()), word);
+        sequences.add(WordIndex.toArray(word.morphemeIds()), word);
+    }
+
+    public synchronized int size() {
+        return texts.size;
+    }
+
+    /**
+     * Up to {@code limit} words whose text is within {@link #MAX_TEXT_DISTANCE} of {@code text}, closest first.
+     */
+    public synchronized @NotNull List<Suggestion> suggestWords(@NotNull String text, int limit) {
+        return texts.search(textKey(text), MAX_TEXT_DISTANCE, limit);
+    }
+
+    /**
+     * Up to {@code limit} words whose morpheme sequence is within {@link #MAX_SEQUENCE_DISTANCE} morphemes
+     * of {@code morphemeIds}, closest first.
+     */
+    public synchronized @NotNull List<Suggestion> suggestSequences(int @NotNull [] morphemeIds, int limit) {
+        return sequences.search(morphemeIds, MAX_SEQUENCE_DISTANCE, limit);
+    }
+
+    private static int @NotNull [] textKey(@NotNull String text) {
+        return PrefixIndex.normalize(text).chars().toArray();
+    }
+
+    /**
+     * Levenshtein distance between {@code a} and {@code b}, or {@code limit + 1} as soon as it is known to exceed
+     * {@code limit}. Only the cells within {@code limit} of the diagonal are computed, the others cannot be on a
+     * path short enough. {@code row} must hold at least {@code b.length + 1} values.
+     */
+    static int distance(int @NotNull [] a, int @NotNull [] b, int limit, int @NotNull [] row) {
+        return distance(a, b, 0, b.length, limit, row);
+    }
+
+    /**
+     * Same as {@link #distance(int[], int[], int, int[])}, against the {@code length} values of {@code b} from
+     * {@code offset}.
+     */
+    private static int distance(int @NotNull [] a, int @NotNull [] b, int offset, int length, int limit, int @NotNull [] row) {
+        if (Math.abs(a.length - length) > limit) {
+            return limit + 1;
+        }
+        int beyond = limit + 1;
+        for (int j = 0; j <= length; j++) {
+            row[j] = Math.min(j, beyond);
+        }
+        for (int i = 1; i <= a.length; i++) {
+            int from = Math.max(1, i - limit);
+            int to = Math.min(length, i + limit);
+            int diagonal = row[from - 1];
+            int left = from == 1 ? Math.min(i, beyond) : beyond;
+            row[from - 1] = left;
+            int rowMin = beyond;
+            for (int j = from; j <= to; j++) {
+                int above = row[j];
+                int cost = a[i - 1] == b[offset + j - 1] ? diagonal : diagonal + 1;
+                int value = Math.min(beyond, Math.min(cost, Math.min(above, left) + 1));
+                row[j] = value;
+                rowMin = Math.min(rowMin, value);
+                left = value;
+                diagonal = above;
+            }
+            if (rowMin > limit) {
+                return beyond;
+            }
+        }
+        return row[length];
+    }
+
+    /**
+     * Lists of the words holding each gram of {@code q} consecutive elements, over int sequences padded with
+     * {@code q - 1} markers at each end. Words are numbered in the order they are added, so every list is sorted.
+     * A posting holds the number of the word and the length of its key, to skip the words too long or too short
+     * without looking at them.
+     */
+    private static final class GramIndex {
+        private static final int START = Integer.MIN_VALUE;
+        private static final int END = Integer.MIN_VALUE + 1;
+        private static final int[] EMPTY = new int[0];
+        private static final int LENGTH_BITS = 5;
+        private static final int LENGTH_MASK = (1 << LENGTH_BITS) - 1;
+
+        private final int q;
+        // Open addressing table from the hash of a gram to its list; two grams sharing a hash only share a list,
+        // which adds candidates but never loses one
+        private long[] gramHashes = new long[64];
+        private int[] gramLists = new int[64];
+        private int gramCount;
+        private int[][] lists = new int[16][];
+        private int[] listSizes = new int[16];
+        // Keys one after the other: key i is keyValues[keyStarts[i]..keyStarts[i + 1])
+        private int[] keyValues = new int[64];
+        private int[] keyStarts = new int[17];
+        private Word[] words = new Word[16];
+        private int size;
+        private int longestKey;
+
+        GramIndex(int q) {
+            this.q = q;
+            Arrays.fill(gramLists, -1);
+        }
+
+        void add(int @NotNull [] key, @NotNull Word word) {
+            if (size == words.length) {
+                keyStarts = Arrays.copyOf(keyStarts, size * 2 + 1);
+                words = Arrays.copyOf(words, size * 2);
+            }
+            int start = keyStarts[size];
+            if (start + key.length > keyValues.length) {
+                keyValues = Arrays.copyOf(keyValues, Math.max(keyValues.length * 2, start + key.length));
+            }
+            System.arraycopy(key, 0, keyValues, start, key.length);
+            int index = size++;
+            keyStarts[size] = start + key.length;
+            words[index] = word;
+            int posting = index << LENGTH_BITS | Math.min(key.length, LENGTH_MASK);
+            longestKey = Math.max(longestKey, key.length);
+            for (int position = 0; position < key.length + q - 1; position++) {
+                int list = listOf(hash(key, position), true);
+                int[] postings = lists[list];
+                int count = listSizes[list];
+                // A key repeating a gram is listed once
+                if (count > 0 && postings[count - 1] == posting) {
+                    continue;
+                }
+                if (count == postings.length) {
+                    postings = Arrays.copyOf(postings, Math.max(4, count * 2));
+                    lists[list] = postings;
+                }
+                postings[count] = posting;
+                listSizes[list] = count + 1;
+            }
+        }
+
+        @NotNull List<Suggestion> search(int @NotNull [] query, int maxDistance, int limit) {
+            int radius = Math.min(maxDistance, query.length / q);
+            if (size == 0 || limit <= 0 || query.length == 0) {
+                return List.of();
+            }
+            // Lists of the grams of the query, shortest first; a gram no word has gives an empty list
+            int queryGrams = query.length + q - 1;
+            long[] ranked = new long[queryGrams];
+            for (int position = 0; position < queryGrams; position++) {
+                int list = listOf(hash(query, position), false);
+                ranked[position] = list >= 0 ? (long) listSizes[list] << 32 | list : 0xFFFFFFFFL;
+            }
+            Arrays.sort(ranked);
+
+            // A key within the radius keeps all the grams of the query but q per edit: it is in one of the lists of
+            // any qk + 1 of them, and in at least as many lists as there are grams, less qk. The rarest lists are
+            // merged to find the candidates, which are then looked up in the others before being compared.
+            int[][] gramLists = new int[queryGrams][];
+            int[] cursors = new int[queryGrams];
+            int[] ends = new int[queryGrams];
+            for (int i = 0; i < queryGrams; i++) {
+                int list = (int) ranked[i];
+                // The same gram at several places of the query is counted once for each
+                gramLists[i] = list >= 0 ? lists[list] : EMPTY;
+                ends[i] = list >= 0 ? listSizes[list] : 0;
+            }
+            int merged = radius * q + 1;
+
+            // Worst suggestion on top, to be dropped when a closer one is found
+            PriorityQueue<Suggestion> best = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+            int[] row = new int[longestKey + 1];
+            while (true) {
+                // Next key of the merged lists, skipping the keys whose length is too far from the query
+                int posting = Integer.MAX_VALUE;
+                for (int i = 0; i < merged; i++) {
+                    int[] postings = gramLists[i];
+                    int cursor = cursors[i];
+                    while (cursor < ends[i] && isTooFar(postings[cursor], query.length, radius)) {
+                        cursor++;
+                    }
+                    cursors[i] = cursor;
+                    if (cursor < ends[i]) {
+                        posting = Math.min(posting, postings[cursor]);
+                    }
+                }
+                if (posting == Integer.MAX_VALUE) {
+                    break;
+                }
+                int found = 0;
+                for (int i = 0; i < merged; i++) {
+                    if (cursors[i] < ends[i] && gramLists[i][cursors[i]] == posting) {
+                        found++;
+                        cursors[i]++;
+                    }
+                }
+                int required = queryGrams - radius * q;
+                for (int i = merged; i < queryGrams && found < required && found + queryGrams - i >= required; i++) {
+                    cursors[i] = seek(gramLists[i], cursors[i], ends[i], posting);
+                    if (cursors[i] < ends[i] && gramLists[i][cursors[i]] == posting) {
+                        found++;
+                    }
+                }
+                if (found < required) {
+                    continue;
+                }
+
+                int candidate = posting >>> LENGTH_BITS;
+                int start = keyStarts[candidate];
+                int d = distance(query, keyValues, start, keyStarts[candidate + 1] - start, radius, row);
+                if (d <= radius) {
+                    best.add(new Suggestion(words[candidate], d));
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                    if (best.size() == limit) {
+                        radius = Math.min(radius, best.peek().distance());
+                    }
+                }
+            }
+            List<Suggestion> suggestions = new ArrayList<>(best);
+            suggestions.sort(BEST_FIRST);
+            return suggestions;
+        }
+
+        /**
+         * Position of the first posting not below {@code posting} in {@code postings[from..end)}. The postings
+         * looked up come in increasing order and are usually close to {@code from}, so the range is found by
+         * doubling steps before the binary search.
+         */
+        private static int seek(int @NotNull [] postings, int from, int end, int posting) {
+            int low = from;
+            int high = from;
+            int step = 1;
+            while (high < end && postings[high] < posting) {
+                low = high + 1;
+                high = from + step;
+                step <<= 1;
+            }
+            int found = Arrays.binarySearch(postings, low, Math.min(high + 1, end), posting);
+            return found >= 0 ? found : -found - 1;
+        }
+
+        private static boolean isTooFar(int posting, int length, int maxGap) {
+            int postingLength = posting & LENGTH_MASK;
+            // Longer keys share the last length, and are only told apart by the distance
+            return postingLength < LENGTH_MASK && Math.abs(postingLength - length) > maxGap;
+        }
+
+        /**
+         * @return the list of the gram with {@code hash}, created if missing when {@code create} is set, or -1
+         */
+        private int listOf(long hash, boolean create) {
+            int mask = gramHashes.length - 1;
+            int slot = (int) (hash ^ hash >>> 32) & mask;
+            while (gramLists[slot] >= 0) {
+                if (gramHashes[slot] == hash) {
+                    return gramLists[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (!create) {
+                return -1;
+            }
+            int list = gramCount++;
+            gramHashes[slot] = hash;
+            gramLists[slot] = list;
+            if (list == lists.length) {
+                lists = Arrays.copyOf(lists, list * 2);
+                listSizes = Arrays.copyOf(listSizes, list * 2);
+            }
+            lists[list] = EMPTY;
+            if (gramCount * 2 > gramHashes.length) {
+                rehash();
+            }
+            return list;
+        }
+
+        private void rehash() {
+            long[] oldHashes = gramHashes;
+            int[] oldLists = gramLists;
+            gramHashes = new long[oldHashes.length * 2];
+            gramLists = new int[oldLists.length * 2];
+            Arrays.fill(gramLists, -1);
+            int mask = gramHashes.length - 1;
+            for (int i = 0; i < oldHashes.length; i++) {
+                if (oldLists[i] >= 0) {
+                    int slot = (int) (oldHashes[i] ^ oldHashes[i] >>> 32) & mask;
+                    while (gramLists[slot] >= 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    gramHashes[slot] = oldHashes[i];
+                    gramLists[slot] = oldLists[i];
+                }
+            }
+        }
+
+        /**
+         * Hash of the gram ending at {@code position} of the padded key.
+         */
+        private long hash(int @NotNull [] key, int position) {
+            long hash = 0;
+            for (int i = position - q + 1; i <= position; i++) {
+                int element = i < 0 ? START : i >= key.length ? END : key[i];
+                hash = (hash + element) * 0x9E3779B97F4A7C15L;
+            }
+            return hash;
+        }
+    }
+}
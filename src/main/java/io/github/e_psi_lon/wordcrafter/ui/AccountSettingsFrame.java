@@ -7,6 +7,7 @@ import org.jetbrains.annotations.NotNull;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Account settings frame for logged-in users.
@@ -196,12 +197,18 @@ public class AccountSettingsFrame extends JFrame {
             return;
         }
 
-        authService.updateUsername(currentUser.getId(), newUsername);
-        usernameLabel.setText(newUsername);
-        currentUser = new Player(currentUser.getId(), newUsername, "", 0);
-
-        JOptionPane.showMessageDialog(this, "Nom d'utilisateur changé avec succès!", "Succès", JOptionPane.INFORMATION_MESSAGE);
-        newUsernameField.setText("");
+        authService.updateUsernameAsync(currentUser.getId(), newUsername).whenCompleteAsync((ignored, error) -> {
+            if (error != null) {
+                error.printStackTrace();
+                JOptionPane.showMessageDialog(this, "Erreur lors du changement de nom: " + error.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            usernameLabel.setText(newUsername);
+            currentUser = new Player(currentUser.getId(), newUsername, "", 0);
+
+            JOptionPane.showMessageDialog(this, "Nom d'utilisateur changé avec succès!", "Succès", JOptionPane.INFORMATION_MESSAGE);
+            newUsernameField.setText("");
+        }, EdtExecutor.INSTANCE);
     }
 
     private void changePassword(@NotNull JPasswordField oldPasswordField, @NotNull JPasswordField newPasswordField, @NotNull JPasswordField confirmPasswordField) {
@@ -224,19 +231,27 @@ public class AccountSettingsFrame extends JFrame {
             return;
         }
 
-        User authenticatedUser = authService.authenticate(currentUser.getUsername(), oldPassword);
-
-        if (authenticatedUser == null) {
-            JOptionPane.showMessageDialog(this, "Ancien mot de passe incorrect!", "Erreur", JOptionPane.ERROR_MESSAGE);
-            return;
-        }
-
-        authService.updatePassword(currentUser.getId(), newPassword);
-
-        JOptionPane.showMessageDialog(this, "Mot de passe changé avec succès!", "Succès", JOptionPane.INFORMATION_MESSAGE);
-        oldPasswordField.setText("");
-        newPasswordField.setText("");
-        confirmPasswordField.setText("");
+        int userId = currentUser.getId();
+        authService.authenticateAsync(currentUser.getUsername(), oldPassword)
+                .thenCompose(authenticatedUser -> authenticatedUser == null
+                        ? CompletableFuture.completedFuture(false)
+                        : authService.updatePasswordAsync(userId, newPassword).thenApply(ignored -> true))
+                .whenCompleteAsync((changed, error) -> {
+                    if (error != null) {
+                        error.printStackTrace();
+                        JOptionPane.showMessageDialog(this, "Erreur lors du changement de mot de passe: " + error.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
+                        return;
+                    }
+                    if (!changed) {
+                        JOptionPane.showMessageDialog(this, "Ancien mot de passe incorrect!", "Erreur", JOptionPane.ERROR_MESSAGE);
+                        return;
+                    }
+
+                    JOptionPane.showMessageDialog(this, "Mot de passe changé avec succès!", "Succès", JOptionPane.INFORMATION_MESSAGE);
+                    oldPasswordField.setText("");
+                    newPasswordField.setText("");
+                    confirmPasswordField.setText("");
+                }, EdtExecutor.INSTANCE);
     }
 
     private void deleteAccount() {
@@ -247,10 +262,16 @@ public class AccountSettingsFrame extends JFrame {
                 JOptionPane.WARNING_MESSAGE);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            authService.deleteAccount(currentUser.getId());
-            JOptionPane.showMessageDialog(this, "Compte supprimé.", "Succès", JOptionPane.INFORMATION_MESSAGE);
-            onAccountDeleted.run();
-            dispose();
+            authService.deleteAccountAsync(currentUser.getId()).whenCompleteAsync((ignored, error) -> {
+                if (error != null) {
+                    error.printStackTrace();
+                    JOptionPane.showMessageDialog(this, "Erreur lors de la suppression: " + error.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                JOptionPane.showMessageDialog(this, "Compte supprimé.", "Succès", JOptionPane.INFORMATION_MESSAGE);
+                onAccountDeleted.run();
+                dispose();
+            }, EdtExecutor.INSTANCE);
         }
     }
 }
@@ -15,6 +15,7 @@ public final class AppColors {
     public static final Color BUTTON_COLOR = new Color(255, 182, 193);
     public static final Color MORPHEME_COLOR = new Color(255, 228, 225);
     public static final Color SELECTED_COLOR = new Color(255, 192, 203);
+    public static final Color EXTENDABLE_COLOR = new Color(221, 245, 221);
     public static final Color TITLE_TEXT = new Color(199, 21, 133);
     public static final Color SUCCESS_TEXT = new Color(0, 128, 0);
     public static final Color DANGER = new Color(220, 20, 60);
@@ -3,14 +3,26 @@ package io.github.e_psi_lon.wordcrafter.ui;
 import io.github.e_psi_lon.wordcrafter.controller.EditorController;
 import io.github.e_psi_lon.wordcrafter.model.Morpheme;
 import io.github.e_psi_lon.wordcrafter.model.Word;
+import io.github.e_psi_lon.wordcrafter.service.DictionaryImporter;
+import io.github.e_psi_lon.wordcrafter.service.MorphemeSegmenter;
+import io.github.e_psi_lon.wordcrafter.service.MorphemeWordIndex;
+import io.github.e_psi_lon.wordcrafter.service.SearchIndex;
 import org.jetbrains.annotations.NotNull;
 
 import javax.swing.*;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 import java.awt.*;
+import java.awt.event.FocusAdapter;
+import java.awt.event.FocusEvent;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Editor frame for administrators to add morphemes and words to the database.
@@ -18,11 +30,19 @@ import java.util.List;
 public class EditorFrame extends JFrame {
     private static final Color LIGHT_CLOUD = AppColors.LIGHT_CLOUD;
     private static final Color BUTTON_COLOR = AppColors.BUTTON_COLOR;
+    private static final int SEARCH_DELAY_MS = 150;
+    // Words listed under a selected morpheme or a new word that already exists
+    private static final int PREVIEW_WORDS = 5;
     private final EditorController editorController;
-    private List<Morpheme> allMorphemes;
-    private List<Word> allWords;
-    private DefaultListModel<String> morphemeListModel;
-    private DefaultListModel<String> wordListModel;
+    private SearchIndex<Morpheme> morphemeIndex;
+    private SearchIndex<Word> wordIndex;
+    private SearchResultsModel<Morpheme> morphemeListModel;
+    private SearchResultsModel<Word> wordListModel;
+    private JList<String> morphemeList;
+    private JList<String> wordList;
+    private JTextField morphemeSearchField;
+    private JTextField wordSearchField;
+    private JLabel morphemeUsageLabel;
 
     public EditorFrame(@NotNull EditorController editorController) {
         this.editorController = editorController;
@@ -30,20 +50,42 @@ public class EditorFrame extends JFrame {
         setSize(1200, 700);
         setLocationRelativeTo(null);
 
-        allMorphemes = editorController.getAllMorphemes();
-        allWords = editorController.getAllWords();
+        // Filled in the background, the lists stay empty until then
+        morphemeIndex = SearchIndex.build(List.of(), Morpheme::text);
+        wordIndex = SearchIndex.build(List.of(), Word::text);
 
         initComponents();
+        reloadMorphemes();
+        reloadWords();
     }
 
+    /**
+     * Reloads the morphemes and rebuilds their search index in the background, then reapplies the current search.
+     */
     private void reloadMorphemes() {
-        allMorphemes = editorController.getAllMorphemes();
-        updateMorphemeList("", morphemeListModel);
+        editorController.getAllMorphemesAsync()
+                .thenApply(morphemes -> SearchIndex.build(morphemes, Morpheme::text))
+                .whenCompleteAsync((index, error) -> {
+                    if (error != null) {
+                        error.printStackTrace();
+                        return;
+                    }
+                    morphemeIndex = index;
+                    updateMorphemeList();
+                }, EdtExecutor.INSTANCE);
     }
 
     private void reloadWords() {
-        allWords = editorController.getAllWords();
-        updateWordList("", wordListModel);
+        editorController.getAllWordsAsync()
+                .thenApply(words -> SearchIndex.build(words, Word::text))
+                .whenCompleteAsync((index, error) -> {
+                    if (error != null) {
+                        error.printStackTrace();
+                        return;
+                    }
+                    wordIndex = index;
+                    updateWordList();
+                }, EdtExecutor.INSTANCE);
     }
 
     private void initComponents() {
@@ -51,8 +93,8 @@ public class EditorFrame extends JFrame {
         mainPanel.setBackground(LIGHT_CLOUD);
         mainPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 
-        morphemeListModel = new DefaultListModel<>();
-        wordListModel = new DefaultListModel<>();
+        morphemeListModel = new SearchResultsModel<>(morpheme -> morpheme.id() + " - " + morpheme.text());
+        wordListModel = new SearchResultsModel<>(word -> word.id() + " - " + word.text());
 
         // Left side: Tabs for adding morphemes and words
         JTabbedPane tabbedPane = new JTabbedPane();
@@ -70,6 +112,10 @@ public class EditorFrame extends JFrame {
         JPanel adminPanel = createAdminPanel();
         tabbedPane.addTab("Créer Admin", adminPanel);
 
+        // Bulk import tab
+        JPanel importPanel = createImportPanel();
+        tabbedPane.addTab("Importer", importPanel);
+
         // Right side: Searchable lists for morphemes and words
         JPanel listsPanel = createListsPanel();
 
@@ -123,11 +169,19 @@ public class EditorFrame extends JFrame {
             String text = morphemeTextField.getText().trim();
             String definition = definitionTextField.getText().trim();
             if (!text.isEmpty() && !definition.isEmpty()) {
-                editorController.handleAddMorpheme(text, definition);
-                JOptionPane.showMessageDialog(this, "Morphème ajouté avec succès!", "Succès", JOptionPane.INFORMATION_MESSAGE);
-                morphemeTextField.setText("");
-                definitionTextField.setText("");
-                reloadMorphemes();
+                addButton.setEnabled(false);
+                editorController.handleAddMorphemeAsync(text, definition).whenCompleteAsync((morpheme, error) -> {
+                    addButton.setEnabled(true);
+                    if (error != null || morpheme == null) {
+                        if (error != null) error.printStackTrace();
+                        JOptionPane.showMessageDialog(this, "Erreur lors de l'ajout du morphème!", "Erreur", JOptionPane.ERROR_MESSAGE);
+                        return;
+                    }
+                    JOptionPane.showMessageDialog(this, "Morphème ajouté avec succès!", "Succès", JOptionPane.INFORMATION_MESSAGE);
+                    morphemeTextField.setText("");
+                    definitionTextField.setText("");
+                    reloadMorphemes();
+                }, EdtExecutor.INSTANCE);
             } else {
                 JOptionPane.showMessageDialog(this, "Veuillez remplir tous les champs!", "Erreur", JOptionPane.ERROR_MESSAGE);
             }
@@ -158,6 +212,25 @@ public class EditorFrame extends JFrame {
         gbc.gridx = 1;
         JTextField morphemeIdsField = new JTextField(20);
         formPanel.add(morphemeIdsField, gbc);
+        JLabel impactLabel = new JLabel(" ");
+        impactLabel.setFont(impactLabel.getFont().deriveFont(11f));
+        addDebouncedSearch(morphemeIdsField, () -> previewWord(morphemeIdsField, impactLabel));
+
+        // Proposes the morphemes from the text of the word
+        gbc.gridx = 2;
+        JButton segmentButton = new JButton("Découper");
+        segmentButton.setBackground(BUTTON_COLOR);
+        segmentButton.setForeground(Color.WHITE);
+        segmentButton.addActionListener(e -> segmentWord(wordTextField, morphemeIdsField, true));
+        formPanel.add(segmentButton, gbc);
+        wordTextField.addFocusListener(new FocusAdapter() {
+            @Override
+            public void focusLost(FocusEvent e) {
+                if (morphemeIdsField.getText().isBlank()) {
+                    segmentWord(wordTextField, morphemeIdsField, false);
+                }
+            }
+        });
 
         // Definition
         gbc.gridx = 0;
@@ -199,13 +272,21 @@ public class EditorFrame extends JFrame {
 
                     int points = (Integer) pointsSpinner.getValue();
 
-                    editorController.handleAddWord(word, ids, points, definition);
-                    JOptionPane.showMessageDialog(this, "Mot ajouté avec succès!", "Succès", JOptionPane.INFORMATION_MESSAGE);
-                    wordTextField.setText("");
-                    morphemeIdsField.setText("");
-                    definitionTextField.setText("");
-                    pointsSpinner.setValue(5);
-                    reloadWords();
+                    addButton.setEnabled(false);
+                    editorController.handleAddWordAsync(word, ids, points, definition).whenCompleteAsync((added, error) -> {
+                        addButton.setEnabled(true);
+                        if (error != null || added == null) {
+                            if (error != null) error.printStackTrace();
+                            JOptionPane.showMessageDialog(this, "Erreur lors de l'ajout du mot!", "Erreur", JOptionPane.ERROR_MESSAGE);
+                            return;
+                        }
+                        JOptionPane.showMessageDialog(this, "Mot ajouté avec succès!", "Succès", JOptionPane.INFORMATION_MESSAGE);
+                        wordTextField.setText("");
+                        morphemeIdsField.setText("");
+                        definitionTextField.setText("");
+                        pointsSpinner.setValue(5);
+                        reloadWords();
+                    }, EdtExecutor.INSTANCE);
                 } catch (NumberFormatException ex) {
                     JOptionPane.showMessageDialog(this, "Erreur: IDs invalides. Utilisez le format: 1, 3, 5", "Erreur", JOptionPane.ERROR_MESSAGE);
                 }
@@ -215,9 +296,172 @@ public class EditorFrame extends JFrame {
         });
         formPanel.add(addButton, gbc);
 
+        // What the word would change, refreshed as its morpheme IDs are typed
+        gbc.gridy = 5;
+        gbc.gridwidth = 3;
+        gbc.anchor = GridBagConstraints.WEST;
+        formPanel.add(impactLabel, gbc);
+
         return formPanel;
     }
 
+    /**
+     * Fills {@code morphemeIdsField} with a way of splitting the text of {@code wordTextField} into known
+     * morphemes, computed in the background. The one with the fewest morphemes is used unless {@code choose}
+     * is set, in which case the admin picks among them and is told when there is none.
+     */
+    private void segmentWord(@NotNull JTextField wordTextField, @NotNull JTextField morphemeIdsField, boolean choose) {
+        String word = wordTextField.getText().trim();
+        if (word.isEmpty()) {
+            return;
+        }
+        editorController.segmentWordAsync(word).whenCompleteAsync((segmentations, error) -> {
+            if (error != null) {
+                error.printStackTrace();
+                return;
+            }
+            // The word was changed while it was being split
+            if (!word.equals(wordTextField.getText().trim())) {
+                return;
+            }
+            if (segmentations.isEmpty()) {
+                if (choose) {
+                    JOptionPane.showMessageDialog(this, "Aucun découpage de « " + word + " » en morphèmes connus.",
+                            "Découpage", JOptionPane.INFORMATION_MESSAGE);
+                }
+                return;
+            }
+            MorphemeSegmenter.Segmentation chosen = segmentations.getFirst();
+            if (choose && segmentations.size() > 1) {
+                String[] options = new String[segmentations.size()];
+                for (int i = 0; i < options.length; i++) {
+                    options[i] = formatSegmentation(segmentations.get(i));
+                }
+                Object selected = JOptionPane.showInputDialog(this, "Découpages possibles de « " + word + " » :",
+                        "Découpage", JOptionPane.QUESTION_MESSAGE, null, options, options[0]);
+                if (selected == null) {
+                    return;
+                }
+                chosen = segmentations.get(List.of(options).indexOf(selected));
+            }
+            StringBuilder ids = new StringBuilder();
+            for (Integer id : chosen.morphemeIds()) {
+                if (!ids.isEmpty()) {
+                    ids.append(", ");
+                }
+                ids.append(id);
+            }
+            morphemeIdsField.setText(ids.toString());
+        }, EdtExecutor.INSTANCE);
+    }
+
+    /**
+     * Shows, before the word is added, the words its morphemes already spell and how many words use each of them.
+     */
+    private void previewWord(@NotNull JTextField morphemeIdsField, @NotNull JLabel impactLabel) {
+        String idsText = morphemeIdsField.getText().trim();
+        List<Integer> ids = new ArrayList<>();
+        try {
+            for (String idStr : idsText.split(",")) {
+                if (!idStr.isBlank()) {
+                    ids.add(Integer.parseInt(idStr.trim()));
+                }
+            }
+        } catch (NumberFormatException e) {
+            impactLabel.setText(" ");
+            return;
+        }
+        if (ids.isEmpty()) {
+            impactLabel.setText(" ");
+            return;
+        }
+        editorController.previewWordAsync(ids).whenCompleteAsync((impact, error) -> {
+            if (error != null) {
+                error.printStackTrace();
+                return;
+            }
+            // The IDs were changed while the preview was computed
+            if (!idsText.equals(morphemeIdsField.getText().trim())) {
+                return;
+            }
+            StringBuilder text = new StringBuilder("<html>");
+            if (!impact.sameSequence().isEmpty()) {
+                text.append("<b>Ces morphèmes forment déjà :</b> ");
+                appendWordTexts(text, impact.sameSequence());
+                text.append("<br>");
+            }
+            for (int i = 0; i < ids.size(); i++) {
+                if (i > 0) {
+                    text.append(", ");
+                }
+                int count = impact.usageCounts().get(i);
+                text.append(ids.get(i)).append(count < 0 ? " : inconnu" : " : " + count + " mot(s)");
+            }
+            impactLabel.setText(text.append("</html>").toString());
+        }, EdtExecutor.INSTANCE);
+    }
+
+    /**
+     * Shows which words use the selected morpheme, and so what changing it would affect.
+     */
+    private void showMorphemeUsage() {
+        int selected = morphemeList.getSelectedIndex();
+        if (selected < 0) {
+            morphemeUsageLabel.setText(" ");
+            return;
+        }
+        Morpheme morpheme = morphemeListModel.getResultAt(selected);
+        editorController.getMorphemeOccurrencesAsync(morpheme.id()).whenCompleteAsync((occurrences, error) -> {
+            if (error != null) {
+                error.printStackTrace();
+                return;
+            }
+            // Another morpheme was selected in the meantime
+            int current = morphemeList.getSelectedIndex();
+            if (current < 0 || !morphemeListModel.getResultAt(current).equals(morpheme)) {
+                return;
+            }
+            Set<Word> words = new LinkedHashSet<>();
+            int first = 0;
+            for (MorphemeWordIndex.Occurrence occurrence : occurrences) {
+                words.add(occurrence.word());
+                if (occurrence.position() == 0) {
+                    first++;
+                }
+            }
+            StringBuilder text = new StringBuilder("<html><b>").append(morpheme.text()).append("</b> : ")
+                    .append(words.size()).append(" mot(s), dont ").append(first).append(" en tête");
+            if (!words.isEmpty()) {
+                text.append("<br>");
+                appendWordTexts(text, List.copyOf(words));
+            }
+            morphemeUsageLabel.setText(text.append("</html>").toString());
+        }, EdtExecutor.INSTANCE);
+    }
+
+    private static void appendWordTexts(@NotNull StringBuilder text, @NotNull List<Word> words) {
+        for (int i = 0; i < Math.min(words.size(), PREVIEW_WORDS); i++) {
+            if (i > 0) {
+                text.append(", ");
+            }
+            text.append(words.get(i).text());
+        }
+        if (words.size() > PREVIEW_WORDS) {
+            text.append(", …");
+        }
+    }
+
+    private static @NotNull String formatSegmentation(@NotNull MorphemeSegmenter.Segmentation segmentation) {
+        StringBuilder text = new StringBuilder();
+        for (Morpheme morpheme : segmentation.morphemes()) {
+            if (!text.isEmpty()) {
+                text.append(" + ");
+            }
+            text.append(morpheme.text()).append(" (").append(morpheme.id()).append(")");
+        }
+        return text.toString();
+    }
+
     private @NotNull JPanel createAdminPanel() {
         JPanel panel = new JPanel(new GridBagLayout());
         panel.setBackground(LIGHT_CLOUD);
@@ -275,21 +519,157 @@ public class EditorFrame extends JFrame {
                 return;
             }
 
-            boolean success = editorController.handleCreateAdmin(username, password);
-            if (success) {
-                JOptionPane.showMessageDialog(this, "Administrateur créé avec succès!", "Succès", JOptionPane.INFORMATION_MESSAGE);
-                usernameField.setText("");
-                passwordField.setText("");
-                confirmPasswordField.setText("");
-            } else {
-                JOptionPane.showMessageDialog(this, "Ce nom d'utilisateur existe déjà!", "Erreur", JOptionPane.ERROR_MESSAGE);
-            }
+            createButton.setEnabled(false);
+            editorController.handleCreateAdminAsync(username, password).whenCompleteAsync((success, error) -> {
+                createButton.setEnabled(true);
+                if (error != null) {
+                    error.printStackTrace();
+                    JOptionPane.showMessageDialog(this, "Erreur lors de la création: " + error.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                if (success) {
+                    JOptionPane.showMessageDialog(this, "Administrateur créé avec succès!", "Succès", JOptionPane.INFORMATION_MESSAGE);
+                    usernameField.setText("");
+                    passwordField.setText("");
+                    confirmPasswordField.setText("");
+                } else {
+                    JOptionPane.showMessageDialog(this, "Ce nom d'utilisateur existe déjà!", "Erreur", JOptionPane.ERROR_MESSAGE);
+                }
+            }, EdtExecutor.INSTANCE);
         });
         panel.add(createButton, gbc);
 
         return panel;
     }
 
+    private @NotNull JPanel createImportPanel() {
+        JPanel panel = new JPanel(new GridBagLayout());
+        panel.setBackground(LIGHT_CLOUD);
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(10, 10, 10, 10);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+
+        // File
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        panel.add(new JLabel("Fichier (CSV ou TSV):"), gbc);
+
+        gbc.gridx = 1;
+        JTextField fileField = new JTextField(20);
+        panel.add(fileField, gbc);
+
+        gbc.gridx = 2;
+        JButton browseButton = new JButton("Parcourir...");
+        browseButton.addActionListener(e -> {
+            JFileChooser chooser = new JFileChooser();
+            if (chooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
+                fileField.setText(chooser.getSelectedFile().getAbsolutePath());
+            }
+        });
+        panel.add(browseButton, gbc);
+
+        // Chunk size
+        gbc.gridx = 0;
+        gbc.gridy = 1;
+        panel.add(new JLabel("Lignes par transaction:"), gbc);
+
+        gbc.gridx = 1;
+        JSpinner chunkSpinner = new JSpinner(new SpinnerNumberModel(DictionaryImporter.DEFAULT_CHUNK_SIZE, 1, 100_000, 100));
+        panel.add(chunkSpinner, gbc);
+
+        // Resume
+        gbc.gridx = 1;
+        gbc.gridy = 2;
+        JCheckBox resumeBox = new JCheckBox("Reprendre l'import interrompu");
+        resumeBox.setBackground(LIGHT_CLOUD);
+        panel.add(resumeBox, gbc);
+
+        // Format reminder and progress
+        gbc.gridx = 0;
+        gbc.gridy = 3;
+        gbc.gridwidth = 3;
+        panel.add(new JLabel("Format : type, texte, définition, points, morphèmes (ex: mot,refaire,Faire de nouveau,5,re+faire)"), gbc);
+
+        gbc.gridy = 4;
+        JProgressBar progressBar = new JProgressBar(0, 100);
+        progressBar.setStringPainted(true);
+        panel.add(progressBar, gbc);
+
+        gbc.gridy = 5;
+        JLabel statusLabel = new JLabel(" ");
+        panel.add(statusLabel, gbc);
+
+        // Import button
+        gbc.gridy = 6;
+        gbc.anchor = GridBagConstraints.CENTER;
+        gbc.fill = GridBagConstraints.NONE;
+        JButton importButton = new JButton("Importer");
+        importButton.setBackground(BUTTON_COLOR);
+        importButton.setForeground(Color.WHITE);
+        importButton.addActionListener(e -> {
+            Path file = new File(fileField.getText().trim()).toPath();
+            if (!Files.isRegularFile(file)) {
+                JOptionPane.showMessageDialog(this, "Fichier introuvable!", "Erreur", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            int chunkSize = (Integer) chunkSpinner.getValue();
+            boolean resume = resumeBox.isSelected();
+            importButton.setEnabled(false);
+            progressBar.setValue(0);
+
+            new SwingWorker<DictionaryImporter.Result, DictionaryImporter.Progress>() {
+                @Override
+                protected DictionaryImporter.Result doInBackground() throws Exception {
+                    return editorController.handleImport(file, chunkSize, resume, this::publish);
+                }
+
+                @Override
+                protected void process(List<DictionaryImporter.Progress> chunks) {
+                    DictionaryImporter.Progress progress = chunks.get(chunks.size() - 1);
+                    progressBar.setValue((int) (100 * progress.bytesRead() / Math.max(1, progress.totalBytes())));
+                    statusLabel.setText(String.format("%,d lignes lues, %,d morphèmes, %,d mots, %,d rejetées (%,.0f lignes/s)",
+                            progress.rowsRead(), progress.morphemesImported(), progress.wordsImported(),
+                            progress.rowsRejected(), progress.rowsPerSecond()));
+                }
+
+                @Override
+                protected void done() {
+                    importButton.setEnabled(true);
+                    try {
+                        showImportResult(get());
+                    } catch (InterruptedException | ExecutionException ex) {
+                        ex.printStackTrace();
+                        JOptionPane.showMessageDialog(EditorFrame.this, "Erreur lors de l'import: " + ex.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
+                    }
+                    reloadMorphemes();
+                    reloadWords();
+                }
+            }.execute();
+        });
+        panel.add(importButton, gbc);
+
+        return panel;
+    }
+
+    private void showImportResult(DictionaryImporter.@NotNull Result result) {
+        StringBuilder message = new StringBuilder();
+        message.append(result.completed() ? "Import terminé" : "Import interrompu")
+                .append(String.format(" en %,d ms%n", result.elapsedMillis()))
+                .append(String.format("%,d morphèmes et %,d mots ajoutés, %,d lignes rejetées",
+                        result.morphemesImported(), result.wordsImported(), result.rowsRejected()));
+        if (result.rowsSkipped() > 0) {
+            message.append(String.format(", %,d lignes déjà importées ignorées", result.rowsSkipped()));
+        }
+        if (!result.completed()) {
+            message.append("\nRelancez avec « Reprendre l'import interrompu » pour continuer.");
+        }
+
+        JTextArea details = new JTextArea(message + "\n\n" + String.join("\n", result.errors()), 15, 60);
+        details.setEditable(false);
+        JOptionPane.showMessageDialog(this, new JScrollPane(details), "Import",
+                result.completed() ? JOptionPane.INFORMATION_MESSAGE : JOptionPane.WARNING_MESSAGE);
+    }
+
     private @NotNull JPanel createListsPanel() {
         JPanel panel = new JPanel(new BorderLayout(5, 5));
         panel.setBackground(LIGHT_CLOUD);
@@ -321,30 +701,19 @@ public class EditorFrame extends JFrame {
         searchPanel.setBackground(LIGHT_CLOUD);
         searchPanel.add(new JLabel("Rechercher:"), BorderLayout.WEST);
 
-        JTextField searchField = new JTextField(15);
-        searchPanel.add(searchField, BorderLayout.CENTER);
-
-        JList<String> morphemeList = createMorphemeList(morphemeListModel);
-        updateMorphemeList("", morphemeListModel);
-
-        searchField.getDocument().addDocumentListener(new DocumentListener() {
-            @Override
-            public void insertUpdate(DocumentEvent e) {
-                updateSearch();
-            }
+        morphemeSearchField = new JTextField(15);
+        searchPanel.add(morphemeSearchField, BorderLayout.CENTER);
 
-            @Override
-            public void removeUpdate(DocumentEvent e) {
-                updateSearch();
-            }
+        morphemeList = createMorphemeList(morphemeListModel);
+        updateMorphemeList();
+        addDebouncedSearch(morphemeSearchField, this::updateMorphemeList);
 
-            @Override
-            public void changedUpdate(DocumentEvent e) {
-                updateSearch();
-            }
-
-            private void updateSearch() {
-                updateMorphemeList(searchField.getText(), morphemeListModel);
+        // Words using the selected morpheme
+        morphemeUsageLabel = new JLabel(" ");
+        morphemeUsageLabel.setFont(morphemeUsageLabel.getFont().deriveFont(10f));
+        morphemeList.addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting()) {
+                showMorphemeUsage();
             }
         });
 
@@ -353,6 +722,7 @@ public class EditorFrame extends JFrame {
 
         panel.add(searchPanel, BorderLayout.NORTH);
         panel.add(scrollPane, BorderLayout.CENTER);
+        panel.add(morphemeUsageLabel, BorderLayout.SOUTH);
 
         return panel;
     }
@@ -367,46 +737,55 @@ public class EditorFrame extends JFrame {
         searchPanel.setBackground(LIGHT_CLOUD);
         searchPanel.add(new JLabel("Rechercher:"), BorderLayout.WEST);
 
-        JTextField searchField = new JTextField(15);
-        searchPanel.add(searchField, BorderLayout.CENTER);
+        wordSearchField = new JTextField(15);
+        searchPanel.add(wordSearchField, BorderLayout.CENTER);
 
-        JList<String> wordList = createWordList(wordListModel);
-        updateWordList("", wordListModel);
+        wordList = createWordList(wordListModel);
+        updateWordList();
+        addDebouncedSearch(wordSearchField, this::updateWordList);
 
-        // Search
+        JScrollPane scrollPane = new JScrollPane(wordList);
+        scrollPane.setPreferredSize(new Dimension(250, 500));
+
+        panel.add(searchPanel, BorderLayout.NORTH);
+        panel.add(scrollPane, BorderLayout.CENTER);
+
+        return panel;
+    }
+
+    /**
+     * Runs {@code search} once typing pauses for {@link #SEARCH_DELAY_MS}, instead of on every keystroke.
+     */
+    private void addDebouncedSearch(@NotNull JTextField searchField, @NotNull Runnable search) {
+        Timer timer = new Timer(SEARCH_DELAY_MS, e -> search.run());
+        timer.setRepeats(false);
         searchField.getDocument().addDocumentListener(new DocumentListener() {
             @Override
             public void insertUpdate(DocumentEvent e) {
-                updateSearch();
+                timer.restart();
             }
 
             @Override
             public void removeUpdate(DocumentEvent e) {
-                updateSearch();
+                timer.restart();
             }
 
             @Override
             public void changedUpdate(DocumentEvent e) {
-                updateSearch();
-            }
-
-            private void updateSearch() {
-                updateWordList(searchField.getText(), wordListModel);
+                timer.restart();
             }
         });
-
-        JScrollPane scrollPane = new JScrollPane(wordList);
-        scrollPane.setPreferredSize(new Dimension(250, 500));
-
-        panel.add(searchPanel, BorderLayout.NORTH);
-        panel.add(scrollPane, BorderLayout.CENTER);
-
-        return panel;
+        searchField.addActionListener(e -> {
+            timer.stop();
+            search.run();
+        });
     }
 
-    private @NotNull JList<String> createMorphemeList(DefaultListModel<String> listModel) {
+    private @NotNull JList<String> createMorphemeList(ListModel<String> listModel) {
         JList<String> morphemeList = new JList<>(listModel);
         morphemeList.setBackground(Color.WHITE);
+        // A prototype row spares the list from measuring every row of a large result
+        morphemeList.setPrototypeCellValue("000000 - morphème");
         morphemeList.setCellRenderer(new DefaultListCellRenderer() {
             @Override
             public Component getListCellRendererComponent(JList<?> list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
@@ -418,9 +797,10 @@ public class EditorFrame extends JFrame {
         return morphemeList;
     }
 
-    private @NotNull JList<String> createWordList(DefaultListModel<String> listModel) {
+    private @NotNull JList<String> createWordList(ListModel<String> listModel) {
         JList<String> wordList = new JList<>(listModel);
         wordList.setBackground(Color.WHITE);
+        wordList.setPrototypeCellValue("000000 - anticonstitutionnellement");
         wordList.setCellRenderer(new DefaultListCellRenderer() {
             @Override
             public Component getListCellRendererComponent(JList<?> list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
@@ -432,28 +812,14 @@ public class EditorFrame extends JFrame {
         return wordList;
     }
 
-    private void updateMorphemeList(@NotNull String filter, @NotNull DefaultListModel<String> model) {
-        model.clear();
-        String filterLower = filter.toLowerCase();
-
-        for (Morpheme morpheme : allMorphemes) {
-            if (morpheme.text().toLowerCase().contains(filterLower) ||
-                    String.valueOf(morpheme.id()).contains(filterLower)) {
-                model.addElement(morpheme.id() + " - " + morpheme.text());
-            }
-        }
+    private void updateMorphemeList() {
+        morphemeList.clearSelection();
+        morphemeListModel.setResults(morphemeIndex.search(morphemeSearchField.getText()));
     }
 
-    private void updateWordList(@NotNull String filter, @NotNull DefaultListModel<String> model) {
-        model.clear();
-        String filterLower = filter.toLowerCase();
-
-        for (Word word : allWords) {
-            if (word.text().toLowerCase().contains(filterLower) ||
-                    String.valueOf(word.id()).contains(filterLower)) {
-                model.addElement(word.id() + " - " + word.text());
-            }
-        }
+    private void updateWordList() {
+        wordList.clearSelection();
+        wordListModel.setResults(wordIndex.search(wordSearchField.getText()));
     }
 }
 
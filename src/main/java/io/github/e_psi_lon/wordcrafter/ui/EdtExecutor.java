@@ -0,0 +1,25 @@
+package io.github.e_psi_lon.wordcrafter.ui;
+
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs the continuations of asynchronous service calls on the Swing event dispatch thread,
+ * e.g. {@code future.whenCompleteAsync(callback, EdtExecutor.INSTANCE)}.
+ */
+public final class EdtExecutor implements Executor {
+    public static final EdtExecutor INSTANCE = new EdtExecutor();
+
+    private EdtExecutor() {}
+
+    @Override
+    public void execute(@NotNull Runnable command) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            command.run();
+        } else {
+            SwingUtilities.invokeLater(command);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.e_psi_lon.wordcrafter.ui;
+
+import io.github.e_psi_lon.wordcrafter.model.PlayerStanding;
+import io.github.e_psi_lon.wordcrafter.service.PlayerService;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scrollable leaderboard. Pages are fetched in the background, the first one when the panel is created
+ * and the next ones as the list is scrolled to the bottom.
+ */
+public class LeaderboardPanel extends JPanel {
+    private static final int PAGE_SIZE = 50;
+
+    private final PlayerService playerService;
+    private final int currentUserId;
+    private final LeaderboardModel model = new LeaderboardModel();
+    private boolean loading;
+    private boolean exhausted;
+
+    /**
+     * @param currentUserId the player to highlight, or -1
+     */
+    public LeaderboardPanel(@NotNull PlayerService playerService, int currentUserId) {
+        super(new BorderLayout());
+        this.playerService = playerService;
+        this.currentUserId = currentUserId;
+
+        JList<String> list = new JList<>(model);
+        list.setFont(new Font("Monospaced", Font.PLAIN, 12));
+        JScrollPane scrollPane = new JScrollPane(list);
+        scrollPane.getVerticalScrollBar().addAdjustmentListener(e -> {
+            JScrollBar bar = scrollPane.getVerticalScrollBar();
+            if (!e.getValueIsAdjusting() && bar.getValue() + bar.getVisibleAmount() >= bar.getMaximum() - bar.getVisibleAmount()) {
+                loadNextPage();
+            }
+        });
+        add(scrollPane, BorderLayout.CENTER);
+
+        loadNextPage();
+    }
+
+    private void loadNextPage() {
+        if (loading || exhausted) {
+            return;
+        }
+        loading = true;
+        playerService.getLeaderboardPageAsync(model.last(), PAGE_SIZE).whenCompleteAsync((page, error) -> {
+            loading = false;
+            if (error != null) {
+                error.printStackTrace();
+                exhausted = true;
+                return;
+            }
+            exhausted = page.size() < PAGE_SIZE;
+            model.append(page);
+        }, EdtExecutor.INSTANCE);
+    }
+
+    private final class LeaderboardModel extends AbstractListModel<String> {
+        private final List<PlayerStanding> standings = new ArrayList<>();
+        private final List<Integer> ranks = new ArrayList<>();
+
+        void append(@NotNull List<PlayerStanding> page) {
+            if (page.isEmpty()) {
+                return;
+            }
+            int first = standings.size();
+            for (PlayerStanding standing : page) {
+                int position = standings.size();
+                // Players with the same score share the rank of the first of them
+                boolean tied = position > 0 && standings.get(position - 1).score() == standing.score();
+                ranks.add(tied ? ranks.get(position - 1) : position + 1);
+                standings.add(standing);
+            }
+            fireIntervalAdded(this, first, standings.size() - 1);
+        }
+
+        PlayerStanding last() {
+            return standings.isEmpty() ? null : standings.get(standings.size() - 1);
+        }
+
+        @Override
+        public int getSize() {
+            return standings.size();
+        }
+
+        @Override
+        public String getElementAt(int index) {
+            PlayerStanding standing = standings.get(index);
+            String text = ranks.get(index) + ". " + standing.username() + " - " + standing.score() + " points";
+            return standing.userId() == currentUserId ? text + " ◀" : text;
+        }
+    }
+}
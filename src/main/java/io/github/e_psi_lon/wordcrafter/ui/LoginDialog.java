@@ -12,6 +12,8 @@ public class LoginDialog extends JDialog {
     private User authenticatedUser;
     private JTextField usernameField;
     private JPasswordField passwordField;
+    private JButton loginButton;
+    private JButton registerButton;
     private final AuthController authController;
 
     private static final Color LIGHT_CLOUD = AppColors.LIGHT_CLOUD;
@@ -70,13 +72,13 @@ public class LoginDialog extends JDialog {
         JPanel buttonPanel = new JPanel(new FlowLayout());
         buttonPanel.setBackground(LIGHT_CLOUD);
 
-        JButton loginButton = new JButton("Se connecter");
+        loginButton = new JButton("Se connecter");
         loginButton.setBackground(BUTTON_COLOR);
         loginButton.setForeground(Color.WHITE);
         loginButton.addActionListener(e -> login());
         buttonPanel.add(loginButton);
 
-        JButton registerButton = new JButton("S'inscrire");
+        registerButton = new JButton("S'inscrire");
         registerButton.setBackground(BUTTON_COLOR);
         registerButton.setForeground(Color.WHITE);
         registerButton.addActionListener(e -> register());
@@ -98,13 +100,22 @@ public class LoginDialog extends JDialog {
             JOptionPane.showMessageDialog(this, "Veuillez remplir tous les champs.", "Erreur", JOptionPane.ERROR_MESSAGE);
             return;
         }
-        authenticatedUser = authController.handleLogin(username, password);
-
-        if (authenticatedUser != null) {
-            JOptionPane.showMessageDialog(this, "Connexion réussie !", "Succès", JOptionPane.INFORMATION_MESSAGE);
-            dispose();
-        } else
-            JOptionPane.showMessageDialog(this, "Nom d'utilisateur ou mot de passe invalide.", "Erreur", JOptionPane.ERROR_MESSAGE);
+        setBusy(true);
+        authController.handleLoginAsync(username, password).whenCompleteAsync((user, error) -> {
+            setBusy(false);
+            if (error != null) {
+                error.printStackTrace();
+                JOptionPane.showMessageDialog(this, "Erreur lors de la connexion: " + error.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            authenticatedUser = user;
+
+            if (authenticatedUser != null) {
+                JOptionPane.showMessageDialog(this, "Connexion réussie !", "Succès", JOptionPane.INFORMATION_MESSAGE);
+                dispose();
+            } else
+                JOptionPane.showMessageDialog(this, "Nom d'utilisateur ou mot de passe invalide.", "Erreur", JOptionPane.ERROR_MESSAGE);
+        }, EdtExecutor.INSTANCE);
     }
 
     private void register() {
@@ -115,12 +126,27 @@ public class LoginDialog extends JDialog {
             JOptionPane.showMessageDialog(this, "Veuillez remplir tous les champs.", "Erreur", JOptionPane.ERROR_MESSAGE);
             return;
         }
-        boolean success = authController.handlePlayerRegistration(username, password);
+        setBusy(true);
+        authController.handlePlayerRegistrationAsync(username, password).whenCompleteAsync((success, error) -> {
+            setBusy(false);
+            if (error != null) {
+                error.printStackTrace();
+                JOptionPane.showMessageDialog(this, "Erreur lors de l'inscription: " + error.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+
+            if (success)
+                JOptionPane.showMessageDialog(this, "Inscription réussie ! Vous pouvez maintenant vous connecter.", "Succès", JOptionPane.INFORMATION_MESSAGE);
+            else
+                JOptionPane.showMessageDialog(this, "Ce nom d'utilisateur existe déjà.", "Erreur", JOptionPane.ERROR_MESSAGE);
+        }, EdtExecutor.INSTANCE);
+    }
 
-        if (success)
-            JOptionPane.showMessageDialog(this, "Inscription réussie ! Vous pouvez maintenant vous connecter.", "Succès", JOptionPane.INFORMATION_MESSAGE);
-        else
-            JOptionPane.showMessageDialog(this, "Ce nom d'utilisateur existe déjà.", "Erreur", JOptionPane.ERROR_MESSAGE);
+    // Prevents a second request while one is in progress
+    private void setBusy(boolean busy) {
+        loginButton.setEnabled(!busy);
+        registerButton.setEnabled(!busy);
+        setCursor(busy ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : Cursor.getDefaultCursor());
     }
 
     public User getAuthenticatedUser() {
@@ -1,9 +1,11 @@
 package io.github.e_psi_lon.wordcrafter.ui;
 
 import io.github.e_psi_lon.wordcrafter.controller.GameController;
+import io.github.e_psi_lon.wordcrafter.controller.PrefixMatcherController;
 import io.github.e_psi_lon.wordcrafter.model.Admin;
 import io.github.e_psi_lon.wordcrafter.model.Player;
 import io.github.e_psi_lon.wordcrafter.model.User;
+import io.github.e_psi_lon.wordcrafter.service.Leaderboard;
 import io.github.e_psi_lon.wordcrafter.service.ServiceFactory;
 import io.github.e_psi_lon.wordcrafter.ui.game.MainGameFrame;
 import io.github.e_psi_lon.wordcrafter.ui.game.FreeBuildFrame;
@@ -30,6 +32,7 @@ public class MainMenuFrame extends JFrame {
     private static final Color PASTEL_PINK = AppColors.PASTEL_PINK;
     private static final Color LIGHT_CLOUD = AppColors.LIGHT_CLOUD;
     private static final Color BUTTON_COLOR = AppColors.BUTTON_COLOR;
+    private static final int LEADERBOARD_RADIUS = 3;
 
     public MainMenuFrame(ServiceFactory serviceFactory) {
         this.serviceFactory = serviceFactory;
@@ -266,9 +269,17 @@ public class MainMenuFrame extends JFrame {
 
         showFrozenOverlay();
         GameController gameController = serviceFactory.createGameController(player);
-        JDialog gameDialog = new JDialog(this, "WordCrafter - Mode de jeu principal", true);
-        MainGameFrame gameFrame = new MainGameFrame(gameController, gameController.getGameStateManager());
-        gameLauncher(gameDialog, gameFrame.getContentPane(), gameFrame.getSize());
+        gameController.generateBoardAsync().whenCompleteAsync((board, error) -> {
+            if (error != null) {
+                error.printStackTrace();
+                hideFrozenOverlay();
+                JOptionPane.showMessageDialog(this, "Erreur lors de la création de la grille: " + error.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            JDialog gameDialog = new JDialog(this, "WordCrafter - Mode de jeu principal", true);
+            MainGameFrame gameFrame = new MainGameFrame(gameController, gameController.getGameStateManager(), board);
+            gameLauncher(gameDialog, gameFrame.getContentPane(), gameFrame.getSize());
+        }, EdtExecutor.INSTANCE);
     }
     
     private void launchFreeBuild() {
@@ -304,10 +315,20 @@ public class MainMenuFrame extends JFrame {
     }
 
     private void launchPrefixMatcher() {
+        if (currentUser == null) {
+            JOptionPane.showMessageDialog(this, "Veuillez d'abord vous connecter !", "Connexion requise", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        if (!(currentUser instanceof Player player)) {
+            JOptionPane.showMessageDialog(this, "Seuls les joueurs peuvent jouer !", "Accès refusé", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
         showFrozenOverlay();
+        PrefixMatcherController prefixController = serviceFactory.createPrefixMatcherController(player);
 
         JDialog prefixDialog = new JDialog(this, "WordCrafter - Mode préfixe-matcher", true);
-        PrefixMatcherFrame prefixMatcherFrame = new PrefixMatcherFrame();
+        PrefixMatcherFrame prefixMatcherFrame = new PrefixMatcherFrame(prefixController);
         gameLauncher(prefixDialog, prefixMatcherFrame.getContentPane(), prefixMatcherFrame.getSize());
     }
     
@@ -327,36 +348,74 @@ public class MainMenuFrame extends JFrame {
         JOptionPane.showMessageDialog(this, "Il n'y a pas de paramètres à configurer.", "Paramètres", JOptionPane.INFORMATION_MESSAGE);
     }
 
+    /**
+     * What the statistics dialog shows, read off the event dispatch thread.
+     */
+    private record Statistics(Leaderboard.Standing standing, int morphemeCount, int wordCount) {}
+
     private void showStatistics() {
-        var dbManager = serviceFactory.getDatabaseManager();
-        var allPlayers = dbManager.getAllPlayers();
-        allPlayers.sort((p1, p2) -> Integer.compare(p2.getScore(), p1.getScore()));
+        var playerService = serviceFactory.getPlayerService();
+        var gameService = serviceFactory.getGameService();
+        int userId = currentUser instanceof Player player ? player.getId() : -1;
+        // The rank, the players around and the total come from the same in-memory ranking
+        serviceFactory.getAsyncExecutor().supply(() -> new Statistics(
+                playerService.getLeaderboard().getStanding(userId, LEADERBOARD_RADIUS),
+                gameService.getMorphemeCount(), gameService.getWordCount())
+        ).whenCompleteAsync((statistics, error) -> {
+            if (error != null) {
+                error.printStackTrace();
+                JOptionPane.showMessageDialog(this, "Impossible de charger le classement.", "Erreur", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            showStatistics(statistics, userId);
+        }, EdtExecutor.INSTANCE);
+    }
+
+    private void showStatistics(@NotNull Statistics statistics, int userId) {
+        Leaderboard.Standing standing = statistics.standing();
+        JPanel statisticsPanel = new JPanel(new BorderLayout(0, 10));
+
+        LeaderboardPanel leaderboardPanel = new LeaderboardPanel(serviceFactory.getPlayerService(), currentUser != null ? currentUser.getId() : -1);
+        leaderboardPanel.setBorder(BorderFactory.createTitledBorder("Classement"));
+        leaderboardPanel.setPreferredSize(new Dimension(400, 250));
+        statisticsPanel.add(leaderboardPanel, BorderLayout.CENTER);
 
         StringBuilder stats = new StringBuilder();
-        stats.append("=== CLASSEMENT ===\n\n");
-
-        int rank = 1;
-        for (var player : allPlayers) {
-            stats.append(rank++).append(". ")
-                 .append(player.getUsername())
-                 .append(" - ")
-                 .append(player.getScore())
-                 .append(" points\n");
+        for (var entry : standing.around()) {
+            if (entry.userId() == userId) {
+                stats.append("=== VOTRE POSITION ===\n");
+                stats.append("Rang ").append(entry.rank()).append(" sur ").append(standing.playerCount()).append("\n\n");
+                for (var neighbour : standing.around()) {
+                    appendRanking(stats, neighbour);
+                }
+                stats.append("\n");
+                break;
+            }
         }
 
-        stats.append("\n=== STATISTIQUES ===\n");
-        stats.append("Total joueurs: ").append(allPlayers.size()).append("\n");
-        stats.append("Total morphèmes: ").append(serviceFactory.getGameService().getAllAvailableMorphemes().size()).append("\n");
-        stats.append("Total mots: ").append(serviceFactory.getGameService().getAllAvailableWords().size()).append("\n");
+        stats.append("=== STATISTIQUES ===\n");
+        stats.append("Total joueurs: ").append(standing.playerCount()).append("\n");
+        stats.append("Total morphèmes: ").append(statistics.morphemeCount()).append("\n");
+        stats.append("Total mots: ").append(statistics.wordCount()).append("\n");
 
         JTextArea textArea = new JTextArea(stats.toString());
         textArea.setEditable(false);
         textArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
+        statisticsPanel.add(textArea, BorderLayout.SOUTH);
 
-        JScrollPane scrollPane = new JScrollPane(textArea);
-        scrollPane.setPreferredSize(new Dimension(400, 300));
+        JOptionPane.showMessageDialog(this, statisticsPanel, "Statistiques et Classement", JOptionPane.INFORMATION_MESSAGE);
+    }
 
-        JOptionPane.showMessageDialog(this, scrollPane, "Statistiques et Classement", JOptionPane.INFORMATION_MESSAGE);
+    private void appendRanking(@NotNull StringBuilder stats, Leaderboard.@NotNull Entry entry) {
+        stats.append(entry.rank()).append(". ")
+             .append(entry.username())
+             .append(" - ")
+             .append(entry.score())
+             .append(" points");
+        if (currentUser != null && entry.userId() == currentUser.getId()) {
+            stats.append(" ◀");
+        }
+        stats.append("\n");
     }
 
     private void showLogin() {
@@ -0,0 +1,50 @@
+package io.github.e_psi_lon.wordcrafter.ui;
+
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * List model over the results of a search. A new result list replaces the old one with at most one
+ * change event for the rows kept and one for the rows added or removed, and rows are only formatted
+ * when the list displays them.
+ */
+public class SearchResultsModel<T> extends AbstractListModel<String> {
+    private final Function<T, String> formatter;
+    private List<T> results = List.of();
+
+    public SearchResultsModel(@NotNull Function<T, String> formatter) {
+        this.formatter = formatter;
+    }
+
+    public void setResults(@NotNull List<T> results) {
+        int oldSize = this.results.size();
+        int newSize = results.size();
+        this.results = results;
+        if (newSize < oldSize) {
+            fireIntervalRemoved(this, newSize, oldSize - 1);
+        }
+        if (Math.min(oldSize, newSize) > 0) {
+            fireContentsChanged(this, 0, Math.min(oldSize, newSize) - 1);
+        }
+        if (newSize > oldSize) {
+            fireIntervalAdded(this, oldSize, newSize - 1);
+        }
+    }
+
+    public T getResultAt(int index) {
+        return results.get(index);
+    }
+
+    @Override
+    public int getSize() {
+        return results.size();
+    }
+
+    @Override
+    public String getElementAt(int index) {
+        return formatter.apply(results.get(index));
+    }
+}
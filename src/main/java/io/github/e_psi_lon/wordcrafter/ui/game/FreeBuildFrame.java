@@ -5,12 +5,14 @@ import io.github.e_psi_lon.wordcrafter.model.Morpheme;
 import io.github.e_psi_lon.wordcrafter.service.GameStateListener;
 import io.github.e_psi_lon.wordcrafter.service.GameStateManager;
 import io.github.e_psi_lon.wordcrafter.ui.AppColors;
+import io.github.e_psi_lon.wordcrafter.ui.EdtExecutor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
 import java.awt.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Free build mode - construct words from any morphemes with points based on complexity.
@@ -19,6 +21,7 @@ import java.util.List;
 public class FreeBuildFrame extends GameFrame implements GameStateListener {
     private JList<Morpheme> morphemeList;
     private DefaultListModel<String> constructedWordsModel;
+    private JButton submitButton;
 
     public FreeBuildFrame(GameController gameController, @NotNull GameStateManager gameStateManager) {
         super(gameController, gameStateManager, "WordCrafter - Mode construction libre");
@@ -121,7 +124,7 @@ public class FreeBuildFrame extends GameFrame implements GameStateListener {
         JPanel buttonPanel = new JPanel(new FlowLayout());
         buttonPanel.setBackground(LIGHT_CLOUD);
 
-        JButton submitButton = new JButton("Créer le mot");
+        submitButton = new JButton("Créer le mot");
         submitButton.setBackground(BUTTON_COLOR);
         submitButton.setForeground(Color.WHITE);
         submitButton.addActionListener(e -> submitWord());
@@ -175,7 +178,8 @@ public class FreeBuildFrame extends GameFrame implements GameStateListener {
     }
 
     private void submitWord() {
-        List<Morpheme> selected = gameStateManager.getSelectedMorphemes();
+        // Copied, the selection may change while the definition is checked
+        List<Morpheme> selected = List.copyOf(gameStateManager.getSelectedMorphemes());
         if (selected.isEmpty()) {
             JOptionPane.showMessageDialog(this, "Veuillez d'abord sélectionner des morphèmes !",
                     "Aucune sélection", JOptionPane.WARNING_MESSAGE);
@@ -199,13 +203,25 @@ public class FreeBuildFrame extends GameFrame implements GameStateListener {
         }
 
         // Validate definition matches the morphemes
-        String validationError = validateDefinition(definition, selected);
-        if (validationError != null) {
-            JOptionPane.showMessageDialog(this, validationError,
-                    "Définition invalide", JOptionPane.ERROR_MESSAGE);
-            return;
-        }
+        submitButton.setEnabled(false);
+        validateDefinitionAsync(definition, selected).whenCompleteAsync((validationError, error) -> {
+            submitButton.setEnabled(true);
+            if (error != null) {
+                error.printStackTrace();
+                JOptionPane.showMessageDialog(this, "Erreur lors de la vérification: " + error.getMessage(),
+                        "Erreur", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            if (validationError != null) {
+                JOptionPane.showMessageDialog(this, validationError,
+                        "Définition invalide", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            createWord(wordText.toString(), definition, selected);
+        }, EdtExecutor.INSTANCE);
+    }
 
+    private void createWord(@NotNull String wordText, @NotNull String definition, @NotNull List<Morpheme> selected) {
         // Calculate points using scaling formula: n + (n-1)²
         int n = selected.size();
         int points = n + (n - 1) * (n - 1);
@@ -225,45 +241,20 @@ public class FreeBuildFrame extends GameFrame implements GameStateListener {
     }
 
     /**
-     * Validates that the user's definition contains at least one word from each morpheme's definition.
+     * Checks that the user's definition shares at least one word with the definition of each morpheme.
      * This is a heuristic check to ensure the definition is somewhat related to the morphemes.
      *
-     * @param userDefinition The definition provided by the user
-     * @param morphemes The morphemes used in the word
      * @return An error message if validation fails, null if valid
      */
-    private @Nullable String validateDefinition(@NotNull String userDefinition, @NotNull List<Morpheme> morphemes) {
-        String normalizedUserDef = userDefinition.toLowerCase().trim();
-
-        String[] userWords = normalizedUserDef.split("[\\s.,;:!?]+");
-
-        for (Morpheme morpheme : morphemes) {
-            String morphemeDef = morpheme.definition().toLowerCase();
-            String[] morphemeWords = morphemeDef.split("[\\s.,;:!?]+");
-
-            boolean foundMatch = false;
-
-            // Check if at least one word from the morpheme definition appears in the user definition
-            for (String morphemeWord : morphemeWords) {
-                if (morphemeWord.length() < 3) continue;
-
-                for (String userWord : userWords) {
-                    if (userWord.equals(morphemeWord) || userWord.contains(morphemeWord) || morphemeWord.contains(userWord)) {
-                        foundMatch = true;
-                        break;
-                    }
-                }
-
-                if (foundMatch) break;
+    private @NotNull CompletableFuture<@Nullable String> validateDefinitionAsync(@NotNull String userDefinition,
+                                                                               @NotNull List<Morpheme> selected) {
+        return gameController.findUnrelatedMorphemeAsync(userDefinition, selected).thenApply(unrelated -> {
+            if (unrelated == null) {
+                return null; // Valid
             }
-
-            if (!foundMatch) {
-                return "La définition doit inclure au moins un mot relatif au morphème '" +
-                       morpheme.text() + "' (" + morpheme.definition() + ").";
-            }
-        }
-
-        return null; // Valid
+            return "La définition doit inclure au moins un mot relatif au morphème '" +
+                   unrelated.text() + "' (" + unrelated.definition() + ").";
+        });
     }
 
     @Override
@@ -2,6 +2,7 @@ package io.github.e_psi_lon.wordcrafter.ui.game;
 
 import io.github.e_psi_lon.wordcrafter.controller.GameController;
 import io.github.e_psi_lon.wordcrafter.model.Morpheme;
+import io.github.e_psi_lon.wordcrafter.service.GameStateListener;
 import io.github.e_psi_lon.wordcrafter.service.GameStateManager;
 import io.github.e_psi_lon.wordcrafter.ui.AppColors;
 
@@ -18,6 +19,7 @@ public abstract class GameFrame extends JFrame {
     protected static final Color BUTTON_COLOR = AppColors.BUTTON_COLOR;
     protected static final Color MORPHEME_COLOR = AppColors.MORPHEME_COLOR;
     protected static final Color SELECTED_COLOR = AppColors.SELECTED_COLOR;
+    protected static final Color EXTENDABLE_COLOR = AppColors.EXTENDABLE_COLOR;
 
     protected final GameController gameController;
     protected final GameStateManager gameStateManager;
@@ -28,12 +30,22 @@ public abstract class GameFrame extends JFrame {
     protected GameFrame(GameController gameController, GameStateManager gameStateManager, String title) {
         this.gameController = gameController;
         this.gameStateManager = gameStateManager;
+        // Bursts of selection changes reach the listeners once per pass of the event loop
+        gameStateManager.setBatchExecutor(SwingUtilities::invokeLater);
 
         setTitle(title);
         setLocationRelativeTo(null);
         setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
     }
 
+    @Override
+    public void dispose() {
+        if (this instanceof GameStateListener listener) {
+            gameStateManager.removeListener(listener);
+        }
+        super.dispose();
+    }
+
     protected void loadMorphemes() {
         availableMorphemes = gameController.getAvailableMorphemes();
     }
@@ -5,6 +5,9 @@ import io.github.e_psi_lon.wordcrafter.model.Morpheme;
 import io.github.e_psi_lon.wordcrafter.model.Word;
 import io.github.e_psi_lon.wordcrafter.service.GameStateListener;
 import io.github.e_psi_lon.wordcrafter.service.GameStateManager;
+import io.github.e_psi_lon.wordcrafter.service.MorphemeTrie;
+import io.github.e_psi_lon.wordcrafter.service.WordSuggester;
+import io.github.e_psi_lon.wordcrafter.ui.EdtExecutor;
 import org.jetbrains.annotations.NotNull;
 
 import javax.swing.*;
@@ -12,22 +15,32 @@ import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Main game mode - morpheme grid that can be combined to make words
  */
 public class MainGameFrame extends GameFrame implements GameStateListener {
-    private JButton[] morphemeButtons;
+    private MorphemeBoard morphemeBoard;
     private DefaultListModel<String> constructedWordsModel;
-
-    public MainGameFrame(GameController gameController, @NotNull GameStateManager gameStateManager) {
+    private JLabel completionLabel;
+    private JLabel remainingLabel;
+    private JButton checkButton;
+    private final MorphemeTrie.Cursor selectionCursor;
+
+    /**
+     * @param board morphemes of the grid, picked by the board generator
+     */
+    public MainGameFrame(GameController gameController, @NotNull GameStateManager gameStateManager,
+                         @NotNull List<Morpheme> board) {
         super(gameController, gameStateManager, "WordCrafter - Mode de jeu principal");
 
         // Register as a listener for game state changes
         gameStateManager.addListener(this);
 
         setSize(800, 600);
-        loadMorphemes();
+        selectionCursor = gameController.createSelectionCursor();
+        availableMorphemes = board;
         initComponents();
     }
 
@@ -47,38 +60,37 @@ public class MainGameFrame extends GameFrame implements GameStateListener {
         constructedWordPanel.setPreferredSize(new Dimension(600, 60));
         topPanel.add(constructedWordPanel, BorderLayout.CENTER);
 
+        completionLabel = new JLabel(" ");
+        completionLabel.setFont(new Font("SansSerif", Font.ITALIC, 12));
+        topPanel.add(completionLabel, BorderLayout.EAST);
+
         JPanel buttonPanel = createButtonPanel();
         topPanel.add(buttonPanel, BorderLayout.SOUTH);
         mainPanel.add(topPanel, BorderLayout.NORTH);
 
-        int totalMorphemes = availableMorphemes.size();
-        int gridSize = (int) Math.ceil(Math.sqrt(totalMorphemes));
-
         JPanel gridContainer = new JPanel(new BorderLayout());
         gridContainer.setBackground(LIGHT_CLOUD);
-        gridContainer.setBorder(BorderFactory.createTitledBorder("Morphèmes disponibles (" + totalMorphemes + ")"));
-
-        JPanel gridPanel = new JPanel(new GridLayout(gridSize, gridSize, 10, 10));
-        gridPanel.setBackground(LIGHT_CLOUD);
-
-        morphemeButtons = new JButton[totalMorphemes];
-
-        for (int i = 0; i < totalMorphemes; i++) {
-            Morpheme morpheme = availableMorphemes.get(i);
-            JButton morphemeButton = createMorphemeButton(morpheme);
-            morphemeButtons[i] = morphemeButton;
-            gridPanel.add(morphemeButton);
-        }
-
-        // Fill remaining spaces with empty panels to keep square grid
-        int totalCells = gridSize * gridSize;
-        for (int i = totalMorphemes; i < totalCells; i++) {
-            JPanel emptyPanel = new JPanel();
-            emptyPanel.setBackground(LIGHT_CLOUD);
-            gridPanel.add(emptyPanel);
-        }
+        gridContainer.setBorder(BorderFactory.createTitledBorder("Morphèmes disponibles (" + availableMorphemes.size() + ")"));
+
+        // Painted board instead of one button per morpheme, so large dictionaries stay responsive
+        morphemeBoard = new MorphemeBoard(availableMorphemes, gameController::handleMorphemeToggle);
+        JScrollPane boardScrollPane = new JScrollPane(morphemeBoard);
+        boardScrollPane.setBorder(BorderFactory.createEmptyBorder());
+        boardScrollPane.getViewport().setBackground(LIGHT_CLOUD);
+        gridContainer.add(boardScrollPane, BorderLayout.CENTER);
+
+        JPanel zoomPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        zoomPanel.setBackground(LIGHT_CLOUD);
+        JButton zoomOutButton = new JButton("−");
+        zoomOutButton.setToolTipText("Réduire");
+        zoomOutButton.addActionListener(e -> morphemeBoard.zoomOut());
+        zoomPanel.add(zoomOutButton);
+        JButton zoomInButton = new JButton("+");
+        zoomInButton.setToolTipText("Agrandir");
+        zoomInButton.addActionListener(e -> morphemeBoard.zoomIn());
+        zoomPanel.add(zoomInButton);
+        gridContainer.add(zoomPanel, BorderLayout.NORTH);
 
-        gridContainer.add(gridPanel, BorderLayout.CENTER);
         mainPanel.add(gridContainer, BorderLayout.CENTER);
 
         // Right panel - info and constructed words list
@@ -89,7 +101,14 @@ public class MainGameFrame extends GameFrame implements GameStateListener {
         scoreLabel = new JLabel("Score: " + gameStateManager.getCurrentScore());
         scoreLabel.setFont(new Font("SansSerif", Font.BOLD, 16));
         scoreLabel.setHorizontalAlignment(SwingConstants.CENTER);
-        rightPanel.add(scoreLabel, BorderLayout.NORTH);
+        remainingLabel = new JLabel();
+        remainingLabel.setHorizontalAlignment(SwingConstants.CENTER);
+
+        JPanel infoPanel = new JPanel(new GridLayout(2, 1));
+        infoPanel.setBackground(LIGHT_CLOUD);
+        infoPanel.add(scoreLabel);
+        infoPanel.add(remainingLabel);
+        rightPanel.add(infoPanel, BorderLayout.NORTH);
 
         JPanel listPanel = new JPanel(new BorderLayout());
         listPanel.setBorder(BorderFactory.createTitledBorder("Mots trouvés"));
@@ -108,13 +127,15 @@ public class MainGameFrame extends GameFrame implements GameStateListener {
         add(mainPanel);
 
         refreshConstructedWordsList();
+        refreshRemainingWords();
+        updateGridButtons();
     }
 
     private @NotNull JPanel createButtonPanel() {
         JPanel buttonPanel = new JPanel(new FlowLayout());
         buttonPanel.setBackground(LIGHT_CLOUD);
 
-        JButton checkButton = new JButton("Vérifier le mot");
+        checkButton = new JButton("Vérifier le mot");
         checkButton.setBackground(BUTTON_COLOR);
         checkButton.setForeground(Color.WHITE);
         checkButton.addActionListener(e -> checkWord());
@@ -125,59 +146,89 @@ public class MainGameFrame extends GameFrame implements GameStateListener {
         clearButton.setForeground(Color.WHITE);
         clearButton.addActionListener(e -> gameController.handleClearSelection());
         buttonPanel.add(clearButton);
-        return buttonPanel;
-    }
 
-    private @NotNull JButton createMorphemeButton(@NotNull Morpheme morpheme) {
-        JButton button = new JButton("<html><center>" + morpheme.text() + "<br><small>" +
-                                     morpheme.definition() + "</small></center></html>");
-        button.setBackground(MORPHEME_COLOR);
-        button.setFont(new Font("SansSerif", Font.PLAIN, 14));
-        button.setFocusPainted(false);
-        button.setBorder(BorderFactory.createLineBorder(PASTEL_PINK, 2));
-
-        button.addActionListener(e -> {
-            gameController.handleMorphemeToggle(morpheme);
-            button.setBackground(gameStateManager.isMorphemeSelected(morpheme) ? SELECTED_COLOR : MORPHEME_COLOR);
-        });
-
-        return button;
+        JButton hintButton = new JButton("Indice");
+        hintButton.setBackground(BUTTON_COLOR);
+        hintButton.setForeground(Color.WHITE);
+        hintButton.addActionListener(e -> showHint());
+        buttonPanel.add(hintButton);
+        return buttonPanel;
     }
 
     protected void updateConstructedWordDisplay() {
         constructedWordPanel.removeAll();
         List<Morpheme> selected = gameStateManager.getSelectedMorphemes();
 
-        for (int i = 0; i < selected.size(); i++) {
-            Morpheme morpheme = selected.get(i);
-            JLabel label = new JLabel(morpheme.text());
-            label.setFont(new Font("SansSerif", Font.BOLD, 18));
-            label.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
-            final Morpheme toRemove = morpheme;
-            label.addMouseListener(new MouseAdapter() {
-                @Override
-                public void mouseClicked(MouseEvent e) {
-                    gameController.handleMorphemeToggle(toRemove);
-                }
-            });
-            label.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
+        for (Morpheme morpheme : selected) {
+            appendConstructedMorpheme(morpheme);
+        }
+
+        constructedWordPanel.revalidate();
+        constructedWordPanel.repaint();
+    }
 
-            constructedWordPanel.add(label);
+    private void appendConstructedMorpheme(@NotNull Morpheme morpheme) {
+        if (constructedWordPanel.getComponentCount() > 0) {
+            constructedWordPanel.add(new JLabel(" + "));
+        }
+        JLabel label = new JLabel(morpheme.text());
+        label.setFont(new Font("SansSerif", Font.BOLD, 18));
+        label.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+        label.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                gameController.handleMorphemeToggle(morpheme);
+            }
+        });
+        label.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
+        constructedWordPanel.add(label);
+    }
 
-            if (i < selected.size() - 1) {
-                constructedWordPanel.add(new JLabel(" + "));
+    /**
+     * Follows the selection in the dictionary trie: one step when a morpheme is added or the last one is removed,
+     * a replay of the selection when a morpheme is removed from the middle.
+     */
+    private void updateSelectionCursor(GameStateManager.@NotNull GameStateEvent event) {
+        switch (event.type()) {
+            case MORPHEME_SELECTED -> selectionCursor.push(((Morpheme) event.data()).id());
+            case MORPHEME_DESELECTED -> {
+                if (selectionCursor.lastMorphemeId() == ((Morpheme) event.data()).id()) {
+                    selectionCursor.pop();
+                } else {
+                    selectionCursor.reset(gameController.getSelectedMorphemeIds());
+                }
             }
+            default -> selectionCursor.reset(gameController.getSelectedMorphemeIds());
         }
+    }
 
-        constructedWordPanel.revalidate();
-        constructedWordPanel.repaint();
+    private void updateCompletionLabel() {
+        if (selectionCursor.length() == 0) {
+            completionLabel.setText(" ");
+        } else if (selectionCursor.word() != null) {
+            completionLabel.setText(selectionCursor.canExtend() ? "Mot complet, peut être prolongé" : "Mot complet !");
+        } else if (selectionCursor.canExtend()) {
+            completionLabel.setText("Peut être prolongé");
+        } else {
+            completionLabel.setText("Aucun mot possible");
+        }
     }
 
+    /**
+     * Only the cells whose color changes are repainted.
+     */
     private void updateGridButtons() {
-        for (int i = 0; i < morphemeButtons.length; i++) {
-            JButton button = morphemeButtons[i];
-            Morpheme morpheme = availableMorphemes.get(i);
-            button.setBackground(gameStateManager.isMorphemeSelected(morpheme) ? SELECTED_COLOR : MORPHEME_COLOR);
+        for (int i = 0; i < availableMorphemes.size(); i++) {
+            int morphemeId = availableMorphemes.get(i).id();
+            Color color;
+            if (gameStateManager.isMorphemeSelected(morphemeId)) {
+                color = SELECTED_COLOR;
+            } else if (selectionCursor.canExtendWith(morphemeId)) {
+                color = EXTENDABLE_COLOR;
+            } else {
+                color = MORPHEME_COLOR;
+            }
+            morphemeBoard.setCellColor(i, color);
         }
     }
 
@@ -189,49 +240,148 @@ public class MainGameFrame extends GameFrame implements GameStateListener {
             return;
         }
 
-        Word validWord = gameController.handleWordVerification();
-
-        if (validWord != null) {
-            String message = "Mot valide ! Vous avez gagné " + validWord.points() + " points !\n\n";
-            if (validWord.definition() != null && !validWord.definition().isEmpty()) {
-                message += "Définition: " + validWord.definition();
+        // The selection may change while the word is being checked
+        StringBuilder wordText = new StringBuilder();
+        for (Morpheme m : selected) {
+            wordText.append(m.text());
+        }
+        int[] morphemeIds = gameController.getSelectedMorphemeIds();
+
+        checkButton.setEnabled(false);
+        gameController.handleWordVerificationAsync(EdtExecutor.INSTANCE).whenCompleteAsync((validWord, error) -> {
+            checkButton.setEnabled(true);
+            if (error != null) {
+                error.printStackTrace();
+                JOptionPane.showMessageDialog(this, "Erreur lors de la vérification: " + error.getMessage(),
+                    "Erreur", JOptionPane.ERROR_MESSAGE);
+                return;
             }
 
-            JOptionPane.showMessageDialog(this,
-                message,
-                "Succès", JOptionPane.INFORMATION_MESSAGE);
+            if (validWord != null) {
+                String message = "Mot valide ! Vous avez gagné " + validWord.points() + " points !\n\n";
+                if (validWord.definition() != null && !validWord.definition().isEmpty()) {
+                    message += "Définition: " + validWord.definition();
+                }
 
-            gameController.handleClearSelection();
-        } else {
-            StringBuilder wordText = new StringBuilder();
-            for (Morpheme m : selected) {
-                wordText.append(m.text());
+                JOptionPane.showMessageDialog(this,
+                    message,
+                    "Succès", JOptionPane.INFORMATION_MESSAGE);
+
+                gameController.handleClearSelection();
+            } else {
+                gameController.handleClearSelection();
+                showInvalidWord(wordText.toString(), morphemeIds);
             }
-            JOptionPane.showMessageDialog(this,
-                "Mot invalide : " + wordText,
-                "Invalide", JOptionPane.ERROR_MESSAGE);
+        }, EdtExecutor.INSTANCE);
+    }
 
-            gameController.handleClearSelection();
-        }
+    private void showInvalidWord(String wordText, int[] morphemeIds) {
+        gameController.suggestWordsAsync(wordText, morphemeIds).whenCompleteAsync((suggestions, error) -> {
+            String message = "Mot invalide : " + wordText;
+            if (error != null) {
+                error.printStackTrace();
+            } else if (!suggestions.isEmpty()) {
+                StringBuilder hint = new StringBuilder("\n\nVouliez-vous dire :");
+                for (WordSuggester.Suggestion suggestion : suggestions) {
+                    hint.append("\n  ").append(suggestion.word().text());
+                }
+                message += hint;
+            }
+            JOptionPane.showMessageDialog(this, message, "Invalide", JOptionPane.ERROR_MESSAGE);
+        }, EdtExecutor.INSTANCE);
     }
 
     @Override
     public void onGameStateChanged(GameStateManager.@NotNull GameStateEvent event) {
-        switch (event.type()) {
-            case MORPHEME_SELECTED:
-            case MORPHEME_DESELECTED, SELECTION_CLEARED, ROUND_RESET:
+        onGameStateBatch(new GameStateManager.GameStateBatch(List.of(event)));
+    }
+
+    /**
+     * Refreshes each part of the frame at most once per batch. Morphemes added to the end of the selection
+     * extend the cursor and the constructed word; other selection changes rebuild them.
+     */
+    @Override
+    public void onGameStateBatch(GameStateManager.@NotNull GameStateBatch batch) {
+        boolean selectionChanged = batch.changesSelection();
+        boolean wordConstructed = batch.contains(GameStateManager.GameStateEvent.Type.WORD_CONSTRUCTED);
+        if (selectionChanged) {
+            List<Morpheme> appended = batch.appendedMorphemes();
+            if (appended != null) {
+                for (Morpheme morpheme : appended) {
+                    selectionCursor.push(morpheme.id());
+                    appendConstructedMorpheme(morpheme);
+                }
+                constructedWordPanel.revalidate();
+                constructedWordPanel.repaint();
+            } else {
+                if (batch.events().size() == 1) {
+                    updateSelectionCursor(batch.events().get(0));
+                } else {
+                    selectionCursor.reset(gameController.getSelectedMorphemeIds());
+                }
                 updateConstructedWordDisplay();
-                updateGridButtons();
-                break;
-            case WORD_CONSTRUCTED:
-                updateGridButtons();
-                scoreLabel.setText("Score: " + gameStateManager.getCurrentScore());
-                refreshConstructedWordsList();
-                break;
-            case SCORE_UPDATED:
-                scoreLabel.setText("Score: " + gameStateManager.getCurrentScore());
-                break;
+            }
+            updateCompletionLabel();
+        }
+        if (selectionChanged || wordConstructed) {
+            updateGridButtons();
+        }
+        if (wordConstructed) {
+            refreshConstructedWordsList();
+            refreshRemainingWords();
+        }
+        if (wordConstructed || batch.contains(GameStateManager.GameStateEvent.Type.SCORE_UPDATED)) {
+            scoreLabel.setText("Score: " + gameStateManager.getCurrentScore());
+        }
+    }
+
+    private void refreshRemainingWords() {
+        int found = gameStateManager.getConstructedWords().size();
+        gameController.getRemainingWordsAsync(availableMorphemes).whenCompleteAsync((remaining, error) -> {
+            if (error != null) {
+                error.printStackTrace();
+                return;
+            }
+            // Another word was found while the board was being solved
+            if (found != gameStateManager.getConstructedWords().size()) {
+                return;
+            }
+            remainingLabel.setText("Mots restants: " + remaining.size());
+        }, EdtExecutor.INSTANCE);
+    }
+
+    private void showHint() {
+        int[] selection = gameController.getSelectedMorphemeIds();
+        CompletableFuture<Integer> dictionaryWords = selection.length > 0
+            ? gameController.countDictionaryWordsUsingAllAsync(selection)
+            : CompletableFuture.completedFuture(0);
+        gameController.getRemainingWordsAsync(availableMorphemes)
+            .thenCombine(dictionaryWords, (remaining, count) -> hintMessage(remaining, selection, count))
+            .whenCompleteAsync((message, error) -> {
+                if (error != null) {
+                    error.printStackTrace();
+                    return;
+                }
+                JOptionPane.showMessageDialog(this, message, "Indice", JOptionPane.INFORMATION_MESSAGE);
+            }, EdtExecutor.INSTANCE);
+    }
+
+    private @NotNull String hintMessage(@NotNull List<Word> remaining, int @NotNull [] selection, int dictionaryWords) {
+        if (remaining.isEmpty()) {
+            return "Vous avez trouvé tous les mots !";
+        }
+        // A word going on from the selection when there is one
+        boolean selecting = selection.length > 0;
+        List<Word> usingSelection = selecting ? gameController.filterUsingAll(remaining, selection) : List.of();
+        Word hint = usingSelection.isEmpty() ? remaining.get(0) : usingSelection.get(0);
+        String definition = hint.definition() == null || hint.definition().isEmpty() ? "(pas de définition)" : hint.definition();
+        String message = "Un mot de " + hint.morphemeIds().size() + " morphèmes (" + hint.points() + " pts)"
+            + (usingSelection.isEmpty() ? "" : " avec votre sélection") + " :\n" + definition;
+        if (selecting) {
+            message += "\n\nVotre sélection entre dans " + dictionaryWords
+                + " mot(s) du dictionnaire, dont " + usingSelection.size() + " à trouver sur cette grille.";
         }
+        return message;
     }
 
     private void refreshConstructedWordsList() {
@@ -0,0 +1,279 @@
+package io.github.e_psi_lon.wordcrafter.ui.game;
+
+import io.github.e_psi_lon.wordcrafter.model.Morpheme;
+import io.github.e_psi_lon.wordcrafter.ui.AppColors;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Grid of morpheme cells painted directly, meant to be placed in a {@link JScrollPane}.
+ * <p>
+ * There is no component per morpheme: only the cells crossing the clip are painted, and a click is mapped
+ * back to its cell by arithmetic. The text of each cell is fitted to the cell width the first time it is
+ * painted and kept until the zoom changes. The grid has as many columns as fit the visible width.
+ */
+public class MorphemeBoard extends JComponent implements Scrollable {
+    private static final int BASE_CELL_WIDTH = 150;
+    private static final int BASE_CELL_HEIGHT = 56;
+    private static final int BASE_GAP = 10;
+    private static final double MIN_ZOOM = 0.5;
+    private static final double MAX_ZOOM = 2.0;
+    private static final double ZOOM_STEP = 1.25;
+    private static final String ELLIPSIS = "…";
+
+    private final List<Morpheme> morphemes;
+    private final Color[] colors;
+    private final Consumer<Morpheme> onMorphemeClicked;
+
+    private double zoom = 1.0;
+    private int cellWidth;
+    private int cellHeight;
+    private int gap;
+    private int columns = 1;
+    private Font textFont;
+    private Font definitionFont;
+    // Text fitted to the cell width at the current zoom, filled as cells get painted
+    private String[] fittedTexts;
+    private String[] fittedDefinitions;
+
+    public MorphemeBoard(@NotNull List<Morpheme> morphemes, @NotNull Consumer<Morpheme> onMorphemeClicked) {
+        this.morphemes = morphemes;
+        this.onMorphemeClicked = onMorphemeClicked;
+        colors = new Color[morphemes.size()];
+        Arrays.fill(colors, AppColors.MORPHEME_COLOR);
+
+        setOpaque(true);
+        setBackground(AppColors.LIGHT_CLOUD);
+        setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
+        // Registers the board with the tooltip manager, the text itself comes from getToolTipText(MouseEvent)
+        setToolTipText("");
+        applyZoom(1.0);
+
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int index = cellAt(e.getPoint());
+                if (index >= 0) {
+                    onMorphemeClicked.accept(morphemes.get(index));
+                }
+            }
+        });
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                int newColumns = columnsFor(getWidth());
+                if (newColumns != columns) {
+                    columns = newColumns;
+                    revalidate();
+                    repaint();
+                }
+            }
+        });
+    }
+
+    /**
+     * Changes the background of one cell, repainting only that cell.
+     */
+    public void setCellColor(int index, @NotNull Color color) {
+        if (!color.equals(colors[index])) {
+            colors[index] = color;
+            repaint(cellBounds(index));
+        }
+    }
+
+    public void zoomIn() {
+        applyZoom(Math.min(MAX_ZOOM, zoom * ZOOM_STEP));
+    }
+
+    public void zoomOut() {
+        applyZoom(Math.max(MIN_ZOOM, zoom / ZOOM_STEP));
+    }
+
+    public double getZoom() {
+        return zoom;
+    }
+
+    private void applyZoom(double newZoom) {
+        zoom = newZoom;
+        cellWidth = (int) Math.round(BASE_CELL_WIDTH * zoom);
+        cellHeight = (int) Math.round(BASE_CELL_HEIGHT * zoom);
+        gap = Math.max(2, (int) Math.round(BASE_GAP * zoom));
+        textFont = new Font("SansSerif", Font.PLAIN, Math.max(8, (int) Math.round(14 * zoom)));
+        definitionFont = new Font("SansSerif", Font.PLAIN, Math.max(7, (int) Math.round(10 * zoom)));
+        fittedTexts = new String[morphemes.size()];
+        fittedDefinitions = new String[morphemes.size()];
+        columns = columnsFor(getWidth());
+        revalidate();
+        repaint();
+    }
+
+    private int columnsFor(int width) {
+        return Math.max(1, (width - gap) / (cellWidth + gap));
+    }
+
+    private int rowCount() {
+        return (morphemes.size() + columns - 1) / columns;
+    }
+
+    private @NotNull Rectangle cellBounds(int index) {
+        int row = index / columns;
+        int column = index % columns;
+        return new Rectangle(gap + column * (cellWidth + gap), gap + row * (cellHeight + gap), cellWidth, cellHeight);
+    }
+
+    /**
+     * @return the index of the morpheme under {@code point}, or -1 over a gap or past the last cell
+     */
+    private int cellAt(@NotNull Point point) {
+        int x = point.x - gap;
+        int y = point.y - gap;
+        if (x < 0 || y < 0) {
+            return -1;
+        }
+        int column = x / (cellWidth + gap);
+        int row = y / (cellHeight + gap);
+        if (column >= columns || x % (cellWidth + gap) >= cellWidth || y % (cellHeight + gap) >= cellHeight) {
+            return -1;
+        }
+        int index = row * columns + column;
+        return index < morphemes.size() ? index : -1;
+    }
+
+    @Override
+    protected void paintComponent(Graphics graphics) {
+        Graphics2D g = (Graphics2D) graphics.create();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            Rectangle clip = g.getClipBounds();
+            if (clip == null) {
+                clip = new Rectangle(0, 0, getWidth(), getHeight());
+            }
+            g.setColor(getBackground());
+            g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+            int rowHeight = cellHeight + gap;
+            int firstRow = Math.max(0, (clip.y - gap) / rowHeight);
+            int lastRow = Math.min(rowCount() - 1, (clip.y + clip.height) / rowHeight);
+            for (int row = firstRow; row <= lastRow; row++) {
+                int first = row * columns;
+                int last = Math.min(morphemes.size(), first + columns);
+                for (int index = first; index < last; index++) {
+                    paintCell(g, index);
+                }
+            }
+        } finally {
+            g.dispose();
+        }
+    }
+
+    private void paintCell(@NotNull Graphics2D g, int index) {
+        Rectangle bounds = cellBounds(index);
+        int arc = gap;
+        g.setColor(colors[index]);
+        g.fillRoundRect(bounds.x, bounds.y, bounds.width, bounds.height, arc, arc);
+        g.setColor(AppColors.PASTEL_PINK);
+        g.setStroke(new BasicStroke(2f));
+        g.drawRoundRect(bounds.x + 1, bounds.y + 1, bounds.width - 2, bounds.height - 2, arc, arc);
+
+        int padding = Math.max(2, gap / 2);
+        int available = bounds.width - 2 * padding;
+        Morpheme morpheme = morphemes.get(index);
+
+        g.setFont(textFont);
+        FontMetrics textMetrics = g.getFontMetrics();
+        if (fittedTexts[index] == null) {
+            fittedTexts[index] = fit(morpheme.text(), textMetrics, available);
+        }
+        g.setFont(definitionFont);
+        FontMetrics definitionMetrics = g.getFontMetrics();
+        if (fittedDefinitions[index] == null) {
+            String definition = morpheme.definition() != null ? morpheme.definition() : "";
+            fittedDefinitions[index] = fit(definition, definitionMetrics, available);
+        }
+
+        int textHeight = textMetrics.getHeight() + definitionMetrics.getHeight();
+        int y = bounds.y + (bounds.height - textHeight) / 2;
+        g.setFont(textFont);
+        g.setColor(Color.BLACK);
+        String text = fittedTexts[index];
+        g.drawString(text, bounds.x + (bounds.width - textMetrics.stringWidth(text)) / 2, y + textMetrics.getAscent());
+        g.setFont(definitionFont);
+        g.setColor(Color.DARK_GRAY);
+        String definition = fittedDefinitions[index];
+        g.drawString(definition, bounds.x + (bounds.width - definitionMetrics.stringWidth(definition)) / 2,
+                y + textMetrics.getHeight() + definitionMetrics.getAscent());
+    }
+
+    /**
+     * The text, cut and ended with an ellipsis if it is wider than {@code width}.
+     */
+    private static @NotNull String fit(@NotNull String text, @NotNull FontMetrics metrics, int width) {
+        if (metrics.stringWidth(text) <= width) {
+            return text;
+        }
+        int available = width - metrics.stringWidth(ELLIPSIS);
+        // Longest prefix that fits, by bisection
+        int low = 0;
+        int high = text.length();
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (metrics.stringWidth(text.substring(0, middle)) <= available) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return text.substring(0, low) + ELLIPSIS;
+    }
+
+    @Override
+    public String getToolTipText(MouseEvent event) {
+        int index = cellAt(event.getPoint());
+        if (index < 0) {
+            return null;
+        }
+        Morpheme morpheme = morphemes.get(index);
+        return "<html><b>" + morpheme.text() + "</b><br>" + morpheme.definition() + "</html>";
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        int width = gap + columns * (cellWidth + gap);
+        return new Dimension(width, gap + rowCount() * (cellHeight + gap));
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return new Dimension(4 * (cellWidth + gap) + gap, 5 * (cellHeight + gap) + gap);
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? cellHeight + gap : cellWidth + gap;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? visibleRect.height : visibleRect.width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return true;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return false;
+    }
+}
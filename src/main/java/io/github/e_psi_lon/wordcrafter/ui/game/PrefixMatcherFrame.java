@@ -1,37 +1,309 @@
 package io.github.e_psi_lon.wordcrafter.ui.game;
 
+import io.github.e_psi_lon.wordcrafter.controller.PrefixMatcherController;
+import io.github.e_psi_lon.wordcrafter.model.Morpheme;
+import io.github.e_psi_lon.wordcrafter.model.Word;
+import io.github.e_psi_lon.wordcrafter.service.GameStateListener;
+import io.github.e_psi_lon.wordcrafter.service.GameStateManager;
 import io.github.e_psi_lon.wordcrafter.ui.AppColors;
+import io.github.e_psi_lon.wordcrafter.ui.SearchResultsModel;
+import org.jetbrains.annotations.NotNull;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
+import java.util.List;
 
 /**
- * Prefix matcher mode frame - SPOOFED/STUB implementation.
- * This mode is not yet fully implemented.
+ * Prefix matcher mode - pick a morpheme as the imposed prefix, then find the dictionary words that start with it.
+ * The words matching what is being typed are listed page by page, hidden until they are found.
  */
-public class PrefixMatcherFrame extends GameFrame {
+public class PrefixMatcherFrame extends GameFrame implements GameStateListener {
+    private static final int PAGE_SIZE = 50;
 
-    public PrefixMatcherFrame() {
-        super(null, null, "WordCrafter - Mode préfixe-matcher");
-        setSize(600, 400);
+    private final PrefixMatcherController prefixController;
+    private JList<Morpheme> morphemeList;
+    private JTextField wordField;
+    private JLabel prefixLabel;
+    private JLabel matchCountLabel;
+    private JLabel pageLabel;
+    private JButton previousButton;
+    private JButton nextButton;
+    private SearchResultsModel<Word> matchesModel;
+    private JList<String> matchesList;
+    private DefaultListModel<String> foundWordsModel;
+    private String requiredPrefix = "";
+    private int matchCount;
+    private int page;
+    // Normalized length of the prefix of the listed page, the part of the hidden words shown
+    private int visibleLength;
 
+    public PrefixMatcherFrame(@NotNull PrefixMatcherController prefixController) {
+        super(prefixController.getGameController(), prefixController.getGameStateManager(),
+                "WordCrafter - Mode préfixe-matcher");
+        this.prefixController = prefixController;
+
+        gameStateManager.addListener(this);
+
+        setSize(1000, 650);
+        loadMorphemes();
         initComponents();
+        refreshMatches();
     }
 
     private void initComponents() {
-        JPanel mainPanel = new JPanel(new BorderLayout());
+        JPanel mainPanel = new JPanel(new BorderLayout(10, 10));
         mainPanel.setBackground(LIGHT_CLOUD);
-        mainPanel.setBorder(BorderFactory.createEmptyBorder(40, 40, 40, 40));
+        mainPanel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+
+        // Top panel, instructions and input
+        JPanel topPanel = new JPanel(new BorderLayout(5, 5));
+        topPanel.setBackground(LIGHT_CLOUD);
+
+        JLabel instructionLabel = new JLabel("<html><center><b>Mode Préfixe-Matcher</b><br>" +
+                "Choisissez un morphème comme préfixe, puis trouvez les mots qui commencent par lui. Les accents sont facultatifs.</center></html>");
+        instructionLabel.setFont(new Font("SansSerif", Font.PLAIN, 14));
+        instructionLabel.setHorizontalAlignment(SwingConstants.CENTER);
+        instructionLabel.setForeground(AppColors.TITLE_TEXT);
+        topPanel.add(instructionLabel, BorderLayout.NORTH);
+
+        JPanel inputPanel = new JPanel(new BorderLayout(5, 5));
+        inputPanel.setBackground(LIGHT_CLOUD);
+        inputPanel.setBorder(BorderFactory.createTitledBorder("Votre mot"));
+
+        prefixLabel = new JLabel();
+        prefixLabel.setFont(new Font("SansSerif", Font.BOLD, 14));
+        inputPanel.add(prefixLabel, BorderLayout.WEST);
+
+        wordField = new JTextField();
+        wordField.setFont(new Font("SansSerif", Font.PLAIN, 16));
+        wordField.addActionListener(e -> submitWord());
+        wordField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                refreshMatches();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                refreshMatches();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                refreshMatches();
+            }
+        });
+        inputPanel.add(wordField, BorderLayout.CENTER);
+
+        JButton submitButton = new JButton("Valider");
+        submitButton.setBackground(BUTTON_COLOR);
+        submitButton.setForeground(Color.WHITE);
+        submitButton.addActionListener(e -> submitWord());
+        inputPanel.add(submitButton, BorderLayout.EAST);
+
+        matchCountLabel = new JLabel(" ");
+        matchCountLabel.setFont(new Font("SansSerif", Font.ITALIC, 12));
+        inputPanel.add(matchCountLabel, BorderLayout.SOUTH);
 
-        JLabel messageLabel = new JLabel("<html><center><h1>Mode préfixe-matcher</h1><br><br>" +
-                                        "Ce mode de jeu n'est pas encore implémenté.<br><br>" +
-                                        "Prochainement !</center></html>");
-        messageLabel.setHorizontalAlignment(SwingConstants.CENTER);
-        messageLabel.setForeground(AppColors.TITLE_TEXT);
+        topPanel.add(inputPanel, BorderLayout.CENTER);
+        mainPanel.add(topPanel, BorderLayout.NORTH);
 
-        mainPanel.add(messageLabel, BorderLayout.CENTER);
+        // Left panel, morphemes to pick the prefix from
+        JPanel leftPanel = new JPanel(new BorderLayout(5, 5));
+        leftPanel.setBackground(LIGHT_CLOUD);
+        leftPanel.setBorder(BorderFactory.createTitledBorder("Préfixe imposé"));
+        leftPanel.setPreferredSize(new Dimension(250, 0));
+
+        DefaultListModel<Morpheme> morphemeListModel = new DefaultListModel<>();
+        morphemeListModel.addAll(availableMorphemes);
+        morphemeList = new JList<>(morphemeListModel);
+        morphemeList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        morphemeList.setBackground(Color.WHITE);
+        morphemeList.setCellRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                          boolean isSelected, boolean cellHasFocus) {
+                JLabel label = (JLabel) super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
+                if (value instanceof Morpheme morpheme) {
+                    label.setText("<html><b>" + morpheme.text() + "</b><br><small>" + morpheme.definition() + "</small></html>");
+                    label.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+                }
+                if (!isSelected) {
+                    label.setBackground(MORPHEME_COLOR);
+                }
+                return label;
+            }
+        });
+        morphemeList.addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting()) {
+                Morpheme selected = morphemeList.getSelectedValue();
+                selectPrefix(selected != null ? selected.text() : "");
+            }
+        });
+        leftPanel.add(new JScrollPane(morphemeList), BorderLayout.CENTER);
+        mainPanel.add(leftPanel, BorderLayout.WEST);
+
+        // Center panel, matching words page by page
+        JPanel matchesPanel = new JPanel(new BorderLayout(5, 5));
+        matchesPanel.setBackground(LIGHT_CLOUD);
+        matchesPanel.setBorder(BorderFactory.createTitledBorder("Mots correspondants"));
+
+        matchesModel = new SearchResultsModel<>(word -> describeMatch(word, visibleLength));
+        matchesList = new JList<>(matchesModel);
+        matchesList.setBackground(Color.WHITE);
+        matchesList.setFont(new Font("Monospaced", Font.PLAIN, 14));
+        matchesPanel.add(new JScrollPane(matchesList), BorderLayout.CENTER);
+
+        JPanel pagingPanel = new JPanel(new FlowLayout());
+        pagingPanel.setBackground(LIGHT_CLOUD);
+        previousButton = new JButton("◀ Précédent");
+        previousButton.addActionListener(e -> showPage(page - 1));
+        pagingPanel.add(previousButton);
+        pageLabel = new JLabel();
+        pagingPanel.add(pageLabel);
+        nextButton = new JButton("Suivant ▶");
+        nextButton.addActionListener(e -> showPage(page + 1));
+        pagingPanel.add(nextButton);
+        matchesPanel.add(pagingPanel, BorderLayout.SOUTH);
+
+        mainPanel.add(matchesPanel, BorderLayout.CENTER);
+
+        // Right panel, score and found words
+        JPanel rightPanel = new JPanel(new BorderLayout(5, 5));
+        rightPanel.setBackground(LIGHT_CLOUD);
+        rightPanel.setPreferredSize(new Dimension(220, 0));
+
+        scoreLabel = new JLabel("Score: " + gameStateManager.getCurrentScore());
+        scoreLabel.setFont(new Font("SansSerif", Font.BOLD, 16));
+        scoreLabel.setHorizontalAlignment(SwingConstants.CENTER);
+        rightPanel.add(scoreLabel, BorderLayout.NORTH);
+
+        JPanel wordsPanel = new JPanel(new BorderLayout());
+        wordsPanel.setBorder(BorderFactory.createTitledBorder("Mots trouvés"));
+        wordsPanel.setBackground(LIGHT_CLOUD);
+        foundWordsModel = new DefaultListModel<>();
+        JList<String> foundWordsList = new JList<>(foundWordsModel);
+        foundWordsList.setBackground(Color.WHITE);
+        wordsPanel.add(new JScrollPane(foundWordsList), BorderLayout.CENTER);
+        rightPanel.add(wordsPanel, BorderLayout.CENTER);
+
+        mainPanel.add(rightPanel, BorderLayout.EAST);
 
         add(mainPanel);
+        updatePrefixLabel();
     }
-}
 
+    private void selectPrefix(@NotNull String prefix) {
+        requiredPrefix = prefix;
+        updatePrefixLabel();
+        // Keep what was typed when it already fits the new prefix
+        if (!prefixController.normalize(wordField.getText()).startsWith(prefixController.normalize(prefix))) {
+            wordField.setText(prefix);
+        } else {
+            refreshMatches();
+        }
+        wordField.requestFocusInWindow();
+    }
+
+    private void updatePrefixLabel() {
+        prefixLabel.setText(requiredPrefix.isEmpty() ? "Préfixe libre " : "Préfixe : " + requiredPrefix + " ");
+    }
+
+    /**
+     * The words listed start with the imposed prefix and with what has been typed, whichever is longer.
+     */
+    private @NotNull String currentPrefix() {
+        String typed = wordField.getText();
+        return prefixController.normalize(typed).startsWith(prefixController.normalize(requiredPrefix)) ? typed : requiredPrefix;
+    }
+
+    private void refreshMatches() {
+        String prefix = currentPrefix();
+        matchCount = prefixController.countMatches(prefix);
+        if (prefix.isBlank()) {
+            matchCountLabel.setText(matchCount + " mots dans le dictionnaire");
+        } else {
+            matchCountLabel.setText(matchCount + " mot(s) commencent par « " + prefix.trim() + " »");
+        }
+        showPage(0);
+    }
+
+    private void showPage(int newPage) {
+        int pageCount = Math.max(1, (matchCount + PAGE_SIZE - 1) / PAGE_SIZE);
+        page = Math.max(0, Math.min(newPage, pageCount - 1));
+
+        String prefix = currentPrefix();
+        visibleLength = prefixController.normalize(prefix).length();
+        // A selected row would point at another word of the new page
+        matchesList.clearSelection();
+        matchesModel.setResults(prefixController.getMatches(prefix, page * PAGE_SIZE, PAGE_SIZE));
+
+        pageLabel.setText("Page " + (page + 1) + " / " + pageCount);
+        previousButton.setEnabled(page > 0);
+        nextButton.setEnabled(page < pageCount - 1);
+    }
+
+    /**
+     * A found word is shown in full; other words only show the typed prefix, one dot per hidden letter.
+     */
+    private @NotNull String describeMatch(@NotNull Word word, int visible) {
+        if (prefixController.isFound(word)) {
+            return word.text() + " (" + word.points() + " pts)";
+        }
+        String text = word.text();
+        int shown = shownLength(text, visible);
+        return text.substring(0, shown) + "·".repeat(text.length() - shown) + " (" + text.length() + " lettres)";
+    }
+
+    /**
+     * Number of leading characters of {@code text} covered by {@code visible} normalized characters.
+     * A letter is only shown when its whole normalized form is covered: "oe" shows the "œ" of "œuvre", "o" does not.
+     */
+    private int shownLength(@NotNull String text, int visible) {
+        int shown = 0;
+        int covered = 0;
+        while (shown < text.length()) {
+            char c = text.charAt(shown);
+            int length = Character.isWhitespace(c) ? 1 : prefixController.normalize(String.valueOf(c)).length();
+            if (covered + length > visible) {
+                break;
+            }
+            covered += length;
+            shown++;
+        }
+        return shown;
+    }
+
+    private void submitWord() {
+        String text = wordField.getText();
+        if (text.isBlank()) {
+            return;
+        }
+        Word word = prefixController.handleWordSubmission(text, requiredPrefix);
+        if (word == null) {
+            JOptionPane.showMessageDialog(this,
+                    "« " + text.trim() + " » n'est pas un mot à trouver" +
+                    (requiredPrefix.isEmpty() ? "" : " commençant par « " + requiredPrefix + " »") + ".",
+                    "Mot refusé", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        wordField.setText(requiredPrefix);
+    }
+
+    @Override
+    public void onGameStateChanged(GameStateManager.@NotNull GameStateEvent event) {
+        switch (event.type()) {
+            case WORD_CONSTRUCTED:
+                Word word = (Word) event.data();
+                foundWordsModel.addElement(word.text() + " (" + word.points() + " pts)");
+                scoreLabel.setText("Score: " + gameStateManager.getCurrentScore());
+                showPage(page);
+                break;
+            case SCORE_UPDATED:
+                scoreLabel.setText("Score: " + gameStateManager.getCurrentScore());
+                break;
+        }
+    }
+}